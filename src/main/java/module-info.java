@@ -4,5 +4,6 @@ module org.zwobble.json5 {
     exports org.zwobble.json5.parser;
     exports org.zwobble.json5.paths;
     exports org.zwobble.json5.reader;
+    exports org.zwobble.json5.sources;
     exports org.zwobble.json5.values;
 }
@@ -0,0 +1,175 @@
+package org.zwobble.json5.parser;
+
+import org.zwobble.sourcetext.SourceRange;
+
+import java.util.Arrays;
+
+import static org.zwobble.json5.parser.Json5Parser.unexpectedTokenError;
+
+/**
+ * Parses a JSON5 document, reporting events to a {@link Json5Handler} rather
+ * than building a tree of values.
+ */
+class Json5EventParser implements Json5Locator {
+    private final TokenIterator tokens;
+    private final Json5Handler handler;
+    private int eventStart;
+    private int eventEnd;
+
+    private Json5EventParser(TokenIterator tokens, Json5Handler handler) {
+        this.tokens = tokens;
+        this.handler = handler;
+    }
+
+    static void parse(SourceInput input, Json5Handler handler) {
+        // Values are reported without paths or source ranges. The source range
+        // of each event is available from the locator instead.
+        var tokens = Json5Tokenizer.tokenize(input, new Json5MemberNameTable(), false);
+        var parser = new Json5EventParser(tokens, handler);
+        handler.setLocator(parser);
+        parser.parseDocument();
+    }
+
+    @Override
+    public SourceRange sourceRange() {
+        return this.tokens.locate(this.eventStart, this.eventEnd).toSourceRange();
+    }
+
+    private void parseDocument() {
+        parseValue();
+
+        if (!this.tokens.isNext(Json5TokenType.END)) {
+            throw unexpectedTokenError("end of document", this.tokens);
+        }
+
+        this.eventStart = this.tokens.peekStart();
+        this.eventEnd = this.tokens.peekEnd();
+        this.handler.endDocument();
+    }
+
+    /**
+     * Parse the value that starts at the next token.
+     * <p>
+     * Rather than recursing into each object and array, we keep an explicit
+     * stack of the objects and arrays being parsed, so that the depth of
+     * nesting is limited by the heap rather than the call stack.
+     */
+    private void parseValue() {
+        // For each open object or array, whether it's an object, as opposed
+        // to an array. The value at index zero is unused.
+        var isObject = new boolean[16];
+        var depth = 0;
+        var expected = "JSON value";
+
+        while (true) {
+            var isContainerStart = false;
+            if (
+                this.tokens.isNext(Json5TokenType.PUNCTUATOR_BRACE_OPEN) ||
+                    this.tokens.isNext(Json5TokenType.PUNCTUATOR_SQUARE_OPEN)
+            ) {
+                depth += 1;
+                Json5Parser.checkDepth(this.tokens, depth);
+                if (depth == isObject.length) {
+                    isObject = Arrays.copyOf(isObject, depth * 2);
+                }
+                isObject[depth] = this.tokens.isNext(Json5TokenType.PUNCTUATOR_BRACE_OPEN);
+                startContainer(isObject[depth]);
+                isContainerStart = true;
+            } else {
+                parsePrimitive(expected);
+            }
+
+            // Close each object or array that has no more members or
+            // elements, until we reach the next member or element.
+            while (true) {
+                if (depth == 0) {
+                    return;
+                }
+
+                var closingTokenType = isObject[depth]
+                    ? Json5TokenType.PUNCTUATOR_BRACE_CLOSE
+                    : Json5TokenType.PUNCTUATOR_SQUARE_CLOSE;
+                if (isContainerStart) {
+                    isContainerStart = false;
+                } else if (this.tokens.trySkip(Json5TokenType.PUNCTUATOR_COMMA)) {
+                    // Next member or element
+                } else if (!this.tokens.isNext(closingTokenType)) {
+                    throw unexpectedTokenError(
+                        isObject[depth] ? "',' or '}'" : "',' or ']'",
+                        this.tokens
+                    );
+                }
+
+                if (!this.tokens.isNext(closingTokenType)) {
+                    break;
+                }
+                endContainer(isObject[depth]);
+                depth -= 1;
+            }
+
+            if (isObject[depth]) {
+                parseMemberName();
+                expected = "JSON value";
+            } else {
+                expected = "JSON value or ']'";
+            }
+        }
+    }
+
+    private void parsePrimitive(String expected) {
+        this.eventStart = this.tokens.peekStart();
+        this.eventEnd = this.tokens.peekEnd();
+
+        switch (this.tokens.peekTokenType()) {
+            case KEYWORD_NULL -> this.handler.nullValue();
+
+            case KEYWORD_TRUE -> this.handler.booleanValue(true);
+
+            case KEYWORD_FALSE -> this.handler.booleanValue(false);
+
+            case STRING -> this.handler.string(Json5Parser.parseStringToken(this.tokens));
+
+            case KEYWORD_INFINITY, KEYWORD_NAN, NUMBER_DECIMAL, NUMBER_HEX,
+                NUMBER_POSITIVE_INFINITY, NUMBER_NEGATIVE_INFINITY, NUMBER_NAN ->
+                this.handler.number(Json5Parser.parseNumberToken(this.tokens, null));
+
+            default -> throw unexpectedTokenError(expected, this.tokens);
+        }
+
+        this.tokens.skip();
+    }
+
+    private void startContainer(boolean isObject) {
+        this.eventStart = this.tokens.peekStart();
+        this.eventEnd = this.tokens.peekEnd();
+        if (isObject) {
+            this.handler.startObject();
+        } else {
+            this.handler.startArray();
+        }
+        this.tokens.skip();
+    }
+
+    private void parseMemberName() {
+        var name = Json5Parser.parseMemberNameValue(this.tokens);
+        this.eventStart = this.tokens.peekStart();
+        this.eventEnd = this.tokens.peekEnd();
+        this.handler.memberName(name);
+        this.tokens.skip();
+
+        if (!this.tokens.trySkip(Json5TokenType.PUNCTUATOR_COLON)) {
+            throw unexpectedTokenError("':'", this.tokens);
+        }
+    }
+
+    private void endContainer(boolean isObject) {
+        this.eventStart = this.tokens.peekStart();
+        this.eventEnd = this.tokens.peekEnd();
+        if (isObject) {
+            this.handler.endObject();
+        } else {
+            this.handler.endArray();
+        }
+        this.tokens.skip();
+    }
+}
@@ -0,0 +1,89 @@
+package org.zwobble.json5.parser;
+
+import org.zwobble.json5.values.Json5Number;
+
+/**
+ * Receives events when parsing a JSON5 document without building a tree of
+ * values.
+ * <p>
+ * Events are reported in document order. For instance, the document
+ * {@code {a: [1, true]}} produces the events: {@code startObject},
+ * {@code memberName("a")}, {@code startArray}, {@code number(1)},
+ * {@code booleanValue(true)}, {@code endArray}, {@code endObject},
+ * {@code endDocument}.
+ * <p>
+ * The location of the current event is available from the
+ * {@link Json5Locator} passed to {@link #setLocator(Json5Locator)}.
+ *
+ * @see Json5Parser#parse(org.zwobble.sourcetext.SourceText, Json5Handler)
+ */
+public interface Json5Handler {
+    /**
+     * Called before any other event with a locator for the location of the
+     * current event. The locator is only valid during calls to the handler.
+     *
+     * @param locator The locator.
+     */
+    default void setLocator(Json5Locator locator) {
+    }
+
+    /**
+     * Called at the start of an object, before its members.
+     */
+    void startObject();
+
+    /**
+     * Called with the name of each member of an object, before the value of
+     * the member.
+     *
+     * @param name The name of the member.
+     */
+    void memberName(String name);
+
+    /**
+     * Called at the end of an object, after its members.
+     */
+    void endObject();
+
+    /**
+     * Called at the start of an array, before its elements.
+     */
+    void startArray();
+
+    /**
+     * Called at the end of an array, after its elements.
+     */
+    void endArray();
+
+    /**
+     * Called for each string value.
+     *
+     * @param value The value of the string.
+     */
+    void string(String value);
+
+    /**
+     * Called for each number value. The number has no path or source range.
+     *
+     * @param value The number.
+     */
+    void number(Json5Number value);
+
+    /**
+     * Called for each boolean value.
+     *
+     * @param value The value of the boolean.
+     */
+    void booleanValue(boolean value);
+
+    /**
+     * Called for each null value.
+     */
+    void nullValue();
+
+    /**
+     * Called after the top-level value of the document has been parsed.
+     */
+    default void endDocument() {
+    }
+}
@@ -0,0 +1,338 @@
+package org.zwobble.json5.parser;
+
+import org.zwobble.json5.paths.Json5Path;
+import org.zwobble.json5.sources.Json5SourceRange;
+import org.zwobble.json5.values.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+
+import static org.zwobble.json5.parser.Json5Parser.unexpectedTokenError;
+
+/**
+ * Parses an edited document by parsing only the smallest object or array
+ * that encloses the edit, and reusing the values from before the edit
+ * everywhere else.
+ * <p>
+ * Reused values are relocated to their source ranges in the edited source,
+ * shifting them if they're after the edit. Objects and arrays that are reused
+ * are relocated lazily, so that the time taken depends on the size of the
+ * edit and the number of members or elements of the objects and arrays that
+ * enclose it, rather than the size of the document.
+ */
+class Json5IncrementalParser {
+    private final SourceInput input;
+    // The range replaced by the edit, as character indices in the source
+    // before the edit.
+    private final int editStart;
+    private final int editEnd;
+    // The change in length caused by the edit.
+    private final int delta;
+    // The relocations of reused values before and after the edit.
+    private final Json5Relocation unmoved;
+    private final Json5Relocation moved;
+    private TokenIterator tokens;
+    // The offset of the end of the last member or element that was parsed.
+    private int valueEnd;
+
+    private Json5IncrementalParser(SourceInput input, Json5TextEdit edit) {
+        this.input = input;
+        this.editStart = edit.startIndex();
+        this.editEnd = edit.endIndex();
+        this.delta = edit.replacement().length() - (edit.endIndex() - edit.startIndex());
+        this.unmoved = new Json5Relocation(input, 0);
+        this.moved = new Json5Relocation(input, this.delta);
+        this.tokens = null;
+        this.valueEnd = 0;
+    }
+
+    /**
+     * Parse the edited document, or return null if no object or array
+     * encloses the edit, in which case the whole document must be parsed.
+     */
+    static Json5Value reparse(
+        SourceInput input,
+        Json5Value previous,
+        Json5TextEdit edit
+    ) {
+        var previousRange = previous.json5SourceRange();
+        if (previousRange == null) {
+            // Without locations, we can't tell which values are affected.
+            return null;
+        }
+        if (!Json5Path.ROOT.equals(previous.path())) {
+            throw new IllegalArgumentException(
+                "Previous value must be the root value of a document, but had path " +
+                    previous.path()
+            );
+        }
+
+        // Catch edits that obviously don't match the source. The text outside
+        // of the edit isn't compared with the previous text, since that would
+        // take time proportional to the size of the document.
+        var previousIterator = previousRange.sourceText().characterIterator();
+        var previousLength = previousIterator.remaining();
+        var replacement = edit.replacement();
+        if (
+            edit.endIndex() > previousLength ||
+                input.length() != previousLength - (edit.endIndex() - edit.startIndex()) + replacement.length() ||
+                !input.contentEquals(edit.startIndex(), edit.startIndex() + replacement.length(), replacement)
+        ) {
+            throw new IllegalArgumentException(
+                "Source text must be the result of applying the edit to the previous source text"
+            );
+        }
+
+        return new Json5IncrementalParser(input, edit).reparse(previous);
+    }
+
+    private Json5Value reparse(Json5Value root) {
+        // Find the smallest object or array that encloses the edit, keeping
+        // track of the objects and arrays that enclose it in turn.
+        var ancestors = new ArrayList<Json5Value>();
+        Json5Value container = null;
+        var candidate = root;
+        while (candidate != null && encloses(candidate)) {
+            if (container != null) {
+                ancestors.add(container);
+            }
+            container = candidate;
+            candidate = findEnclosingChild(container);
+        }
+
+        if (container == null) {
+            return null;
+        }
+
+        var value = reparseContainer(container, ancestors.size() + 1);
+        if (value == null) {
+            return null;
+        }
+
+        // Replace the reparsed object or array in each of its ancestors,
+        // working outwards.
+        for (var ancestorIndex = ancestors.size() - 1; ancestorIndex >= 0; ancestorIndex--) {
+            var ancestor = ancestors.get(ancestorIndex);
+            value = replaceChild(ancestor, container, value);
+            container = ancestor;
+        }
+        return value;
+    }
+
+    /**
+     * Whether the value is an object or array whose brackets are outside of
+     * the edit, so that the edit only affects its contents.
+     */
+    private boolean encloses(Json5Value value) {
+        if (!(value instanceof Json5Object || value instanceof Json5Array)) {
+            return false;
+        }
+        var range = value.json5SourceRange();
+        return range.startIndex() < this.editStart &&
+            this.editEnd < range.endIndex();
+    }
+
+    private Json5Value findEnclosingChild(Json5Value container) {
+        if (container instanceof Json5Object object) {
+            for (var member : object.members()) {
+                if (encloses(member.value())) {
+                    return member.value();
+                }
+            }
+        } else if (container instanceof Json5Array array) {
+            for (var element : array.elements()) {
+                if (encloses(element)) {
+                    return element;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Parse the object or array that encloses the edit, reusing its members
+     * or elements that are far enough from the edit to be unaffected by it.
+     * Returns null if the edited object or array no longer ends where it
+     * did, since the rest of the document would need to be parsed again.
+     *
+     * @param depth The number of objects and arrays that the object or array
+     * is nested inside, including itself.
+     */
+    private Json5Value reparseContainer(Json5Value container, int depth) {
+        // Map the start of each reusable value in the edited source to the
+        // value. Values must be separated from the edit by at least one
+        // character, since tokens such as numbers could otherwise be
+        // extended by the edit.
+        var reusable = new HashMap<Integer, Json5Value>();
+        var children = container instanceof Json5Object object
+            ? memberValues(object)
+            : ((Json5Array) container).elements();
+        for (var child : children) {
+            var range = child.json5SourceRange();
+            var start = range.startIndex();
+            if (range.endIndex() < this.editStart || start > this.editEnd) {
+                reusable.put(shift(start), child);
+            }
+        }
+
+        var range = container.json5SourceRange();
+        var start = range.startIndex();
+        var end = shift(range.endIndex());
+        var path = container.path();
+
+        this.tokens = Json5Tokenizer.tokenize(this.input, new Json5MemberNameTable(), true)
+            .startingAt(start);
+        this.tokens.skip();
+
+        if (container instanceof Json5Object) {
+            // JSON5Object :
+            //     `{` `}`
+            //     `{` JSON5MemberList `,`? `}`
+            //
+            // JSON5Member :
+            //     JSON5MemberName `:` JSON5Value
+            var objectBuilder = Json5Object.builder();
+            while (!this.tokens.isNext(Json5TokenType.PUNCTUATOR_BRACE_CLOSE)) {
+                var memberStart = this.tokens.peekStart();
+                var memberName = Json5Parser.parseMemberName(this.tokens);
+
+                if (!this.tokens.trySkip(Json5TokenType.PUNCTUATOR_COLON)) {
+                    throw unexpectedTokenError("':'", this.tokens);
+                }
+
+                var value = parseChild(reusable, path.member(memberName.value()), "JSON value", depth);
+                var memberRange = this.tokens.sourceRange(memberStart, this.valueEnd);
+                objectBuilder.addMember(Json5Member.of(memberName, value, memberRange));
+
+                skipSeparator(Json5TokenType.PUNCTUATOR_BRACE_CLOSE, "',' or '}'");
+            }
+
+            if (this.tokens.peekEnd() != end) {
+                return null;
+            }
+            return objectBuilder.buildAt(path, this.tokens.sourceRange(start, end));
+        } else {
+            // JSON5Array :
+            //     `[` `]`
+            //     `[` JSON5ElementList `,`? `]`
+            var elements = new ArrayList<Json5Value>();
+            while (!this.tokens.isNext(Json5TokenType.PUNCTUATOR_SQUARE_CLOSE)) {
+                elements.add(parseChild(reusable, path.index(elements.size()), "JSON value or ']'", depth));
+
+                skipSeparator(Json5TokenType.PUNCTUATOR_SQUARE_CLOSE, "',' or ']'");
+            }
+
+            if (this.tokens.peekEnd() != end) {
+                return null;
+            }
+            return Json5Array.of(elements, path, this.tokens.sourceRange(start, end));
+        }
+    }
+
+    private static ArrayList<Json5Value> memberValues(Json5Object object) {
+        var values = new ArrayList<Json5Value>();
+        for (var member : object.members()) {
+            values.add(member.value());
+        }
+        return values;
+    }
+
+    private Json5Value parseChild(
+        HashMap<Integer, Json5Value> reusable,
+        Json5Path path,
+        String expected,
+        int depth
+    ) {
+        // A value can only be reused if its first token starts in the same
+        // place: for instance, the edit might have started a comment that
+        // now contains the value.
+        var previous = reusable.get(this.tokens.peekStart());
+        if (previous == null) {
+            var value = Json5Parser.parseValue(this.tokens, path, expected, depth);
+            this.valueEnd = this.tokens.previousEnd();
+            return value;
+        }
+
+        // The tokens of the reused value are skipped by tokenizing from the
+        // end of the value. Since the tokenizer is always between tokens at
+        // the end of a value, this produces the same tokens as reading
+        // through the value.
+        var previousRange = previous.json5SourceRange();
+        this.valueEnd = shift(previousRange.endIndex());
+        this.tokens = this.tokens.startingAt(this.valueEnd);
+        return relocation(previousRange).relocate(previous, path);
+    }
+
+    private void skipSeparator(Json5TokenType closingTokenType, String expected) {
+        if (this.tokens.trySkip(Json5TokenType.PUNCTUATOR_COMMA)) {
+            // Next member or element
+        } else if (!this.tokens.isNext(closingTokenType)) {
+            throw unexpectedTokenError(expected, this.tokens);
+        }
+    }
+
+    /**
+     * Create a copy of the object or array with the given child replaced.
+     */
+    private Json5Value replaceChild(
+        Json5Value container,
+        Json5Value previousChild,
+        Json5Value child
+    ) {
+        var range = shift(container.json5SourceRange());
+        if (container instanceof Json5Object object) {
+            var objectBuilder = Json5Object.builder();
+            for (var member : object.members()) {
+                if (member.value() == previousChild) {
+                    // The name of the member is before the edit.
+                    objectBuilder.addMember(Json5Member.of(
+                        this.unmoved.relocate(member.name()),
+                        child,
+                        shift(member.json5SourceRange())
+                    ));
+                } else {
+                    var relocation = relocation(member.json5SourceRange());
+                    objectBuilder.addMember(relocation.relocate(member, object.path()));
+                }
+            }
+            return objectBuilder.buildAt(object.path(), range);
+        } else {
+            var array = (Json5Array) container;
+            var elements = new ArrayList<Json5Value>(array.size());
+            for (var element : array.elements()) {
+                elements.add(
+                    element == previousChild
+                        ? child
+                        : relocation(element.json5SourceRange()).relocate(element, element.path())
+                );
+            }
+            return Json5Array.of(elements, array.path(), range);
+        }
+    }
+
+    /**
+     * The relocation of a value that is unaffected by the edit.
+     */
+    private Json5Relocation relocation(Json5SourceRange range) {
+        return range.startIndex() < this.editStart
+            ? this.unmoved
+            : this.moved;
+    }
+
+    private Json5SourceRange shift(Json5SourceRange range) {
+        return new Json5SourceRange(
+            this.input,
+            shift(range.startIndex()),
+            shift(range.endIndex())
+        );
+    }
+
+    /**
+     * Convert a character index before the edit to the corresponding
+     * character index after the edit. The index must not be inside the range
+     * replaced by the edit.
+     */
+    private int shift(int index) {
+        return index < this.editStart ? index : index + this.delta;
+    }
+}
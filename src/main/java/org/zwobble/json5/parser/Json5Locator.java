@@ -0,0 +1,18 @@
+package org.zwobble.json5.parser;
+
+import org.zwobble.sourcetext.SourceRange;
+
+/**
+ * The location of the current event when parsing with a {@link Json5Handler}.
+ * The source range is only created when requested.
+ */
+public interface Json5Locator {
+    /**
+     * The source range of the token for the current event. For events at the
+     * start or end of an object or array, this is the source range of the
+     * opening or closing bracket.
+     *
+     * @return The source range of the current event.
+     */
+    SourceRange sourceRange();
+}
@@ -0,0 +1,110 @@
+package org.zwobble.json5.parser;
+
+/**
+ * A table of canonical member names.
+ * <p>
+ * When parsing, member names are looked up in the table by their source
+ * characters, so that repeated member names, such as the keys of an array of
+ * similar objects, share a single {@link String} instance, and only the first
+ * occurrence of each name allocates.
+ * <p>
+ * By default, each parse uses its own table. A table may be shared between
+ * parses, including concurrent parses, to share member names across
+ * documents. Once a table holds its maximum number of names, further names
+ * are still parsed, but are not added to the table.
+ *
+ * @see Json5ParseOptions.Builder#memberNames(Json5MemberNameTable)
+ */
+public final class Json5MemberNameTable {
+    /**
+     * The maximum number of names held by a table created using
+     * {@link #Json5MemberNameTable()}.
+     */
+    public static final int DEFAULT_MAXIMUM_SIZE = 4096;
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final int maximumSize;
+    // An open addressing hash table using linear probing. The capacity is
+    // always a power of two, and at least twice the size.
+    private String[] names;
+    private int size;
+
+    /**
+     * Create an empty table holding up to {@link #DEFAULT_MAXIMUM_SIZE} names.
+     */
+    public Json5MemberNameTable() {
+        this(DEFAULT_MAXIMUM_SIZE);
+    }
+
+    /**
+     * Create an empty table.
+     *
+     * @param maximumSize The maximum number of names to hold in the table.
+     */
+    public Json5MemberNameTable(int maximumSize) {
+        if (maximumSize < 0) {
+            throw new IllegalArgumentException(
+                "maximumSize must be non-negative, was " + maximumSize
+            );
+        }
+        this.maximumSize = maximumSize;
+        this.names = new String[INITIAL_CAPACITY];
+        this.size = 0;
+    }
+
+    /**
+     * The number of names in the table.
+     *
+     * @return The number of names in the table.
+     */
+    public synchronized int size() {
+        return this.size;
+    }
+
+    /**
+     * Get the canonical name for the characters between the given offsets.
+     * The characters must not contain any escape sequences.
+     */
+    synchronized String canonicalize(SourceInput input, int start, int end) {
+        var hash = input.stringHashCode(start, end);
+        var mask = this.names.length - 1;
+        var index = hash & mask;
+        while (true) {
+            var name = this.names[index];
+            if (name == null) {
+                break;
+            }
+            if (name.hashCode() == hash && input.contentEquals(start, end, name)) {
+                return name;
+            }
+            index = (index + 1) & mask;
+        }
+
+        var name = input.charSequence(start, end).toString();
+        if (this.size < this.maximumSize) {
+            this.names[index] = name;
+            this.size += 1;
+            if (this.size * 2 > this.names.length) {
+                resize();
+            }
+        }
+        return name;
+    }
+
+    private void resize() {
+        var oldNames = this.names;
+        var newNames = new String[oldNames.length * 2];
+        var mask = newNames.length - 1;
+        for (var name : oldNames) {
+            if (name != null) {
+                var index = name.hashCode() & mask;
+                while (newNames[index] != null) {
+                    index = (index + 1) & mask;
+                }
+                newNames[index] = name;
+            }
+        }
+        this.names = newNames;
+    }
+}
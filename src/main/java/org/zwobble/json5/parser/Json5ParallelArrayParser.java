@@ -0,0 +1,229 @@
+package org.zwobble.json5.parser;
+
+import org.zwobble.json5.parser.Json5Parser.CompactNumber;
+import org.zwobble.json5.parser.Json5Parser.NumberArrayBuilder;
+import org.zwobble.json5.paths.Json5Path;
+import org.zwobble.json5.values.Json5Array;
+import org.zwobble.json5.values.Json5Value;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import static org.zwobble.json5.parser.Json5Parser.unexpectedTokenError;
+
+/**
+ * Parses an array by finding where each element starts, and then parsing
+ * batches of elements in parallel.
+ */
+class Json5ParallelArrayParser {
+    // Arrays with fewer elements than this are parsed on the calling thread,
+    // since the overhead of parallel parsing outweighs the benefit.
+    private static final int MIN_PARALLEL_ELEMENTS = 256;
+    // The number of batches to create for each thread in the pool, so that
+    // threads that finish early can take batches from slower threads.
+    private static final int BATCHES_PER_THREAD = 4;
+
+    private Json5ParallelArrayParser() {
+    }
+
+    /**
+     * Parse the array that starts at the next token.
+     *
+     * @param memberNames The table of member names to use for all elements,
+     * or null if each batch should use its own table.
+     */
+    static Json5Value parse(
+        TokenIterator tokens,
+        Json5Path path,
+        ForkJoinPool pool,
+        Json5MemberNameTable memberNames
+    ) {
+        Json5Parser.checkDepth(tokens, 1);
+        var start = tokens.peekStart();
+        int[] elementStarts;
+        try {
+            elementStarts = scanElementStarts(tokens);
+        } catch (Json5ParseError error) {
+            // The scan only checks the brackets inside each element, so the
+            // error it finds may not be the first error in the array. Since
+            // the array is invalid, parsing it sequentially throws the same
+            // error as a sequential parse of the document.
+            Json5Parser.parseValue(tokens.startingAt(start), path, "JSON value");
+            throw error;
+        }
+        var sourceRange = tokens.sourceRange(start, tokens.peekEnd());
+        tokens.skip();
+
+        var elementCount = elementStarts.length;
+        if (elementCount < MIN_PARALLEL_ELEMENTS) {
+            return Json5Parser.parseValue(tokens.startingAt(start), path, "JSON value");
+        }
+
+        var elements = new Json5Value[elementCount];
+        var batchCount = Math.min(
+            pool.getParallelism() * BATCHES_PER_THREAD,
+            elementCount / (MIN_PARALLEL_ELEMENTS / 4)
+        );
+        var batchStarts = new int[batchCount + 1];
+        for (var batchIndex = 0; batchIndex <= batchCount; batchIndex++) {
+            batchStarts[batchIndex] = (int) ((long) elementCount * batchIndex / batchCount);
+        }
+        var batchNumbers = new NumberArrayBuilder[batchCount];
+        var errors = new Json5ParseError[batchCount];
+        var batches = new ArrayList<ForkJoinTask<?>>(batchCount);
+        for (var batchIndex = 0; batchIndex < batchCount; batchIndex++) {
+            var batch = batchIndex;
+            var batchStart = batchStarts[batch];
+            var batchEnd = batchStarts[batch + 1];
+            batches.add(ForkJoinTask.adapt(() -> {
+                try {
+                    batchNumbers[batch] = parseElements(
+                        tokens.startingAt(
+                            elementStarts[batchStart],
+                            memberNames == null ? new Json5MemberNameTable() : memberNames
+                        ),
+                        path,
+                        elements,
+                        batchStart,
+                        batchEnd
+                    );
+                } catch (Json5ParseError error) {
+                    errors[batch] = error;
+                }
+            }));
+        }
+
+        pool.invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(batches)));
+
+        // Report the error that a sequential parse would have reported.
+        for (var error : errors) {
+            if (error != null) {
+                throw error;
+            }
+        }
+
+        // As when parsing sequentially, arrays of finite numbers are stored
+        // as primitive arrays.
+        var isNumbers = true;
+        for (var numbers : batchNumbers) {
+            isNumbers = isNumbers && numbers != null;
+        }
+        if (isNumbers) {
+            var numbers = batchNumbers[0];
+            for (var batchIndex = 1; batchIndex < batchCount; batchIndex++) {
+                numbers.addAll(batchNumbers[batchIndex]);
+            }
+            return numbers.build(path, sourceRange);
+        }
+
+        for (var batchIndex = 0; batchIndex < batchCount; batchIndex++) {
+            if (batchNumbers[batchIndex] != null) {
+                copyNumbers(batchNumbers[batchIndex], tokens, path, elements, batchStarts[batchIndex]);
+            }
+        }
+        return Json5Array.of(Arrays.asList(elements), path, sourceRange);
+    }
+
+    /**
+     * Find the offset of the start of each element of the array that starts
+     * at the next token, leaving the closing bracket of the array as the next
+     * token.
+     */
+    private static int[] scanElementStarts(TokenIterator tokens) {
+        tokens.skip();
+
+        var elementStarts = new int[64];
+        var elementCount = 0;
+        while (!tokens.isNext(Json5TokenType.PUNCTUATOR_SQUARE_CLOSE)) {
+            if (elementCount == elementStarts.length) {
+                elementStarts = Arrays.copyOf(elementStarts, elementCount * 2);
+            }
+            elementStarts[elementCount] = tokens.peekStart();
+            elementCount += 1;
+
+            switch (tokens.peekTokenType()) {
+                case PUNCTUATOR_BRACE_OPEN, PUNCTUATOR_SQUARE_OPEN -> {
+                    Json5Parser.skipToMatchingBracket(tokens);
+                    tokens.skip();
+                }
+
+                case KEYWORD_NULL, KEYWORD_TRUE, KEYWORD_FALSE, STRING,
+                    KEYWORD_INFINITY, KEYWORD_NAN, NUMBER_DECIMAL, NUMBER_HEX,
+                    NUMBER_POSITIVE_INFINITY, NUMBER_NEGATIVE_INFINITY, NUMBER_NAN ->
+                    tokens.skip();
+
+                default -> throw unexpectedTokenError("JSON value or ']'", tokens);
+            }
+
+            if (tokens.trySkip(Json5TokenType.PUNCTUATOR_COMMA)) {
+                // Next element
+            } else if (!tokens.isNext(Json5TokenType.PUNCTUATOR_SQUARE_CLOSE)) {
+                throw unexpectedTokenError("',' or ']'", tokens);
+            }
+        }
+
+        return Arrays.copyOf(elementStarts, elementCount);
+    }
+
+    /**
+     * Parse the elements between the given indices. While the elements are
+     * finite numbers whose digits fit in a long, they're collected in a
+     * {@link NumberArrayBuilder}, as when parsing sequentially.
+     *
+     * @return The numbers if every element is such a number, otherwise null,
+     * in which case the elements are stored in {@code elements}.
+     */
+    private static NumberArrayBuilder parseElements(
+        TokenIterator tokens,
+        Json5Path path,
+        Json5Value[] elements,
+        int start,
+        int end
+    ) {
+        var numbers = new NumberArrayBuilder(tokens.tracksLocations());
+        var number = new CompactNumber();
+        var index = start;
+        while (index < end && Json5Parser.tryParseCompactNumber(tokens, number)) {
+            numbers.add(number, tokens.peekStart(), tokens.peekEnd());
+            tokens.skip();
+            // The separator after each element was checked by the scan.
+            tokens.skip();
+            index += 1;
+        }
+        if (index == end) {
+            return numbers;
+        }
+
+        copyNumbers(numbers, tokens, path, elements, start);
+        for (; index < end; index++) {
+            elements[index] = Json5Parser.parseValue(
+                tokens,
+                path == null ? null : path.index(index),
+                "JSON value or ']'",
+                1
+            );
+            // The separator after each element was checked by the scan.
+            tokens.skip();
+        }
+        return null;
+    }
+
+    private static void copyNumbers(
+        NumberArrayBuilder numbers,
+        TokenIterator tokens,
+        Json5Path path,
+        Json5Value[] elements,
+        int start
+    ) {
+        for (var numberIndex = 0; numberIndex < numbers.size(); numberIndex++) {
+            var index = start + numberIndex;
+            elements[index] = numbers.element(
+                numberIndex,
+                tokens,
+                path == null ? null : path.index(index)
+            );
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package org.zwobble.json5.parser;
+
+import java.util.ArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Tokenizes an input by splitting it into chunks that are tokenized in
+ * parallel.
+ * <p>
+ * When a chunk is tokenized, we don't know whether the start of the chunk is
+ * in the middle of a token or comment, so each chunk is tokenized
+ * speculatively as though it starts between tokens. The chunks are then
+ * merged in order by tokenizing the input sequentially, but only until the
+ * sequential tokenizer reads a token that starts where a token in the
+ * speculative tokens of the chunk also starts. Since tokenizing from the
+ * start of a token always produces the same tokens, the remaining
+ * speculative tokens in the chunk are correct, and can be used as they are.
+ */
+class Json5ParallelTokenizer {
+    // Inputs shorter than two chunks are tokenized on demand, since the
+    // overhead of tokenizing in parallel outweighs the benefit.
+    private static final int MIN_CHUNK_LENGTH = 64 * 1024;
+    // The number of chunks to create for each thread in the pool, so that
+    // threads that finish early can take chunks from slower threads.
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    private Json5ParallelTokenizer() {
+    }
+
+    /**
+     * Tokenize the input in parallel, or return null if the input is too
+     * short to benefit from tokenizing in parallel.
+     * <p>
+     * If the input is invalid, the returned tokens are the tokens before the
+     * first invalid token, and the error is thrown when the input is next
+     * tokenized from the end of those tokens. This means that errors are
+     * reported in the same order as when tokenizing on demand.
+     */
+    static Json5TokenBuffer tokenize(SourceInput input, ForkJoinPool pool) {
+        return tokenize(input, pool, MIN_CHUNK_LENGTH);
+    }
+
+    static Json5TokenBuffer tokenize(
+        SourceInput input,
+        ForkJoinPool pool,
+        int minChunkLength
+    ) {
+        var length = input.length();
+        var chunkCount = Math.min(
+            pool.getParallelism() * CHUNKS_PER_THREAD,
+            length / minChunkLength
+        );
+        if (chunkCount < 2) {
+            return null;
+        }
+
+        var chunkStarts = new int[chunkCount + 1];
+        for (var chunkIndex = 0; chunkIndex < chunkCount; chunkIndex++) {
+            var offset = (int) ((long) length * chunkIndex / chunkCount);
+            while (offset < length && !input.isCharacterStart(offset)) {
+                offset += 1;
+            }
+            chunkStarts[chunkIndex] = offset;
+        }
+        chunkStarts[chunkCount] = length;
+
+        var chunks = new Json5TokenBuffer[chunkCount];
+        var tasks = new ArrayList<ForkJoinTask<?>>(chunkCount);
+        for (var chunkIndex = 0; chunkIndex < chunkCount; chunkIndex++) {
+            var chunk = chunkIndex;
+            tasks.add(ForkJoinTask.adapt(() -> {
+                chunks[chunk] = tokenizeChunk(
+                    input,
+                    chunkStarts[chunk],
+                    chunkStarts[chunk + 1]
+                );
+            }));
+        }
+        pool.invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(tasks)));
+
+        return merge(input, chunkStarts, chunks);
+    }
+
+    /**
+     * Speculatively read the tokens that start between the given offsets.
+     */
+    private static Json5TokenBuffer tokenizeChunk(SourceInput input, int start, int end) {
+        var tokenizer = new Json5Tokenizer(input, start);
+        // Start with room for sparse tokens and grow as needed, since every
+        // chunk is tokenized at once: allocating for the densest possible
+        // input would take several times the size of the input up front.
+        var tokens = new Json5TokenBuffer((end - start) / 32);
+
+        try {
+            while (true) {
+                var tokenType = tokenizer.next();
+                if (tokenType != Json5TokenType.END && tokenizer.tokenStart() >= end) {
+                    return tokens;
+                }
+
+                tokens.add(
+                    tokenType,
+                    tokenizer.tokenStart(),
+                    tokenizer.tokenEnd(),
+                    tokenizer.tokenHasEscapes()
+                );
+
+                if (tokenType == Json5TokenType.END) {
+                    return tokens;
+                }
+            }
+        } catch (Json5ParseError error) {
+            // Either the chunk starts in the middle of a token or comment, or
+            // the input is invalid. In either case, the rest of the chunk is
+            // tokenized sequentially when merging.
+            return tokens;
+        }
+    }
+
+    private static Json5TokenBuffer merge(
+        SourceInput input,
+        int[] chunkStarts,
+        Json5TokenBuffer[] chunks
+    ) {
+        var tokenCount = 0;
+        for (var chunk : chunks) {
+            tokenCount += chunk.tokenCount();
+        }
+        var tokens = new Json5TokenBuffer(tokenCount);
+
+        var tokenizer = new Json5Tokenizer(input, 0);
+        var chunkIndex = 0;
+        try {
+            while (true) {
+                var tokenType = tokenizer.next();
+                var start = tokenizer.tokenStart();
+                tokens.add(tokenType, start, tokenizer.tokenEnd(), tokenizer.tokenHasEscapes());
+                if (tokenType == Json5TokenType.END) {
+                    return tokens;
+                }
+
+                while (chunkIndex + 1 < chunks.length && chunkStarts[chunkIndex + 1] <= start) {
+                    // The tokens of earlier chunks are no longer needed, so
+                    // they can be garbage collected while merging.
+                    chunks[chunkIndex] = null;
+                    chunkIndex += 1;
+                }
+                var chunk = chunks[chunkIndex];
+                var index = chunk.indexOfTokenStartingAt(start);
+                if (index >= 0 && index + 1 < chunk.tokenCount()) {
+                    tokens.addAll(chunk, index + 1);
+                    if (tokens.tokenType(tokens.tokenCount() - 1) == Json5TokenType.END) {
+                        return tokens;
+                    }
+                    tokenizer = new Json5Tokenizer(input, tokens.end());
+                }
+            }
+        } catch (Json5ParseError error) {
+            // Keep the tokens before the error, so that the error is thrown
+            // when the parser reaches it.
+            return tokens;
+        }
+    }
+}
@@ -0,0 +1,252 @@
+package org.zwobble.json5.parser;
+
+import org.zwobble.json5.values.Json5Array;
+import org.zwobble.json5.values.Json5Object;
+import org.zwobble.json5.values.Json5Value;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Options for parsing JSON5 documents.
+ */
+public final class Json5ParseOptions {
+    /**
+     * The default options: locations are tracked, values are parsed
+     * immediately on a single thread, the depth of nesting is only limited by
+     * available memory, and each parse uses its own table of member names.
+     */
+    public static final Json5ParseOptions DEFAULT = builder().build();
+
+    private final boolean tracksLocations;
+    private final boolean isLazy;
+    private final int maxDepth;
+    private final Json5MemberNameTable memberNames;
+    private final ForkJoinPool parallelPool;
+
+    private Json5ParseOptions(
+        boolean tracksLocations,
+        boolean isLazy,
+        int maxDepth,
+        Json5MemberNameTable memberNames,
+        ForkJoinPool parallelPool
+    ) {
+        this.tracksLocations = tracksLocations;
+        this.isLazy = isLazy;
+        this.maxDepth = maxDepth;
+        this.memberNames = memberNames;
+        this.parallelPool = parallelPool;
+    }
+
+    /**
+     * Whether the paths and source ranges of values are tracked.
+     *
+     * @return Whether the paths and source ranges of values are tracked.
+     */
+    public boolean tracksLocations() {
+        return this.tracksLocations;
+    }
+
+    /**
+     * Whether objects and arrays are parsed when first accessed.
+     *
+     * @return Whether objects and arrays are parsed when first accessed.
+     */
+    public boolean isLazy() {
+        return this.isLazy;
+    }
+
+    /**
+     * The maximum number of objects and arrays that a value may be nested
+     * inside, counting the value itself if it's an object or array.
+     *
+     * @return The maximum depth of nesting.
+     */
+    public int maxDepth() {
+        return this.maxDepth;
+    }
+
+    /**
+     * The table of member names to use for each parse, or {@code null} if
+     * each parse uses its own table.
+     *
+     * @return The table of member names.
+     */
+    public Json5MemberNameTable memberNames() {
+        return this.memberNames;
+    }
+
+    /**
+     * The pool used to tokenize large documents and parse the elements of
+     * top-level arrays in parallel, or {@code null} if documents are parsed
+     * on a single thread.
+     *
+     * @return The pool used for parallel parsing.
+     */
+    public ForkJoinPool parallelPool() {
+        return this.parallelPool;
+    }
+
+    /**
+     * Create a builder of options, starting from the default options.
+     *
+     * @return A new {@code Builder}.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * A builder of {@link Json5ParseOptions}. Options that aren't set keep
+     * the values that they have in {@link #DEFAULT}.
+     */
+    public static class Builder {
+        private boolean tracksLocations = true;
+        private boolean isLazy = false;
+        private int maxDepth = Integer.MAX_VALUE;
+        private Json5MemberNameTable memberNames = null;
+        private ForkJoinPool parallelPool = null;
+
+        private Builder() {
+        }
+
+        /**
+         * Set whether the paths and source ranges of values are tracked.
+         * <p>
+         * When locations aren't tracked, {@link Json5Value#path()} and
+         * {@link Json5Value#sourceRange()} return {@code null} for all parsed
+         * values, as do the source ranges of members and member names, and
+         * null and boolean values are shared instances. This avoids creating
+         * paths and source ranges for documents where they're never used.
+         * <p>
+         * Parse errors are reported in the same way regardless of this option,
+         * with the source range of the error. Since the parser always tracks
+         * the offset of the current token, there's no need to re-parse the
+         * document to locate an error.
+         *
+         * @param tracksLocations Whether to track locations.
+         * @return This builder.
+         */
+        public Builder tracksLocations(boolean tracksLocations) {
+            this.tracksLocations = tracksLocations;
+            return this;
+        }
+
+        /**
+         * Set whether objects and arrays are parsed when first accessed,
+         * rather than immediately.
+         * <p>
+         * When parsing lazily, the parser only finds the matching bracket of
+         * each object and array, without decoding the values inside it. The
+         * contents of a {@link Json5Object} or {@link Json5Array} are parsed
+         * the first time they're accessed, with any objects and arrays inside
+         * them also being parsed lazily. The path and source range of an
+         * object or array are available without parsing its contents.
+         * <p>
+         * Since only brackets are checked before a value is accessed, syntax
+         * errors inside an object or array are reported by throwing
+         * {@link Json5ParseError} when its contents are first accessed, rather
+         * than when the document is parsed. The source of the document must
+         * remain available, and unmodified, until all values have been
+         * accessed.
+         *
+         * @param isLazy Whether to parse objects and arrays lazily.
+         * @return This builder.
+         */
+        public Builder lazy(boolean isLazy) {
+            this.isLazy = isLazy;
+            return this;
+        }
+
+        /**
+         * Set the maximum number of objects and arrays that a value may be
+         * nested inside, counting the value itself if it's an object or
+         * array. For instance, a maximum depth of 2 allows {@code [[1]]},
+         * but not {@code [[[1]]]}.
+         * <p>
+         * The parser keeps track of the objects and arrays that it's inside
+         * using a stack on the heap, rather than by recursion, so deeply
+         * nested documents don't cause a {@link StackOverflowError}. Setting
+         * a maximum depth instead bounds the memory used for untrusted input.
+         * When the maximum depth is exceeded, {@link Json5ParseError} is
+         * thrown with the source range of the opening bracket. When parsing
+         * lazily, the error is thrown when the enclosing object or array is
+         * first accessed.
+         *
+         * @param maxDepth The maximum depth of nesting.
+         * @return This builder.
+         * @throws IllegalArgumentException If the maximum depth is negative.
+         */
+        public Builder maxDepth(int maxDepth) {
+            if (maxDepth < 0) {
+                throw new IllegalArgumentException(
+                    "Maximum depth must be non-negative, but was " + maxDepth
+                );
+            }
+            this.maxDepth = maxDepth;
+            return this;
+        }
+
+        /**
+         * Set the table of member names to share between parses.
+         *
+         * @param memberNames The table of member names.
+         * @return This builder.
+         * @see Json5MemberNameTable
+         */
+        public Builder memberNames(Json5MemberNameTable memberNames) {
+            this.memberNames = memberNames;
+            return this;
+        }
+
+        /**
+         * Set the pool used to tokenize large documents and parse the elements
+         * of top-level arrays in parallel.
+         * <p>
+         * Large documents of any shape are split into chunks that are
+         * tokenized in parallel before parsing. Since a chunk may start in the
+         * middle of a string or comment, each chunk is tokenized on the
+         * assumption that it doesn't, and any part of a chunk where that
+         * assumption was wrong is tokenized again on the calling thread.
+         * Syntax errors are reported in the same way as when tokenizing on a
+         * single thread.
+         * <p>
+         * When the document is long enough to be tokenized in parallel, and
+         * is a large array, the parser first scans the array on the calling
+         * thread to find where each element starts, checking the syntax
+         * between elements, but only checking that brackets match within
+         * elements. The elements are then parsed in
+         * batches on the pool, and combined into a single
+         * {@link org.zwobble.json5.values.Json5Array} with the same paths and
+         * source ranges as when parsing on a single thread. Unless a table
+         * of member names is set, each batch uses its own table, so that
+         * threads don't contend on a shared table. If the array is invalid,
+         * the error thrown is the same as when parsing on a single thread.
+         * <p>
+         * Other documents, including small arrays, are parsed on the calling
+         * thread, although they may still be tokenized in parallel.
+         *
+         * @param parallelPool The pool to parse with, or {@code null} to
+         * parse on a single thread.
+         * @return This builder.
+         */
+        public Builder parallel(ForkJoinPool parallelPool) {
+            this.parallelPool = parallelPool;
+            return this;
+        }
+
+        /**
+         * Create options from the values set on this builder.
+         *
+         * @return New {@code Json5ParseOptions}.
+         */
+        public Json5ParseOptions build() {
+            return new Json5ParseOptions(
+                this.tracksLocations,
+                this.isLazy,
+                this.maxDepth,
+                this.memberNames,
+                this.parallelPool
+            );
+        }
+    }
+}
@@ -1,14 +1,23 @@
 package org.zwobble.json5.parser;
 
 import org.zwobble.json5.paths.Json5Path;
+import org.zwobble.json5.paths.Json5PathPattern;
+import org.zwobble.json5.sources.Json5SourceRange;
 import org.zwobble.json5.values.*;
 import org.zwobble.sourcetext.SourcePosition;
 import org.zwobble.sourcetext.SourceText;
 
+import java.io.IOException;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
-import java.util.Optional;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
 
 /**
  * A parser for JSON5 documents.
@@ -25,9 +34,350 @@ public class Json5Parser {
      * {@code text}.
      */
     public static Json5Value parse(SourceText sourceText) {
-        var tokens = Json5Tokenizer.tokenize(sourceText);
+        return parse(sourceText, Json5ParseOptions.DEFAULT);
+    }
+
+    /**
+     * Parse JSON5 text into a JSON5 value using the given options.
+     *
+     * @param sourceText The JSON5 text to parse.
+     * @param options The options to parse with.
+     * @return A structured representation of the JSON5 value represented by
+     * {@code text}.
+     */
+    public static Json5Value parse(
+        SourceText sourceText,
+        Json5ParseOptions options
+    ) {
+        return parse(new TextSourceInput(sourceText), options);
+    }
+
+    /**
+     * Parse JSON5 text that was produced by editing previously parsed text,
+     * reusing the values that were parsed from the previous text.
+     * <p>
+     * Only the smallest object or array that encloses the edit is parsed
+     * again. Within that object or array, members and elements that aren't
+     * next to the edit are reused. Outside of it, all values are reused. Each
+     * reused value is copied with its source range in the edited text, and
+     * the contents of reused objects and arrays are only copied when they're
+     * first accessed. This means that the time taken depends on the size of
+     * the edit and of the objects and arrays that enclose it, rather than the
+     * size of the text. The exception is when the previous value was parsed
+     * from UTF-8, in which case the previous text is decoded, if it hasn't
+     * been already, to find the character indices of reused values.
+     * <p>
+     * The whole text is parsed if no object or array encloses the edit, such
+     * as when the edit changes the brackets of the outermost value, if the
+     * edit changes where the enclosing object or array ends, or if the
+     * previous value doesn't track locations. In all cases, the result, or
+     * the error thrown, is the same as when parsing the edited text with
+     * {@link #parse(SourceText)}.
+     * <p>
+     * The text outside of the edit must be the same as the previous text,
+     * since reused values aren't checked against the edited text. Only the
+     * length of the edited text and the replacement text are checked, since
+     * comparing the rest of the text would take time proportional to its
+     * size.
+     *
+     * @param sourceText The JSON5 text after the edit.
+     * @param previous The value parsed from the JSON5 text before the edit,
+     * which must be the root value of that text.
+     * @param edit The edit that was applied to the previous text to produce
+     * {@code sourceText}.
+     * @return A structured representation of the JSON5 value represented by
+     * {@code sourceText}.
+     * @throws IllegalArgumentException If {@code previous} isn't a root
+     * value, or the length of {@code sourceText}, or its text where the
+     * replacement was inserted, doesn't match the edit.
+     */
+    public static Json5Value reparse(
+        SourceText sourceText,
+        Json5Value previous,
+        Json5TextEdit edit
+    ) {
+        var input = new TextSourceInput(sourceText);
+        var value = Json5IncrementalParser.reparse(input, previous, edit);
+        return value == null
+            ? parse(input, Json5ParseOptions.DEFAULT)
+            : value;
+    }
+
+    /**
+     * Parse UTF-8 encoded JSON5 text into a JSON5 value.
+     * <p>
+     * The bytes are tokenized directly, rather than first being decoded into
+     * a string. Only the contents of strings and identifiers are decoded. The
+     * full text is decoded only if a source position is requested, such as
+     * from {@link Json5Value#sourceRange()}.
+     * <p>
+     * The bytes between the position and the limit of the buffer are parsed.
+     * The buffer must not be modified while any values parsed from it are
+     * still in use.
+     *
+     * @param name The name of the source, as used by {@link SourceText}.
+     * @param bytes The UTF-8 encoded JSON5 text to parse.
+     * @return A structured representation of the JSON5 value represented by
+     * {@code bytes}.
+     */
+    public static Json5Value parseUtf8(String name, ByteBuffer bytes) {
+        return parseUtf8(name, bytes, Json5ParseOptions.DEFAULT);
+    }
+
+    /**
+     * Parse UTF-8 encoded JSON5 text into a JSON5 value using the given
+     * options.
+     *
+     * @param name The name of the source, as used by {@link SourceText}.
+     * @param bytes The UTF-8 encoded JSON5 text to parse.
+     * @param options The options to parse with.
+     * @return A structured representation of the JSON5 value represented by
+     * {@code bytes}.
+     * @see #parseUtf8(String, ByteBuffer)
+     */
+    public static Json5Value parseUtf8(
+        String name,
+        ByteBuffer bytes,
+        Json5ParseOptions options
+    ) {
+        return parse(new Utf8SourceInput(name, bytes), options);
+    }
+
+    /**
+     * Parse UTF-8 encoded JSON5 text into a JSON5 value.
+     *
+     * @param name The name of the source, as used by {@link SourceText}.
+     * @param bytes The UTF-8 encoded JSON5 text to parse.
+     * @return A structured representation of the JSON5 value represented by
+     * {@code bytes}.
+     * @see #parseUtf8(String, ByteBuffer)
+     */
+    public static Json5Value parseUtf8(String name, byte[] bytes) {
+        return parseUtf8(name, ByteBuffer.wrap(bytes));
+    }
+
+    /**
+     * Parse a UTF-8 encoded JSON5 file into a JSON5 value.
+     * <p>
+     * Rather than reading the file into memory, the file is mapped into memory
+     * and parsed as described in {@link #parseUtf8(String, ByteBuffer)}, so
+     * that the raw text can remain in the operating system's page cache. The
+     * file must not be modified while any values parsed from it are still in
+     * use.
+     *
+     * @param path The path of the JSON5 file to parse.
+     * @return A structured representation of the JSON5 value in the file.
+     * @throws IOException If the file cannot be read, or is larger than 2GB.
+     */
+    public static Json5Value parse(Path path) throws IOException {
+        return parse(path, Json5ParseOptions.DEFAULT);
+    }
+
+    /**
+     * Parse a UTF-8 encoded JSON5 file into a JSON5 value using the given
+     * options.
+     *
+     * @param path The path of the JSON5 file to parse.
+     * @param options The options to parse with.
+     * @return A structured representation of the JSON5 value in the file.
+     * @throws IOException If the file cannot be read, or is larger than 2GB.
+     * @see #parse(Path)
+     */
+    public static Json5Value parse(
+        Path path,
+        Json5ParseOptions options
+    ) throws IOException {
+        return parseUtf8(path.toString(), mapFile(path), options);
+    }
+
+    /**
+     * Parse JSON5 text, reporting each part of the document to the given
+     * handler rather than building a tree of values.
+     *
+     * @param sourceText The JSON5 text to parse.
+     * @param handler The handler to report events to.
+     * @see Json5Handler
+     */
+    public static void parse(SourceText sourceText, Json5Handler handler) {
+        Json5EventParser.parse(new TextSourceInput(sourceText), handler);
+    }
+
+    /**
+     * Parse UTF-8 encoded JSON5 text, reporting each part of the document to
+     * the given handler rather than building a tree of values.
+     *
+     * @param name The name of the source, as used by {@link SourceText}.
+     * @param bytes The UTF-8 encoded JSON5 text to parse.
+     * @param handler The handler to report events to.
+     * @see #parseUtf8(String, ByteBuffer)
+     * @see Json5Handler
+     */
+    public static void parseUtf8(
+        String name,
+        ByteBuffer bytes,
+        Json5Handler handler
+    ) {
+        Json5EventParser.parse(new Utf8SourceInput(name, bytes), handler);
+    }
+
+    /**
+     * Parse a UTF-8 encoded JSON5 file, reporting each part of the document
+     * to the given handler rather than building a tree of values.
+     *
+     * @param path The path of the JSON5 file to parse.
+     * @param handler The handler to report events to.
+     * @throws IOException If the file cannot be read, or is larger than 2GB.
+     * @see #parse(Path)
+     * @see Json5Handler
+     */
+    public static void parse(Path path, Json5Handler handler) throws IOException {
+        parseUtf8(path.toString(), mapFile(path), handler);
+    }
+
+    /**
+     * Parse the values in JSON5 text that match any of the given patterns.
+     * <p>
+     * Only the matching values are built: all other values are skipped
+     * without decoding their strings or numbers. Skipped objects and arrays
+     * are only checked for matching brackets, so syntax errors inside them
+     * may not be reported. When a value matches, values inside it are not
+     * matched separately.
+     *
+     * @param sourceText The JSON5 text to parse.
+     * @param patterns The patterns of the values to parse.
+     * @return The matching values, in the order they appear in the document.
+     */
+    public static List<Json5Value> parseMatching(
+        SourceText sourceText,
+        Collection<Json5PathPattern> patterns
+    ) {
+        return Json5ProjectionParser.parse(new TextSourceInput(sourceText), patterns);
+    }
+
+    /**
+     * Parse the values in UTF-8 encoded JSON5 text that match any of the given
+     * patterns.
+     *
+     * @param name The name of the source, as used by {@link SourceText}.
+     * @param bytes The UTF-8 encoded JSON5 text to parse.
+     * @param patterns The patterns of the values to parse.
+     * @return The matching values, in the order they appear in the document.
+     * @see #parseUtf8(String, ByteBuffer)
+     * @see #parseMatching(SourceText, Collection)
+     */
+    public static List<Json5Value> parseMatchingUtf8(
+        String name,
+        ByteBuffer bytes,
+        Collection<Json5PathPattern> patterns
+    ) {
+        return Json5ProjectionParser.parse(new Utf8SourceInput(name, bytes), patterns);
+    }
+
+    /**
+     * Parse the values in a UTF-8 encoded JSON5 file that match any of the
+     * given patterns.
+     *
+     * @param path The path of the JSON5 file to parse.
+     * @param patterns The patterns of the values to parse.
+     * @return The matching values, in the order they appear in the document.
+     * @throws IOException If the file cannot be read, or is larger than 2GB.
+     * @see #parse(Path)
+     * @see #parseMatching(SourceText, Collection)
+     */
+    public static List<Json5Value> parseMatching(
+        Path path,
+        Collection<Json5PathPattern> patterns
+    ) throws IOException {
+        return parseMatchingUtf8(path.toString(), mapFile(path), patterns);
+    }
+
+    /**
+     * Parse JSON5 text into a {@link Json5Tape}.
+     *
+     * @param sourceText The JSON5 text to parse.
+     * @return The parsed document.
+     * @see Json5Tape
+     */
+    public static Json5Tape parseTape(SourceText sourceText) {
+        return Json5TapeParser.parse(new TextSourceInput(sourceText));
+    }
+
+    /**
+     * Parse UTF-8 encoded JSON5 text into a {@link Json5Tape}. The buffer can
+     * be modified once parsing is complete, since the tape holds a copy of
+     * the strings in the document.
+     *
+     * @param name The name of the source, as used by {@link SourceText}.
+     * @param bytes The UTF-8 encoded JSON5 text to parse.
+     * @return The parsed document.
+     * @see #parseUtf8(String, ByteBuffer)
+     * @see Json5Tape
+     */
+    public static Json5Tape parseTapeUtf8(String name, ByteBuffer bytes) {
+        return Json5TapeParser.parse(new Utf8SourceInput(name, bytes));
+    }
+
+    /**
+     * Parse a UTF-8 encoded JSON5 file into a {@link Json5Tape}.
+     *
+     * @param path The path of the JSON5 file to parse.
+     * @return The parsed document.
+     * @throws IOException If the file cannot be read, or is larger than 2GB.
+     * @see #parse(Path)
+     * @see Json5Tape
+     */
+    public static Json5Tape parseTape(Path path) throws IOException {
+        return parseTapeUtf8(path.toString(), mapFile(path));
+    }
+
+    static ByteBuffer mapFile(Path path) throws IOException {
+        try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            var size = channel.size();
+            // Offsets into the source are represented using an int.
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException(String.format(
+                    "%s is too large to parse (%s bytes)",
+                    path,
+                    size
+                ));
+            }
+
+            // The mapping remains valid after the channel is closed.
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+    }
+
+    private static Json5Value parse(
+        SourceInput input,
+        Json5ParseOptions options
+    ) {
+        var memberNames = options.memberNames() == null
+            ? new Json5MemberNameTable()
+            : options.memberNames();
+        var tokens = Json5Tokenizer.tokenize(
+            input,
+            memberNames,
+            options.tracksLocations(),
+            options.isLazy(),
+            options.maxDepth(),
+            options.parallelPool()
+        );
 
-        var value = parseValue(tokens, Json5Path.ROOT);
+        // When locations aren't tracked, the path of each value is null.
+        var path = options.tracksLocations() ? Json5Path.ROOT : null;
+        // Parsing an array in parallel starts by scanning the whole array,
+        // which only reads buffered tokens if the document was long enough to
+        // be tokenized in parallel. Shorter documents are parsed sequentially,
+        // so that they're never tokenized twice.
+        var value = tokens.isBuffered() &&
+            tokens.isNext(Json5TokenType.PUNCTUATOR_SQUARE_OPEN)
+            ? Json5ParallelArrayParser.parse(
+                tokens,
+                path,
+                options.parallelPool(),
+                options.memberNames()
+            )
+            : parseValue(tokens, path, "JSON value");
 
         if (!tokens.isNext(Json5TokenType.END)) {
             throw unexpectedTokenError("end of document", tokens);
@@ -36,18 +386,25 @@ public class Json5Parser {
         return value;
     }
 
-    private static Json5Value parseValue(TokenIterator tokens, Json5Path path) {
-        var json5Value = tryParseValue(tokens, path);
-        if (json5Value.isPresent()) {
-            return json5Value.get();
-        }
-
-        throw unexpectedTokenError("JSON value", tokens);
+    static Json5Value parseValue(
+        TokenIterator tokens,
+        Json5Path path,
+        String expected
+    ) {
+        return parseValue(tokens, path, expected, 0);
     }
 
-    private static Optional<Json5Value> tryParseValue(
+    /**
+     * Parse the value that starts at the next token.
+     *
+     * @param depth The number of objects and arrays that the value is nested
+     * inside.
+     */
+    static Json5Value parseValue(
         TokenIterator tokens,
-        Json5Path path
+        Json5Path path,
+        String expected,
+        int depth
     ) {
         // JSON5Value :
         //     JSON5Null
@@ -56,117 +413,149 @@ public class Json5Parser {
         //     JSON5Number
         //     JSON5Object
         //     JSON5Array
+        //
+        // JSON5Null ::
+        //     NullLiteral
+        //
+        // NullLiteral ::
+        //     `null`
+        //
+        // JSON5Boolean ::
+        //     BooleanLiteral
+        //
+        // BooleanLiteral ::
+        //     `true`
+        //     `false`
+        //
+        // Since the tokenizer classifies keywords, we can dispatch on the type
+        // of the next token, rather than trying each kind of value in turn.
+
+        return switch (tokens.peekTokenType()) {
+            case KEYWORD_NULL -> {
+                var value = path == null
+                    ? Json5Null.UNTRACKED
+                    : Json5Null.of(path, tokens.peekSourceRange());
+                tokens.skip();
+                yield value;
+            }
 
-        var json5Null = tryParseNull(tokens, path);
-        if (json5Null.isPresent()) {
-            return json5Null;
-        }
+            case KEYWORD_TRUE -> {
+                var value = path == null
+                    ? Json5Boolean.UNTRACKED_TRUE
+                    : Json5Boolean.of(true, path, tokens.peekSourceRange());
+                tokens.skip();
+                yield value;
+            }
 
-        var json5Boolean = tryParseBoolean(tokens, path);
-        if (json5Boolean.isPresent()) {
-            return json5Boolean;
-        }
+            case KEYWORD_FALSE -> {
+                var value = path == null
+                    ? Json5Boolean.UNTRACKED_FALSE
+                    : Json5Boolean.of(false, path, tokens.peekSourceRange());
+                tokens.skip();
+                yield value;
+            }
 
-        var json5String = tryParseString(tokens, path);
-        if (json5String.isPresent()) {
-            return json5String;
-        }
+            case STRING -> parseString(tokens, path);
 
-        var json5Number = tryParseNumber(tokens, path);
-        if (json5Number.isPresent()) {
-            return json5Number;
-        }
+            case KEYWORD_INFINITY, KEYWORD_NAN, NUMBER_DECIMAL, NUMBER_HEX,
+                NUMBER_POSITIVE_INFINITY, NUMBER_NEGATIVE_INFINITY, NUMBER_NAN -> {
+                var number = parseNumberToken(tokens, path);
+                tokens.skip();
+                yield number;
+            }
 
-        var json5Object = tryParseObject(tokens, path);
-        if (json5Object.isPresent()) {
-            return json5Object;
-        }
+            case PUNCTUATOR_BRACE_OPEN -> tokens.isLazy()
+                ? parseLazyObject(tokens, path, depth + 1)
+                : parseContainer(tokens, path, depth + 1);
 
-        var json5Array = tryParseArray(tokens, path);
-        if (json5Array.isPresent()) {
-            return json5Array;
-        }
+            case PUNCTUATOR_SQUARE_OPEN -> tokens.isLazy()
+                ? parseLazyArray(tokens, path, depth + 1)
+                : parseContainer(tokens, path, depth + 1);
 
-        return Optional.empty();
+            default -> throw unexpectedTokenError(expected, tokens);
+        };
     }
 
-    private static Optional<Json5Value> tryParseNull(
+    private static Json5Object parseLazyObject(
         TokenIterator tokens,
-        Json5Path path
+        Json5Path path,
+        int depth
     ) {
-        // JSON5Null ::
-        //     NullLiteral
-        //
-        // NullLiteral ::
-        //     `null`
+        checkDepth(tokens, depth);
+        var start = tokens.peekStart();
+        skipToMatchingBracket(tokens);
+        var sourceRange = tokens.sourceRange(start, tokens.peekEnd());
+        tokens.skip();
 
-        var token = tokens.peek();
-        if (token.is(Json5TokenType.IDENTIFIER, "null")) {
-            tokens.skip();
-            return Optional.of(new Json5Null(path, token.sourceRange()));
-        } else {
-            return Optional.empty();
-        }
+        return Json5Object.lazy(
+            () -> (Json5Object) parseContainer(tokens.startingAt(start), path, depth),
+            path,
+            sourceRange
+        );
     }
 
-    private static Optional<Json5Value> tryParseBoolean(
+    private static Json5Array parseLazyArray(
         TokenIterator tokens,
-        Json5Path path
+        Json5Path path,
+        int depth
     ) {
-        // JSON5Boolean ::
-        //     BooleanLiteral
-        //
-        // BooleanLiteral ::
-        //     `true`
-        //     `false`
+        checkDepth(tokens, depth);
+        var start = tokens.peekStart();
+        skipToMatchingBracket(tokens);
+        var sourceRange = tokens.sourceRange(start, tokens.peekEnd());
+        tokens.skip();
 
-        var token = tokens.peek();
-        if (token.is(Json5TokenType.IDENTIFIER, "true")) {
-            tokens.skip();
-            return Optional.of(new Json5Boolean(true, path, token.sourceRange()));
-        } else if (token.is(Json5TokenType.IDENTIFIER, "false")) {
-            tokens.skip();
-            return Optional.of(new Json5Boolean(false, path, token.sourceRange()));
-        } else {
-            return Optional.empty();
-        }
+        return Json5Array.lazy(
+            () -> (Json5Array) parseContainer(tokens.startingAt(start), path, depth),
+            path,
+            sourceRange
+        );
     }
 
-    private static Optional<Json5Value> tryParseString(
+    private static Json5Value parseString(
         TokenIterator tokens,
         Json5Path path
     ) {
-        var token = tokens.peek();
-        if (token.is(Json5TokenType.STRING)) {
-            tokens.skip();
+        var stringValue = parseStringToken(tokens);
+        var sourceRange = tokens.peekSourceRange();
+        tokens.skip();
 
-            var stringValue = parseStringValue(token);
+        return Json5String.of(
+            stringValue,
+            path,
+            sourceRange
+        );
+    }
 
-            return Optional.of(new Json5String(
-                stringValue,
-                path,
-                token.sourceRange()
-            ));
+    static String parseStringToken(TokenIterator tokens) {
+        if (tokens.peekHasEscapes()) {
+            return parseStringValue(tokens.peekCharSequence());
         } else {
-            return Optional.empty();
+            // Without any escapes, the value is exactly the characters
+            // between the quotes.
+            return tokens.charSequence(tokens.peekStart() + 1, tokens.peekEnd() - 1)
+                .toString();
         }
     }
 
-    private static String parseStringValue(Json5Token token) {
-        var stringCharacters = token.charSequence()
-            .subSequence(1, token.charSequence().length() - 1);
+    static String parseStringValue(CharSequence tokenCharacters) {
+        var stringCharacters = tokenCharacters
+            .subSequence(1, tokenCharacters.length() - 1);
 
-        var stringValue = new StringBuilder();
+        var stringValue = new StringBuilder(stringCharacters.length());
         var stringCharacterIndex = 0;
+        var unescapedStartIndex = 0;
         while (stringCharacterIndex < stringCharacters.length()) {
             var character = stringCharacters.charAt(stringCharacterIndex);
             if (character == '\\') {
+                stringValue.append(stringCharacters, unescapedStartIndex, stringCharacterIndex);
                 stringCharacterIndex = parseEscapeSequenceOrLineContinuation(stringCharacters, stringCharacterIndex, stringValue);
+                unescapedStartIndex = stringCharacterIndex;
             } else {
-                stringValue.append(character);
                 stringCharacterIndex += 1;
             }
         }
+        stringValue.append(stringCharacters, unescapedStartIndex, stringCharacterIndex);
 
         return stringValue.toString();
     }
@@ -289,232 +678,581 @@ public class Json5Parser {
         }
     }
 
-    private static Optional<Json5Value> tryParseNumber(
+    /**
+     * Parse the number from the next token, without skipping the token.
+     */
+    static Json5Number parseNumberToken(
         TokenIterator tokens,
         Json5Path path
     ) {
-        var token = tokens.peek();
+        var sourceRange = tokens.peekSourceRange();
 
-        switch (token.tokenType()) {
-            case IDENTIFIER -> {
-                // The JSON5 lexical grammar is ambiguous in that Infinity and
-                // NaN tokens can be interpreted as either identifiers or as
-                // numbers. Since identifiers are always member names, not
-                // JSON5 values, this isn't ambiguous in the syntactic grammar.
-                //
-                // Therefore, to keep identifier handling straightforward, we
-                // interpret such tokens as identifiers, and handle the special
-                // case when parsing numbers i.e. here.
-                if (token.is("Infinity")) {
-                    tokens.skip();
-                    return Optional.of(new Json5NumberPositiveInfinity(
-                        path,
-                        token.sourceRange()
-                    ));
-                } else if (token.is("NaN")) {
-                    tokens.skip();
-                    return Optional.of(new Json5NumberNan(
-                        path,
-                        token.sourceRange()
-                    ));
-                }
-            }
-            case NUMBER_DECIMAL -> {
-                tokens.skip();
-                return Optional.of(new Json5NumberFinite(
-                    new BigDecimal(token.charSequence().toString()),
-                    path,
-                    token.sourceRange()
-                ));
-            }
-            case NUMBER_HEX -> {
-                tokens.skip();
+        var number = switch (tokens.peekTokenType()) {
+            // The JSON5 lexical grammar is ambiguous in that Infinity and NaN
+            // tokens can be interpreted as either identifiers or as numbers.
+            // Since identifiers are always member names, not JSON5 values,
+            // this isn't ambiguous in the syntactic grammar.
+            //
+            // Therefore, the tokenizer interprets such tokens as keywords,
+            // which are treated as numbers here, and as identifiers when
+            // parsing member names.
+            case KEYWORD_INFINITY, NUMBER_POSITIVE_INFINITY ->
+                Json5NumberPositiveInfinity.of(path, sourceRange);
 
-                var hasSign = false;
-                var isNegative = false;
+            case NUMBER_NEGATIVE_INFINITY ->
+                Json5NumberNegativeInfinity.of(path, sourceRange);
 
-                var buffer = token.charSequence();
-                if (buffer.charAt(0) == '+') {
-                    hasSign = true;
-                } else if (buffer.charAt(0) == '-') {
-                    hasSign = true;
-                    isNegative = true;
-                }
+            case KEYWORD_NAN, NUMBER_NAN ->
+                Json5NumberNan.of(path, sourceRange);
 
-                var unsignedInteger = new BigInteger(
-                    token.charSequence().toString().substring(hasSign ? 3 : 2),
-                    16
-                );
-                var integer = isNegative ? unsignedInteger.negate() : unsignedInteger;
-                return Optional.of(new Json5NumberFinite(
-                    new BigDecimal(integer),
-                    path,
-                    token.sourceRange()
-                ));
+            case NUMBER_DECIMAL, NUMBER_HEX ->
+                parseFiniteNumber(tokens, path, sourceRange);
+
+            default -> throw unexpectedTokenError("number", tokens);
+        };
+
+        return number;
+    }
+
+    // The maximum number of digits that always fit in a long.
+    private static final int MAX_COMPACT_DECIMAL_DIGITS = 18;
+    private static final int MAX_COMPACT_HEX_DIGITS = 15;
+    private static final int MAX_EXPONENT_DIGITS = 9;
+
+    /**
+     * A finite number whose digits fit in a long, as an unscaled value and a
+     * scale with the same meaning as in {@link BigDecimal}.
+     */
+    static final class CompactNumber {
+        long unscaledValue;
+        int scale;
+    }
+
+    private static Json5NumberFinite parseFiniteNumber(
+        TokenIterator tokens,
+        Json5Path path,
+        Json5SourceRange sourceRange
+    ) {
+        var number = new CompactNumber();
+        if (tryParseCompactNumber(tokens, number)) {
+            return new Json5NumberFinite(
+                number.unscaledValue,
+                number.scale,
+                path,
+                sourceRange
+            );
+        }
+
+        var value = tokens.isNext(Json5TokenType.NUMBER_HEX)
+            ? new BigDecimal(parseHexInteger(tokens.peekCharSequence()))
+            : new BigDecimal(tokens.peekCharSequence().toString());
+        return Json5NumberFinite.of(value, path, sourceRange);
+    }
+
+    /**
+     * Try to parse the next token as a finite number whose digits fit in a
+     * long, without skipping the token.
+     *
+     * @return Whether the next token is such a number.
+     */
+    static boolean tryParseCompactNumber(
+        TokenIterator tokens,
+        CompactNumber number
+    ) {
+        return switch (tokens.peekTokenType()) {
+            case NUMBER_DECIMAL -> tryParseCompactDecimalNumber(tokens, number);
+            case NUMBER_HEX -> tryParseCompactHexNumber(tokens, number);
+            default -> false;
+        };
+    }
+
+    private static boolean tryParseCompactDecimalNumber(
+        TokenIterator tokens,
+        CompactNumber number
+    ) {
+        // Numbers are read directly from the code units of the token. So long
+        // as the digits fit in a long, we can avoid creating a BigDecimal. The
+        // tokenizer has already checked the syntax of the number.
+        var offset = tokens.peekStart();
+        var end = tokens.peekEnd();
+
+        var isNegative = false;
+        var character = tokens.codeUnitAt(offset);
+        if (character == '+' || character == '-') {
+            isNegative = character == '-';
+            offset += 1;
+        }
+
+        var unscaledValue = 0L;
+        var digitCount = 0;
+        var scale = 0;
+        var isFractionalPart = false;
+        while (offset < end) {
+            character = tokens.codeUnitAt(offset);
+            if (character == '.') {
+                isFractionalPart = true;
+            } else if (character >= '0' && character <= '9') {
+                unscaledValue = unscaledValue * 10 + (character - '0');
+                digitCount += 1;
+                if (isFractionalPart) {
+                    scale += 1;
+                }
+            } else {
+                break;
             }
-            case NUMBER_POSITIVE_INFINITY -> {
-                tokens.skip();
-                return Optional.of(new Json5NumberPositiveInfinity(
-                    path,
-                    token.sourceRange()
-                ));
+            offset += 1;
+        }
+
+        if (offset < end) {
+            // Skip the exponent indicator.
+            offset += 1;
+
+            var isExponentNegative = false;
+            character = tokens.codeUnitAt(offset);
+            if (character == '+' || character == '-') {
+                isExponentNegative = character == '-';
+                offset += 1;
             }
-            case NUMBER_NEGATIVE_INFINITY -> {
-                tokens.skip();
-                return Optional.of(new Json5NumberNegativeInfinity(
-                    path,
-                    token.sourceRange()
-                ));
+
+            if (end - offset > MAX_EXPONENT_DIGITS) {
+                return false;
             }
-            case NUMBER_NAN -> {
-                tokens.skip();
-                return Optional.of(new Json5NumberNan(
-                    path,
-                    token.sourceRange()
-                ));
+
+            var exponent = 0;
+            while (offset < end) {
+                exponent = exponent * 10 + (tokens.codeUnitAt(offset) - '0');
+                offset += 1;
             }
+            scale += isExponentNegative ? exponent : -exponent;
+        }
+
+        if (digitCount > MAX_COMPACT_DECIMAL_DIGITS) {
+            return false;
         }
 
-        return Optional.empty();
+        number.unscaledValue = isNegative ? -unscaledValue : unscaledValue;
+        number.scale = scale;
+        return true;
     }
 
-    private static Optional<Json5Value> tryParseObject(
+    private static boolean tryParseCompactHexNumber(
         TokenIterator tokens,
-        Json5Path path
+        CompactNumber number
+    ) {
+        var offset = tokens.peekStart();
+        var end = tokens.peekEnd();
+
+        var isNegative = false;
+        var character = tokens.codeUnitAt(offset);
+        if (character == '+' || character == '-') {
+            isNegative = character == '-';
+            offset += 1;
+        }
+
+        // Skip the hex literal prefix.
+        offset += 2;
+
+        if (end - offset > MAX_COMPACT_HEX_DIGITS) {
+            return false;
+        }
+
+        var value = 0L;
+        while (offset < end) {
+            value = (value << 4) | parseHexDigit((char) tokens.codeUnitAt(offset));
+            offset += 1;
+        }
+
+        number.unscaledValue = isNegative ? -value : value;
+        number.scale = 0;
+        return true;
+    }
+
+    private static BigInteger parseHexInteger(CharSequence buffer) {
+        var hasSign = false;
+        var isNegative = false;
+
+        if (buffer.charAt(0) == '+') {
+            hasSign = true;
+        } else if (buffer.charAt(0) == '-') {
+            hasSign = true;
+            isNegative = true;
+        }
+
+        var unsignedInteger = new BigInteger(
+            buffer.toString().substring(hasSign ? 3 : 2),
+            16
+        );
+        return isNegative ? unsignedInteger.negate() : unsignedInteger;
+    }
+
+    /**
+     * Parse the object or array that starts at the next token.
+     * <p>
+     * Rather than recursing for each nested object or array, the objects and
+     * arrays that are being parsed are kept on an explicit stack, so the depth
+     * of nesting is limited by the heap and the maximum depth, rather than by
+     * the size of the thread's stack.
+     *
+     * @param depth The number of objects and arrays that the object or array
+     * is nested inside, including itself.
+     */
+    private static Json5Value parseContainer(
+        TokenIterator tokens,
+        Json5Path path,
+        int depth
     ) {
         // JSON5Object :
         //     `{` `}`
         //     `{` JSON5MemberList `,`? `}`
         //
-        //  JSON5MemberList :
-        //      JSON5Member
-        //      JSON5MemberList `,` JSON5Member
+        // JSON5MemberList :
+        //     JSON5Member
+        //     JSON5MemberList `,` JSON5Member
+        //
+        // JSON5Member :
+        //     JSON5MemberName `:` JSON5Value
+        //
+        // JSON5Array :
+        //     `[` `]`
+        //     `[` JSON5ElementList `,`? `]`
+        //
+        // JSON5ElementList :
+        //     JSON5Value
+        //     JSON5ElementList `,` JSON5Value
 
-        var startToken = tokens.peek();
-        if (!startToken.is(Json5TokenType.PUNCTUATOR_BRACE_OPEN)) {
-            return Optional.empty();
-        }
-        tokens.skip();
+        // The containers that enclose the current container.
+        var stack = new ContainerState[16];
+        var stackSize = 0;
+        var container = openContainer(tokens, path, depth);
+        var number = new CompactNumber();
 
-        var objectBuilder = Json5Object.builder();
         while (true) {
-            var member = tryParseMember(tokens, path);
-            if (member.isPresent()) {
-                // TODO: handle duplicates
-                objectBuilder.addMember(member.get());
-            } else if (tokens.isNext(Json5TokenType.PUNCTUATOR_BRACE_CLOSE)) {
-                break;
+            Json5Value value;
+
+            if (tokens.isNext(container.closingTokenType())) {
+                value = closeContainer(tokens, container);
+                if (stackSize == 0) {
+                    return value;
+                }
+                stackSize -= 1;
+                container = stack[stackSize];
+                stack[stackSize] = null;
             } else {
-                throw unexpectedTokenError("JSON member or '}'", tokens);
+                Json5Path valuePath;
+                String expected;
+                if (container.isObject) {
+                    // TODO: handle duplicates
+                    container.memberStart = tokens.peekStart();
+                    container.memberName = parseMemberName(tokens);
+
+                    if (!tokens.trySkip(Json5TokenType.PUNCTUATOR_COLON)) {
+                        throw unexpectedTokenError("':'", tokens);
+                    }
+
+                    valuePath = container.path == null
+                        ? null
+                        : container.path.member(container.memberName.value());
+                    expected = "JSON value";
+                } else if (
+                    container.elements == null &&
+                        tryParseCompactNumber(tokens, number)
+                ) {
+                    container.numbers.add(number, tokens.peekStart(), tokens.peekEnd());
+                    tokens.skip();
+                    skipSeparator(tokens, container);
+                    continue;
+                } else {
+                    if (container.elements == null) {
+                        container.elements = container.numbers.toElements(tokens, container.path);
+                    }
+                    valuePath = container.path == null
+                        ? null
+                        : container.path.index(container.elements.size());
+                    expected = "JSON value or ']'";
+                }
+
+                var isContainerNext =
+                    tokens.isNext(Json5TokenType.PUNCTUATOR_BRACE_OPEN) ||
+                        tokens.isNext(Json5TokenType.PUNCTUATOR_SQUARE_OPEN);
+                if (isContainerNext && !tokens.isLazy()) {
+                    if (stackSize == stack.length) {
+                        stack = Arrays.copyOf(stack, stackSize * 2);
+                    }
+                    stack[stackSize] = container;
+                    stackSize += 1;
+                    container = openContainer(tokens, valuePath, container.depth + 1);
+                    continue;
+                }
+
+                value = parseValue(tokens, valuePath, expected, container.depth);
             }
 
-            if (tokens.trySkip(Json5TokenType.PUNCTUATOR_COMMA)) {
-                // Next member
-            } else if (tokens.isNext(Json5TokenType.PUNCTUATOR_BRACE_CLOSE)) {
-                break;
+            if (container.isObject) {
+                var sourceRange = tokens.sourceRange(container.memberStart, tokens.previousEnd());
+                container.members.addMember(Json5Member.of(container.memberName, value, sourceRange));
             } else {
-                throw unexpectedTokenError("',' or '}'", tokens);
+                container.elements.add(value);
             }
+            skipSeparator(tokens, container);
+        }
+    }
+
+    /**
+     * The state of an object or array that is being parsed.
+     */
+    private static final class ContainerState {
+        private final boolean isObject;
+        private final Json5Path path;
+        private final int start;
+        private final int depth;
+
+        // Used for objects.
+        private final Json5Object.Builder members;
+        private Json5MemberName memberName;
+        private int memberStart;
+
+        // Used for arrays. Arrays of finite numbers are stored as primitive
+        // arrays. Elements are collected as numbers until we find an element
+        // that isn't such a number, at which point we switch to a list of
+        // elements.
+        private final NumberArrayBuilder numbers;
+        private ArrayList<Json5Value> elements;
+
+        private ContainerState(
+            boolean isObject,
+            Json5Path path,
+            int start,
+            int depth,
+            boolean tracksLocations
+        ) {
+            this.isObject = isObject;
+            this.path = path;
+            this.start = start;
+            this.depth = depth;
+            this.members = isObject ? Json5Object.builder() : null;
+            this.numbers = isObject ? null : new NumberArrayBuilder(tracksLocations);
+            this.elements = null;
+        }
+
+        Json5TokenType closingTokenType() {
+            return this.isObject
+                ? Json5TokenType.PUNCTUATOR_BRACE_CLOSE
+                : Json5TokenType.PUNCTUATOR_SQUARE_CLOSE;
         }
+    }
 
-        var endToken = tokens.peek();
-        var sourceRange = startToken.sourceRange().to(endToken.sourceRange());
+    private static ContainerState openContainer(
+        TokenIterator tokens,
+        Json5Path path,
+        int depth
+    ) {
+        checkDepth(tokens, depth);
+        var container = new ContainerState(
+            tokens.isNext(Json5TokenType.PUNCTUATOR_BRACE_OPEN),
+            path,
+            tokens.peekStart(),
+            depth,
+            tokens.tracksLocations()
+        );
         tokens.skip();
-        return Optional.of(objectBuilder.build(path, sourceRange));
+        return container;
     }
 
-    private static Optional<Json5Member> tryParseMember(
+    private static Json5Value closeContainer(
         TokenIterator tokens,
-        Json5Path path
+        ContainerState container
     ) {
-        //  JSON5Member :
-        //      JSON5MemberName `:` JSON5Value
+        var sourceRange = tokens.sourceRange(container.start, tokens.peekEnd());
+        tokens.skip();
 
-        var memberName = tryParseMemberName(tokens);
-        if (memberName.isEmpty()) {
-            return Optional.empty();
+        if (container.isObject) {
+            return container.members.buildAt(container.path, sourceRange);
+        } else if (container.elements != null) {
+            return Json5Array.of(container.elements, container.path, sourceRange);
+        } else if (container.numbers.size == 0) {
+            return Json5Array.of(List.of(), container.path, sourceRange);
+        } else {
+            return container.numbers.build(container.path, sourceRange);
         }
+    }
 
-        var colonToken = tokens.peek();
-        if (!colonToken.is(Json5TokenType.PUNCTUATOR_COLON)) {
-            throw unexpectedTokenError("':'", tokens);
+    private static void skipSeparator(
+        TokenIterator tokens,
+        ContainerState container
+    ) {
+        if (tokens.trySkip(Json5TokenType.PUNCTUATOR_COMMA)) {
+            // Next member or element
+        } else if (!tokens.isNext(container.closingTokenType())) {
+            throw unexpectedTokenError(
+                container.isObject ? "',' or '}'" : "',' or ']'",
+                tokens
+            );
         }
-        tokens.skip();
-
-        var value = parseValue(tokens, path.member(memberName.get().value()));
+    }
 
-        var sourceRange = memberName.get().sourceRange().to(value.sourceRange());
+    /**
+     * Check that an object or array that starts at the next token, and is
+     * nested at the given depth, doesn't exceed the maximum depth.
+     */
+    static void checkDepth(TokenIterator tokens, int depth) {
+        if (depth > tokens.maxDepth()) {
+            throw new Json5ParseError(
+                "Exceeded maximum depth of " + tokens.maxDepth(),
+                tokens.peek().sourceRange()
+            );
+        }
+    }
 
-        return Optional.of(new Json5Member(memberName.get(), value, sourceRange));
+    static Json5MemberName parseMemberName(TokenIterator tokens) {
+        var name = parseMemberNameValue(tokens);
+        var sourceRange = tokens.peekSourceRange();
+        tokens.skip();
+        return Json5MemberName.of(name, sourceRange);
     }
 
-    private static Optional<Json5MemberName> tryParseMemberName(TokenIterator tokens) {
+    /**
+     * Parse the name of the member from the next token, without skipping the
+     * token.
+     */
+    static String parseMemberNameValue(TokenIterator tokens) {
         //  JSON5MemberName :
         //      JSON5Identifier
         //      JSON5String
 
-        var token = tokens.peek();
-        switch (token.tokenType()) {
-            case IDENTIFIER -> {
-                tokens.skip();
-                var name = parseIdentifier(token.charSequence());
-                return Optional.of(new Json5MemberName(name, token.sourceRange()));
-            }
+        return switch (tokens.peekTokenType()) {
+            case IDENTIFIER, KEYWORD_NULL, KEYWORD_TRUE, KEYWORD_FALSE,
+                KEYWORD_INFINITY, KEYWORD_NAN ->
+                tokens.peekHasEscapes()
+                    ? parseIdentifier(tokens.peekCharSequence())
+                    : tokens.memberName(tokens.peekStart(), tokens.peekEnd());
 
-            case STRING -> {
-                tokens.skip();
-                var name = parseStringValue(token);
-                return Optional.of(new Json5MemberName(name, token.sourceRange()));
+            case STRING ->
+                tokens.peekHasEscapes()
+                    ? parseStringValue(tokens.peekCharSequence())
+                    : tokens.memberName(tokens.peekStart() + 1, tokens.peekEnd() - 1);
+
+            default -> throw unexpectedTokenError("JSON member or '}'", tokens);
+        };
+    }
+
+    private static final long[] EMPTY_LONGS = new long[0];
+    private static final int[] EMPTY_INTS = new int[0];
+
+    static final class NumberArrayBuilder {
+        private final boolean tracksLocations;
+        // The arrays are allocated when the first number is added, so that
+        // arrays of other values don't pay for them.
+        private long[] unscaledValues = EMPTY_LONGS;
+        private int[] scales = null;
+        private int[] elementOffsets;
+        private int size = 0;
+
+        NumberArrayBuilder(boolean tracksLocations) {
+            this.tracksLocations = tracksLocations;
+            this.elementOffsets = tracksLocations ? EMPTY_INTS : null;
+        }
+
+        int size() {
+            return this.size;
+        }
+
+        void add(CompactNumber number, int start, int end) {
+            if (this.size == this.unscaledValues.length) {
+                ensureCapacity(Math.max(8, this.size * 2));
             }
 
-            default -> {
-                return Optional.empty();
+            this.unscaledValues[this.size] = number.unscaledValue;
+            // Scales are only stored once there's a number with a non-zero
+            // scale, so that arrays of integers don't need them.
+            if (number.scale != 0 && this.scales == null) {
+                this.scales = new int[this.unscaledValues.length];
+            }
+            if (this.scales != null) {
+                this.scales[this.size] = number.scale;
+            }
+            if (this.elementOffsets != null) {
+                this.elementOffsets[this.size * 2] = start;
+                this.elementOffsets[this.size * 2 + 1] = end;
             }
+            this.size += 1;
         }
-    }
 
-    private static Optional<Json5Value> tryParseArray(
-        TokenIterator tokens,
-        Json5Path path
-    ) {
-        // JSON5Array :
-        //     `[` `]`
-        //     `[` JSON5ElementList `,`? `]`
-        //
-        // JSON5ElementList :
-        //     JSON5Value
-        //     JSON5ElementList `,` JSON5Value
+        /**
+         * Add the numbers of another builder after the numbers of this
+         * builder.
+         */
+        void addAll(NumberArrayBuilder other) {
+            if (this.size + other.size > this.unscaledValues.length) {
+                ensureCapacity(this.size + other.size);
+            }
 
-        var startToken = tokens.peek();
-        if (!startToken.is(Json5TokenType.PUNCTUATOR_SQUARE_OPEN)) {
-            return Optional.empty();
+            System.arraycopy(other.unscaledValues, 0, this.unscaledValues, this.size, other.size);
+            if (other.scales != null && this.scales == null) {
+                this.scales = new int[this.unscaledValues.length];
+            }
+            if (other.scales != null) {
+                System.arraycopy(other.scales, 0, this.scales, this.size, other.size);
+            }
+            if (this.elementOffsets != null) {
+                System.arraycopy(
+                    other.elementOffsets,
+                    0,
+                    this.elementOffsets,
+                    this.size * 2,
+                    other.size * 2
+                );
+            }
+            this.size += other.size;
         }
-        tokens.skip();
 
-        var elements = new ArrayList<Json5Value>();
-        while (true) {
-            var element = tryParseValue(tokens, path.index(elements.size()));
-            if (element.isPresent()) {
-                elements.add(element.get());
-            } else if (tokens.isNext(Json5TokenType.PUNCTUATOR_SQUARE_CLOSE)) {
-                break;
-            } else {
-                throw unexpectedTokenError("JSON value or ']'", tokens);
+        private void ensureCapacity(int capacity) {
+            this.unscaledValues = Arrays.copyOf(this.unscaledValues, capacity);
+            if (this.scales != null) {
+                this.scales = Arrays.copyOf(this.scales, capacity);
             }
+            if (this.elementOffsets != null) {
+                this.elementOffsets = Arrays.copyOf(this.elementOffsets, capacity * 2);
+            }
+        }
 
-            if (tokens.trySkip(Json5TokenType.PUNCTUATOR_COMMA)) {
-                // Next element
-            } else if (tokens.isNext(Json5TokenType.PUNCTUATOR_SQUARE_CLOSE)) {
-                break;
-            } else {
-                throw unexpectedTokenError("',' or ']'", tokens);
+        ArrayList<Json5Value> toElements(TokenIterator tokens, Json5Path path) {
+            var elements = new ArrayList<Json5Value>(Math.max(this.size * 2, 10));
+            for (var index = 0; index < this.size; index++) {
+                elements.add(element(index, tokens, path == null ? null : path.index(index)));
             }
+            return elements;
         }
 
-        var endToken = tokens.peek();
-        var sourceRange = startToken.sourceRange().to(endToken.sourceRange());
-        tokens.skip();
-        return Optional.of(new Json5Array(elements, path, sourceRange));
+        /**
+         * Create the element at the given index of the builder.
+         *
+         * @param path The path of the element.
+         */
+        Json5NumberFinite element(int index, TokenIterator tokens, Json5Path path) {
+            return new Json5NumberFinite(
+                this.unscaledValues[index],
+                this.scales == null ? 0 : this.scales[index],
+                path,
+                this.tracksLocations
+                    ? tokens.sourceRange(
+                        this.elementOffsets[index * 2],
+                        this.elementOffsets[index * 2 + 1]
+                    )
+                    : null
+            );
+        }
+
+        Json5Array build(Json5Path path, Json5SourceRange sourceRange) {
+            return Json5Array.ofNumbers(
+                Arrays.copyOf(this.unscaledValues, this.size),
+                this.scales == null ? null : Arrays.copyOf(this.scales, this.size),
+                this.elementOffsets == null
+                    ? null
+                    : Arrays.copyOf(this.elementOffsets, this.size * 2),
+                path,
+                sourceRange
+            );
+        }
     }
 
     private static String parseIdentifier(CharSequence buffer) {
@@ -549,7 +1287,64 @@ public class Json5Parser {
         }
     }
 
-    private static Json5ParseError unexpectedTokenError(String expected, TokenIterator tokens) {
+    /**
+     * Skip tokens until the next token is the bracket that matches the
+     * current next token, which must be an opening bracket.
+     * <p>
+     * Strings and numbers aren't decoded, and only the brackets are checked:
+     * the rest of the syntax of the skipped tokens isn't.
+     */
+    static void skipToMatchingBracket(TokenIterator tokens) {
+        // For each open bracket, whether it opens an object, as opposed to an
+        // array.
+        var isObject = new boolean[16];
+        var depth = 0;
+        isObject[0] = tokens.isNext(Json5TokenType.PUNCTUATOR_BRACE_OPEN);
+
+        while (true) {
+            tokens.skip();
+            switch (tokens.peekTokenType()) {
+                case PUNCTUATOR_BRACE_OPEN, PUNCTUATOR_SQUARE_OPEN -> {
+                    depth += 1;
+                    if (depth == isObject.length) {
+                        isObject = Arrays.copyOf(isObject, depth * 2);
+                    }
+                    isObject[depth] = tokens.isNext(Json5TokenType.PUNCTUATOR_BRACE_OPEN);
+                }
+
+                case PUNCTUATOR_BRACE_CLOSE -> {
+                    if (!isObject[depth]) {
+                        throw unexpectedTokenError("',' or ']'", tokens);
+                    }
+                    if (depth == 0) {
+                        return;
+                    }
+                    depth -= 1;
+                }
+
+                case PUNCTUATOR_SQUARE_CLOSE -> {
+                    if (isObject[depth]) {
+                        throw unexpectedTokenError("',' or '}'", tokens);
+                    }
+                    if (depth == 0) {
+                        return;
+                    }
+                    depth -= 1;
+                }
+
+                case END -> throw unexpectedTokenError(
+                    isObject[depth] ? "',' or '}'" : "',' or ']'",
+                    tokens
+                );
+
+                default -> {
+                    // Other tokens are skipped without being decoded.
+                }
+            }
+        }
+    }
+
+    static Json5ParseError unexpectedTokenError(String expected, TokenIterator tokens) {
         var token = tokens.peek();
         return Json5ParseError.unexpectedTextError(
             expected,
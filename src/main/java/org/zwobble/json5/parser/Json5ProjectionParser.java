@@ -0,0 +1,200 @@
+package org.zwobble.json5.parser;
+
+import org.zwobble.json5.paths.Json5Path;
+import org.zwobble.json5.paths.Json5PathPattern;
+import org.zwobble.json5.values.Json5Value;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import static org.zwobble.json5.parser.Json5Parser.unexpectedTokenError;
+
+/**
+ * Parses the values in a JSON5 document that match any of a set of path
+ * patterns, skipping all other values without building them.
+ */
+class Json5ProjectionParser {
+    private final TokenIterator tokens;
+    private final Json5PathPattern[] patterns;
+    private final List<Json5Value> values;
+
+    private Json5ProjectionParser(
+        TokenIterator tokens,
+        Json5PathPattern[] patterns
+    ) {
+        this.tokens = tokens;
+        this.patterns = patterns;
+        this.values = new ArrayList<>();
+    }
+
+    static List<Json5Value> parse(
+        SourceInput input,
+        Collection<Json5PathPattern> patterns
+    ) {
+        var tokens = Json5Tokenizer.tokenize(input, new Json5MemberNameTable(), true);
+        var parser = new Json5ProjectionParser(
+            tokens,
+            patterns.toArray(new Json5PathPattern[0])
+        );
+
+        var candidates = new int[parser.patterns.length];
+        for (var patternIndex = 0; patternIndex < candidates.length; patternIndex++) {
+            candidates[patternIndex] = patternIndex;
+        }
+
+        parser.parseValue(
+            Json5Path.ROOT,
+            0,
+            candidates,
+            candidates.length,
+            "JSON value"
+        );
+
+        if (!tokens.isNext(Json5TokenType.END)) {
+            throw unexpectedTokenError("end of document", tokens);
+        }
+
+        return Collections.unmodifiableList(parser.values);
+    }
+
+    // The candidates are the indices of the patterns whose first `depth`
+    // segments match the path of the value. The path is only built for values
+    // that have candidates.
+    //
+    // We only recurse into objects and arrays while they have candidates, so
+    // the depth of recursion is limited by the number of segments in the
+    // patterns. Matching values are parsed, and other values skipped,
+    // without recursion.
+    private void parseValue(
+        Json5Path path,
+        int depth,
+        int[] candidates,
+        int candidateCount,
+        String expected
+    ) {
+        for (var candidateIndex = 0; candidateIndex < candidateCount; candidateIndex++) {
+            if (this.patterns[candidates[candidateIndex]].segmentCount() == depth) {
+                this.values.add(Json5Parser.parseValue(this.tokens, path, expected, depth));
+                return;
+            }
+        }
+
+        if (candidateCount == 0) {
+            skipValue(expected);
+            return;
+        }
+
+        switch (this.tokens.peekTokenType()) {
+            case PUNCTUATOR_BRACE_OPEN ->
+                parseObject(path, depth, candidates, candidateCount);
+
+            case PUNCTUATOR_SQUARE_OPEN ->
+                parseArray(path, depth, candidates, candidateCount);
+
+            default -> skipValue(expected);
+        }
+    }
+
+    private void parseObject(
+        Json5Path path,
+        int depth,
+        int[] candidates,
+        int candidateCount
+    ) {
+        Json5Parser.checkDepth(this.tokens, depth + 1);
+        this.tokens.skip();
+
+        // Since each member is parsed before the next, the array of candidates
+        // can be reused for every member.
+        var memberCandidates = new int[candidateCount];
+        while (!this.tokens.isNext(Json5TokenType.PUNCTUATOR_BRACE_CLOSE)) {
+            var name = Json5Parser.parseMemberNameValue(this.tokens);
+            this.tokens.skip();
+
+            if (!this.tokens.trySkip(Json5TokenType.PUNCTUATOR_COLON)) {
+                throw unexpectedTokenError("':'", this.tokens);
+            }
+
+            var memberCandidateCount = 0;
+            for (var candidateIndex = 0; candidateIndex < candidateCount; candidateIndex++) {
+                var patternIndex = candidates[candidateIndex];
+                if (this.patterns[patternIndex].matchesMember(depth, name)) {
+                    memberCandidates[memberCandidateCount++] = patternIndex;
+                }
+            }
+
+            parseValue(
+                memberCandidateCount == 0 ? null : path.member(name),
+                depth + 1,
+                memberCandidates,
+                memberCandidateCount,
+                "JSON value"
+            );
+
+            if (this.tokens.trySkip(Json5TokenType.PUNCTUATOR_COMMA)) {
+                // Next member
+            } else if (!this.tokens.isNext(Json5TokenType.PUNCTUATOR_BRACE_CLOSE)) {
+                throw unexpectedTokenError("',' or '}'", this.tokens);
+            }
+        }
+
+        this.tokens.skip();
+    }
+
+    private void parseArray(
+        Json5Path path,
+        int depth,
+        int[] candidates,
+        int candidateCount
+    ) {
+        Json5Parser.checkDepth(this.tokens, depth + 1);
+        this.tokens.skip();
+
+        var elementCandidates = new int[candidateCount];
+        var index = 0;
+        while (!this.tokens.isNext(Json5TokenType.PUNCTUATOR_SQUARE_CLOSE)) {
+            var elementCandidateCount = 0;
+            for (var candidateIndex = 0; candidateIndex < candidateCount; candidateIndex++) {
+                var patternIndex = candidates[candidateIndex];
+                if (this.patterns[patternIndex].matchesIndex(depth, index)) {
+                    elementCandidates[elementCandidateCount++] = patternIndex;
+                }
+            }
+
+            parseValue(
+                elementCandidateCount == 0 ? null : path.index(index),
+                depth + 1,
+                elementCandidates,
+                elementCandidateCount,
+                "JSON value or ']'"
+            );
+            index += 1;
+
+            if (this.tokens.trySkip(Json5TokenType.PUNCTUATOR_COMMA)) {
+                // Next element
+            } else if (!this.tokens.isNext(Json5TokenType.PUNCTUATOR_SQUARE_CLOSE)) {
+                throw unexpectedTokenError("',' or ']'", this.tokens);
+            }
+        }
+
+        this.tokens.skip();
+    }
+
+    private void skipValue(String expected) {
+        switch (this.tokens.peekTokenType()) {
+            case PUNCTUATOR_BRACE_OPEN, PUNCTUATOR_SQUARE_OPEN -> {
+                Json5Parser.skipToMatchingBracket(this.tokens);
+                this.tokens.skip();
+            }
+
+            case KEYWORD_NULL, KEYWORD_TRUE, KEYWORD_FALSE, STRING,
+                KEYWORD_INFINITY, KEYWORD_NAN, NUMBER_DECIMAL, NUMBER_HEX,
+                NUMBER_POSITIVE_INFINITY, NUMBER_NEGATIVE_INFINITY, NUMBER_NAN ->
+                this.tokens.skip();
+
+            default -> throw unexpectedTokenError(expected, this.tokens);
+        }
+    }
+}
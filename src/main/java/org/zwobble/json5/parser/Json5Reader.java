@@ -0,0 +1,381 @@
+package org.zwobble.json5.parser;
+
+import org.zwobble.json5.values.*;
+import org.zwobble.sourcetext.SourceRange;
+import org.zwobble.sourcetext.SourceText;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.zwobble.json5.parser.Json5Parser.unexpectedTokenError;
+
+/**
+ * A cursor over the tokens of a JSON5 document.
+ * <p>
+ * Each call to {@link #nextToken()} moves the reader to the next token of the
+ * document. The value of the current token, such as the value of a string, is
+ * only decoded when requested, and values can be skipped entirely using
+ * {@link #skipValue()}. The memory used by the reader depends only on the
+ * depth of the document.
+ * <p>
+ * The syntax of the document is checked as it is read. If the document is
+ * invalid, {@link Json5ParseError} is thrown when the reader reaches the
+ * invalid token.
+ */
+public final class Json5Reader {
+    /**
+     * The type of a token read by a {@link Json5Reader}.
+     */
+    public enum Token {
+        START_OBJECT,
+        MEMBER_NAME,
+        END_OBJECT,
+        START_ARRAY,
+        END_ARRAY,
+        STRING,
+        NUMBER,
+        BOOLEAN,
+        NULL,
+        END_DOCUMENT,
+    }
+
+    private static final byte CONTAINER_OBJECT = 1;
+    private static final byte CONTAINER_ARRAY = 2;
+
+    /**
+     * Create a reader for JSON5 text.
+     *
+     * @param sourceText The JSON5 text to read.
+     * @return A new {@code Json5Reader}.
+     */
+    public static Json5Reader fromSourceText(SourceText sourceText) {
+        return new Json5Reader(new TextSourceInput(sourceText));
+    }
+
+    /**
+     * Create a reader for UTF-8 encoded JSON5 text.
+     *
+     * @param name The name of the source, as used by {@link SourceText}.
+     * @param bytes The UTF-8 encoded JSON5 text to read.
+     * @return A new {@code Json5Reader}.
+     * @see Json5Parser#parseUtf8(String, ByteBuffer)
+     */
+    public static Json5Reader fromUtf8(String name, ByteBuffer bytes) {
+        return new Json5Reader(new Utf8SourceInput(name, bytes));
+    }
+
+    /**
+     * Create a reader for a UTF-8 encoded JSON5 file. The file is mapped into
+     * memory, as described in {@link Json5Parser#parse(Path)}.
+     *
+     * @param path The path of the JSON5 file to read.
+     * @return A new {@code Json5Reader}.
+     * @throws IOException If the file cannot be read, or is larger than 2GB.
+     */
+    public static Json5Reader fromFile(Path path) throws IOException {
+        return fromUtf8(path.toString(), Json5Parser.mapFile(path));
+    }
+
+    // The current token is left as the next token of the token iterator until
+    // the reader moves to the next token, so that its value can be decoded on
+    // demand.
+    private final TokenIterator tokens;
+    private Token currentToken;
+    // The depth of the container that holds the current token, or zero if
+    // the current token isn't in a container.
+    private int currentLevel;
+
+    // The containers that we're currently inside, indexed by depth starting
+    // from one, with the name of the current member of each object.
+    private byte[] containers;
+    private String[] memberNames;
+    private int depth;
+
+    private Json5Reader(SourceInput input) {
+        this.tokens = Json5Tokenizer.tokenize(input, new Json5MemberNameTable(), false);
+        this.currentToken = null;
+        this.currentLevel = 0;
+        this.containers = new byte[16];
+        this.memberNames = new String[16];
+        this.depth = 0;
+    }
+
+    /**
+     * Move to the next token of the document.
+     *
+     * @return The type of the next token. Once the end of the document is
+     * reached, this is always {@link Token#END_DOCUMENT}.
+     * @throws Json5ParseError If the next token is invalid.
+     */
+    public Token nextToken() {
+        if (this.currentToken == Token.END_DOCUMENT) {
+            return Token.END_DOCUMENT;
+        }
+
+        var previousToken = this.currentToken;
+        if (previousToken != null) {
+            this.tokens.skip();
+        }
+
+        if (this.depth == 0) {
+            if (previousToken == null) {
+                return readValue("JSON value");
+            }
+
+            if (!this.tokens.isNext(Json5TokenType.END)) {
+                throw unexpectedTokenError("end of document", this.tokens);
+            }
+            return setCurrentToken(Token.END_DOCUMENT, 0);
+        }
+
+        var isAfterValue = previousToken != Token.START_OBJECT &&
+            previousToken != Token.START_ARRAY &&
+            previousToken != Token.MEMBER_NAME;
+
+        if (this.containers[this.depth] == CONTAINER_OBJECT) {
+            if (previousToken == Token.MEMBER_NAME) {
+                if (!this.tokens.trySkip(Json5TokenType.PUNCTUATOR_COLON)) {
+                    throw unexpectedTokenError("':'", this.tokens);
+                }
+                return readValue("JSON value");
+            }
+
+            if (
+                isAfterValue &&
+                    !this.tokens.trySkip(Json5TokenType.PUNCTUATOR_COMMA) &&
+                    !this.tokens.isNext(Json5TokenType.PUNCTUATOR_BRACE_CLOSE)
+            ) {
+                throw unexpectedTokenError("',' or '}'", this.tokens);
+            }
+
+            if (this.tokens.isNext(Json5TokenType.PUNCTUATOR_BRACE_CLOSE)) {
+                this.depth -= 1;
+                return setCurrentToken(Token.END_OBJECT, this.depth);
+            }
+
+            this.memberNames[this.depth] = Json5Parser.parseMemberNameValue(this.tokens);
+            return setCurrentToken(Token.MEMBER_NAME, this.depth);
+        } else {
+            if (
+                isAfterValue &&
+                    !this.tokens.trySkip(Json5TokenType.PUNCTUATOR_COMMA) &&
+                    !this.tokens.isNext(Json5TokenType.PUNCTUATOR_SQUARE_CLOSE)
+            ) {
+                throw unexpectedTokenError("',' or ']'", this.tokens);
+            }
+
+            if (this.tokens.isNext(Json5TokenType.PUNCTUATOR_SQUARE_CLOSE)) {
+                this.depth -= 1;
+                return setCurrentToken(Token.END_ARRAY, this.depth);
+            }
+
+            return readValue("JSON value or ']'");
+        }
+    }
+
+    private Token readValue(String expected) {
+        return switch (this.tokens.peekTokenType()) {
+            case PUNCTUATOR_BRACE_OPEN -> {
+                var level = this.depth;
+                pushContainer(CONTAINER_OBJECT);
+                yield setCurrentToken(Token.START_OBJECT, level);
+            }
+
+            case PUNCTUATOR_SQUARE_OPEN -> {
+                var level = this.depth;
+                pushContainer(CONTAINER_ARRAY);
+                yield setCurrentToken(Token.START_ARRAY, level);
+            }
+
+            case STRING -> setCurrentToken(Token.STRING, this.depth);
+
+            case KEYWORD_INFINITY, KEYWORD_NAN, NUMBER_DECIMAL, NUMBER_HEX,
+                NUMBER_POSITIVE_INFINITY, NUMBER_NEGATIVE_INFINITY, NUMBER_NAN ->
+                setCurrentToken(Token.NUMBER, this.depth);
+
+            case KEYWORD_TRUE, KEYWORD_FALSE ->
+                setCurrentToken(Token.BOOLEAN, this.depth);
+
+            case KEYWORD_NULL -> setCurrentToken(Token.NULL, this.depth);
+
+            default -> throw unexpectedTokenError(expected, this.tokens);
+        };
+    }
+
+    private Token setCurrentToken(Token token, int level) {
+        this.currentToken = token;
+        this.currentLevel = level;
+        return token;
+    }
+
+    private void pushContainer(byte container) {
+        this.depth += 1;
+        if (this.depth == this.containers.length) {
+            this.containers = Arrays.copyOf(this.containers, this.depth * 2);
+            this.memberNames = Arrays.copyOf(this.memberNames, this.depth * 2);
+        }
+        this.containers[this.depth] = container;
+        this.memberNames[this.depth] = null;
+    }
+
+    /**
+     * Skip the current value.
+     * <p>
+     * If the current token is {@link Token#START_OBJECT} or
+     * {@link Token#START_ARRAY}, the reader moves to the matching
+     * {@link Token#END_OBJECT} or {@link Token#END_ARRAY}. If the current
+     * token is {@link Token#MEMBER_NAME}, the reader moves to the last token
+     * of the value of the member. Otherwise, the reader doesn't move.
+     * <p>
+     * The tokens of skipped objects and arrays are only checked for matching
+     * brackets: strings and numbers aren't decoded, and the full syntax of
+     * the skipped values isn't checked.
+     */
+    public void skipValue() {
+        if (this.currentToken == Token.MEMBER_NAME) {
+            nextToken();
+        }
+
+        if (
+            this.currentToken != Token.START_OBJECT &&
+                this.currentToken != Token.START_ARRAY
+        ) {
+            return;
+        }
+
+        var isObject = this.currentToken == Token.START_OBJECT;
+        Json5Parser.skipToMatchingBracket(this.tokens);
+        this.depth -= 1;
+        setCurrentToken(isObject ? Token.END_OBJECT : Token.END_ARRAY, this.depth);
+    }
+
+    /**
+     * The type of the current token, or {@code null} if {@link #nextToken()}
+     * hasn't been called yet.
+     *
+     * @return The type of the current token.
+     */
+    public Token currentToken() {
+        return this.currentToken;
+    }
+
+    /**
+     * The name of the member that the current token belongs to. When the
+     * current token is {@link Token#MEMBER_NAME}, this is the name itself.
+     * When the current token is a member value, including the start and end of
+     * object and array values, this is the name of that member.
+     *
+     * @return The name of the current member, or {@code null} if the current
+     * token isn't part of a member.
+     */
+    public String currentName() {
+        if (
+            this.currentLevel > 0 &&
+                this.containers[this.currentLevel] == CONTAINER_OBJECT
+        ) {
+            return this.memberNames[this.currentLevel];
+        } else {
+            return null;
+        }
+    }
+
+    /**
+     * The value of the current string token.
+     *
+     * @return The value of the string.
+     * @throws IllegalStateException If the current token isn't
+     * {@link Token#STRING}.
+     */
+    public String stringValue() {
+        checkCurrentToken(Token.STRING);
+        return Json5Parser.parseStringToken(this.tokens);
+    }
+
+    /**
+     * The value of the current number token. The number has no path or source
+     * range.
+     *
+     * @return The value of the number.
+     * @throws IllegalStateException If the current token isn't
+     * {@link Token#NUMBER}.
+     */
+    public Json5Number numberValue() {
+        checkCurrentToken(Token.NUMBER);
+        return Json5Parser.parseNumberToken(this.tokens, null);
+    }
+
+    /**
+     * The value of the current number token as a {@code long}, as
+     * {@link Json5NumberFinite#longValueExact()}.
+     *
+     * @return The value of the number.
+     * @throws IllegalStateException If the current token isn't
+     * {@link Token#NUMBER}.
+     * @throws ArithmeticException If the number is not an integer in the range
+     * of a {@code long}.
+     */
+    public long longValue() {
+        if (numberValue() instanceof Json5NumberFinite number) {
+            return number.longValueExact();
+        } else {
+            throw new ArithmeticException("Non-finite number");
+        }
+    }
+
+    /**
+     * The value of the current number token as a {@code double}, as
+     * {@link Json5NumberFinite#doubleValue()}.
+     *
+     * @return The value of the number.
+     * @throws IllegalStateException If the current token isn't
+     * {@link Token#NUMBER}.
+     */
+    public double doubleValue() {
+        return switch (numberValue()) {
+            case Json5NumberFinite number -> number.doubleValue();
+            case Json5NumberNan number -> Double.NaN;
+            case Json5NumberPositiveInfinity number -> Double.POSITIVE_INFINITY;
+            case Json5NumberNegativeInfinity number -> Double.NEGATIVE_INFINITY;
+        };
+    }
+
+    /**
+     * The value of the current boolean token.
+     *
+     * @return The value of the boolean.
+     * @throws IllegalStateException If the current token isn't
+     * {@link Token#BOOLEAN}.
+     */
+    public boolean booleanValue() {
+        checkCurrentToken(Token.BOOLEAN);
+        return this.tokens.isNext(Json5TokenType.KEYWORD_TRUE);
+    }
+
+    /**
+     * The source range of the current token. For the start and end of objects
+     * and arrays, this is the source range of the opening or closing bracket.
+     *
+     * @return The source range of the current token.
+     * @throws IllegalStateException If {@link #nextToken()} hasn't been called
+     * yet.
+     */
+    public SourceRange sourceRange() {
+        if (this.currentToken == null) {
+            throw new IllegalStateException("nextToken() has not been called");
+        }
+        return this.tokens.locate(this.tokens.peekStart(), this.tokens.peekEnd())
+            .toSourceRange();
+    }
+
+    private void checkCurrentToken(Token expected) {
+        if (this.currentToken != expected) {
+            throw new IllegalStateException(String.format(
+                "Current token is %s, not %s",
+                this.currentToken,
+                expected
+            ));
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package org.zwobble.json5.parser;
+
+import org.zwobble.json5.values.Json5Value;
+
+import java.math.BigDecimal;
+
+/**
+ * A parsed JSON5 document stored as a flat tape of entries, rather than as
+ * a tree of {@link Json5Value} objects.
+ * <p>
+ * The whole document is held in three arrays, regardless of the number of
+ * values in the document, so a tape uses far less memory than the equivalent
+ * tree of values. Values are read using a {@link Json5TapeCursor}, and can be
+ * converted to {@link Json5Value}s when required.
+ * <p>
+ * Tapes don't record the paths or source ranges of values.
+ */
+public final class Json5Tape {
+    // Each entry is a long, with the tag of the entry in the top byte and
+    // the payload in the remaining bytes. Some entries use a second long:
+    //
+    // * OBJECT_START and ARRAY_START: the payload is the index of the
+    //   matching end entry.
+    // * OBJECT_END and ARRAY_END: the payload is the number of members or
+    //   elements.
+    // * MEMBER_NAME and STRING: the payload is the offset of the characters
+    //   in the string buffer, and the second long is the number of
+    //   characters.
+    // * NUMBER: for finite numbers whose unscaled value fits in a long, the
+    //   payload is the scale, and the second long is the unscaled value.
+    // * BIG_NUMBER: for other finite numbers, the payload is the index of the
+    //   number in the array of big numbers.
+    // * All other entries have no payload.
+    //
+    // Each member of an object is a MEMBER_NAME entry followed by the entries
+    // of its value.
+    static final int OBJECT_START = 1;
+    static final int OBJECT_END = 2;
+    static final int ARRAY_START = 3;
+    static final int ARRAY_END = 4;
+    static final int MEMBER_NAME = 5;
+    static final int STRING = 6;
+    static final int NUMBER = 7;
+    static final int BIG_NUMBER = 8;
+    static final int NAN = 9;
+    static final int POSITIVE_INFINITY = 10;
+    static final int NEGATIVE_INFINITY = 11;
+    static final int TRUE = 12;
+    static final int FALSE = 13;
+    static final int NULL = 14;
+
+    private static final int TAG_SHIFT = 56;
+    private static final long PAYLOAD_MASK = (1L << TAG_SHIFT) - 1;
+
+    static long entry(int tag, long payload) {
+        return ((long) tag << TAG_SHIFT) | (payload & PAYLOAD_MASK);
+    }
+
+    final long[] entries;
+    final char[] strings;
+    final BigDecimal[] bigNumbers;
+
+    Json5Tape(long[] entries, char[] strings, BigDecimal[] bigNumbers) {
+        this.entries = entries;
+        this.strings = strings;
+        this.bigNumbers = bigNumbers;
+    }
+
+    int tag(int index) {
+        return (int) (this.entries[index] >>> TAG_SHIFT);
+    }
+
+    long payload(int index) {
+        return this.entries[index] & PAYLOAD_MASK;
+    }
+
+    /**
+     * The index of the entry after the value starting at the given index.
+     */
+    int next(int index) {
+        return switch (tag(index)) {
+            case OBJECT_START, ARRAY_START -> (int) payload(index) + 1;
+            case MEMBER_NAME, STRING, NUMBER -> index + 2;
+            default -> index + 1;
+        };
+    }
+
+    /**
+     * The number of entries in the tape. Member names, strings and numbers use
+     * two entries, objects and arrays use one entry for their start and one
+     * for their end, and all other values use one entry.
+     *
+     * @return The number of entries in the tape.
+     */
+    public int entryCount() {
+        return this.entries.length;
+    }
+
+    /**
+     * Create a cursor positioned at the root value of the document.
+     *
+     * @return A new {@code Json5TapeCursor}.
+     */
+    public Json5TapeCursor cursor() {
+        return new Json5TapeCursor(this);
+    }
+
+    /**
+     * Convert the whole document to a {@link Json5Value}. The values have no
+     * paths or source ranges.
+     *
+     * @return The root value of the document.
+     */
+    public Json5Value toJson5Value() {
+        return cursor().toJson5Value();
+    }
+}
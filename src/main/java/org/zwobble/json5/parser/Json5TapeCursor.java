@@ -0,0 +1,534 @@
+package org.zwobble.json5.parser;
+
+import org.zwobble.json5.sources.Json5SourceRange;
+import org.zwobble.json5.values.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import static org.zwobble.json5.parser.Json5Tape.*;
+
+/**
+ * A cursor over the values in a {@link Json5Tape}.
+ * <p>
+ * A cursor is positioned at a single value in the document, and can be moved
+ * to the children, siblings and parent of that value. Reading values from a
+ * cursor doesn't create any objects other than the values themselves, such as
+ * strings.
+ * <p>
+ * A cursor is mutable, and must not be shared between threads. Use
+ * {@link #copy()} to remember a position while moving a cursor elsewhere.
+ */
+public final class Json5TapeCursor {
+    /**
+     * The kind of a value in a {@link Json5Tape}.
+     */
+    public enum Kind {
+        OBJECT,
+        ARRAY,
+        STRING,
+        NUMBER,
+        BOOLEAN,
+        NULL,
+    }
+
+    private static final Json5SourceRange NO_SOURCE_RANGE = null;
+
+    private final Json5Tape tape;
+    // The index of the entry of the current value, and the index of the
+    // entry of its member name, or -1 if the value isn't an object member.
+    private int index;
+    private int nameIndex;
+    // The index and name index of each ancestor of the current value, from
+    // the root.
+    private int[] parents;
+    private int depth;
+
+    Json5TapeCursor(Json5Tape tape) {
+        this(tape, 0, -1, new int[16], 0);
+    }
+
+    private Json5TapeCursor(
+        Json5Tape tape,
+        int index,
+        int nameIndex,
+        int[] parents,
+        int depth
+    ) {
+        this.tape = tape;
+        this.index = index;
+        this.nameIndex = nameIndex;
+        this.parents = parents;
+        this.depth = depth;
+    }
+
+    /**
+     * Create a new cursor at the same position as this cursor. Moving either
+     * cursor doesn't affect the other.
+     *
+     * @return A new {@code Json5TapeCursor}.
+     */
+    public Json5TapeCursor copy() {
+        return new Json5TapeCursor(
+            this.tape,
+            this.index,
+            this.nameIndex,
+            this.parents.clone(),
+            this.depth
+        );
+    }
+
+    /**
+     * The kind of the current value.
+     *
+     * @return The kind of the current value.
+     */
+    public Kind kind() {
+        return switch (this.tape.tag(this.index)) {
+            case OBJECT_START -> Kind.OBJECT;
+            case ARRAY_START -> Kind.ARRAY;
+            case STRING -> Kind.STRING;
+            case NUMBER, BIG_NUMBER, NAN, POSITIVE_INFINITY, NEGATIVE_INFINITY ->
+                Kind.NUMBER;
+            case TRUE, FALSE -> Kind.BOOLEAN;
+            default -> Kind.NULL;
+        };
+    }
+
+    /**
+     * The name of the member whose value is the current value.
+     *
+     * @return The name of the member, or {@code null} if the current value
+     * isn't the value of an object member.
+     */
+    public String memberName() {
+        return this.nameIndex < 0 ? null : string(this.nameIndex);
+    }
+
+    /**
+     * The value of the current string.
+     *
+     * @return The value of the string.
+     * @throws IllegalStateException If the current value isn't a string.
+     */
+    public String stringValue() {
+        checkKind(Kind.STRING);
+        return string(this.index);
+    }
+
+    /**
+     * The value of the current number. The number has no path or source
+     * range.
+     *
+     * @return The value of the number.
+     * @throws IllegalStateException If the current value isn't a number.
+     */
+    public Json5Number numberValue() {
+        checkKind(Kind.NUMBER);
+        return number(this.index);
+    }
+
+    /**
+     * The value of the current number as a {@code long}, as
+     * {@link Json5NumberFinite#longValueExact()}.
+     *
+     * @return The value of the number.
+     * @throws IllegalStateException If the current value isn't a number.
+     * @throws ArithmeticException If the number is not an integer in the range
+     * of a {@code long}.
+     */
+    public long longValue() {
+        if (numberValue() instanceof Json5NumberFinite number) {
+            return number.longValueExact();
+        } else {
+            throw new ArithmeticException("Non-finite number");
+        }
+    }
+
+    /**
+     * The value of the current number as a {@code double}, as
+     * {@link Json5NumberFinite#doubleValue()}.
+     *
+     * @return The value of the number.
+     * @throws IllegalStateException If the current value isn't a number.
+     */
+    public double doubleValue() {
+        return switch (numberValue()) {
+            case Json5NumberFinite number -> number.doubleValue();
+            case Json5NumberNan number -> Double.NaN;
+            case Json5NumberPositiveInfinity number -> Double.POSITIVE_INFINITY;
+            case Json5NumberNegativeInfinity number -> Double.NEGATIVE_INFINITY;
+        };
+    }
+
+    /**
+     * The value of the current boolean.
+     *
+     * @return The value of the boolean.
+     * @throws IllegalStateException If the current value isn't a boolean.
+     */
+    public boolean booleanValue() {
+        checkKind(Kind.BOOLEAN);
+        return this.tape.tag(this.index) == TRUE;
+    }
+
+    /**
+     * The number of members of the current object, or the number of elements
+     * of the current array.
+     *
+     * @return The number of members or elements.
+     * @throws IllegalStateException If the current value isn't an object or
+     * an array.
+     */
+    public int size() {
+        var tag = this.tape.tag(this.index);
+        if (tag != OBJECT_START && tag != ARRAY_START) {
+            throw new IllegalStateException(String.format(
+                "Current value is %s, not OBJECT or ARRAY",
+                kind()
+            ));
+        }
+        return (int) this.tape.payload((int) this.tape.payload(this.index));
+    }
+
+    /**
+     * Move to the first member value of the current object, or the first
+     * element of the current array.
+     *
+     * @return {@code true} if the cursor moved, or {@code false} if the
+     * current value isn't an object or array, or is empty.
+     */
+    public boolean moveToFirstChild() {
+        var tag = this.tape.tag(this.index);
+        if (tag != OBJECT_START && tag != ARRAY_START) {
+            return false;
+        }
+
+        var childIndex = this.index + 1;
+        var childTag = this.tape.tag(childIndex);
+        if (childTag == OBJECT_END || childTag == ARRAY_END) {
+            return false;
+        }
+
+        pushParent();
+        moveToSiblingAt(childIndex);
+        return true;
+    }
+
+    /**
+     * Move to the next member value or element in the parent of the current
+     * value.
+     *
+     * @return {@code true} if the cursor moved, or {@code false} if the
+     * current value is the last value in its parent, or has no parent.
+     */
+    public boolean moveToNextSibling() {
+        if (this.depth == 0) {
+            return false;
+        }
+
+        var siblingIndex = this.tape.next(this.index);
+        var siblingTag = this.tape.tag(siblingIndex);
+        if (siblingTag == OBJECT_END || siblingTag == ARRAY_END) {
+            return false;
+        }
+
+        moveToSiblingAt(siblingIndex);
+        return true;
+    }
+
+    /**
+     * Move to the parent of the current value.
+     *
+     * @return {@code true} if the cursor moved, or {@code false} if the
+     * current value is the root value.
+     */
+    public boolean moveToParent() {
+        if (this.depth == 0) {
+            return false;
+        }
+
+        this.depth -= 1;
+        this.index = this.parents[this.depth * 2];
+        this.nameIndex = this.parents[this.depth * 2 + 1];
+        return true;
+    }
+
+    /**
+     * Move to the value of the member of the current object with the given
+     * name. As with {@link Json5Object}, if the object has several members
+     * with the same name, the last member is used.
+     *
+     * @param memberName The name of the member.
+     * @return {@code true} if the cursor moved, or {@code false} if the
+     * current value isn't an object or has no member with the given name.
+     */
+    public boolean moveToMember(String memberName) {
+        if (this.tape.tag(this.index) != OBJECT_START) {
+            return false;
+        }
+
+        var memberNameIndex = -1;
+        var childIndex = this.index + 1;
+        while (this.tape.tag(childIndex) == MEMBER_NAME) {
+            if (stringEquals(childIndex, memberName)) {
+                memberNameIndex = childIndex;
+            }
+            childIndex = this.tape.next(childIndex + 2);
+        }
+
+        if (memberNameIndex < 0) {
+            return false;
+        }
+
+        pushParent();
+        moveToSiblingAt(memberNameIndex);
+        return true;
+    }
+
+    /**
+     * Move to the element of the current array with the given index. Finding
+     * an element requires skipping over each preceding element, so iterating
+     * using {@link #moveToNextSibling()} is faster than moving to each index
+     * in turn.
+     *
+     * @param elementIndex The index of the element.
+     * @return {@code true} if the cursor moved, or {@code false} if the
+     * current value isn't an array or has no element with the given index.
+     */
+    public boolean moveToElement(int elementIndex) {
+        if (this.tape.tag(this.index) != ARRAY_START || elementIndex < 0) {
+            return false;
+        }
+
+        var childIndex = this.index + 1;
+        for (var skipped = 0; skipped < elementIndex; skipped++) {
+            if (this.tape.tag(childIndex) == ARRAY_END) {
+                return false;
+            }
+            childIndex = this.tape.next(childIndex);
+        }
+
+        if (this.tape.tag(childIndex) == ARRAY_END) {
+            return false;
+        }
+
+        pushParent();
+        moveToSiblingAt(childIndex);
+        return true;
+    }
+
+    /**
+     * Convert the current value to a {@link Json5Value}. The values have no
+     * paths or source ranges.
+     *
+     * @return The current value as a {@code Json5Value}.
+     */
+    public Json5Value toJson5Value() {
+        // Rather than recursing for each nested object or array, the objects
+        // and arrays that are being converted are kept on an explicit stack,
+        // so the depth of nesting is limited by the heap rather than by the
+        // size of the thread's stack.
+        var stack = new ContainerState[16];
+        var stackSize = 0;
+        ContainerState container = null;
+        var index = this.index;
+
+        while (true) {
+            var tag = this.tape.tag(index);
+            if (tag == MEMBER_NAME) {
+                container.memberName = Json5MemberName.of(string(index), NO_SOURCE_RANGE);
+                index += 2;
+                continue;
+            }
+
+            var isContainerStart = tag == OBJECT_START ||
+                (tag == ARRAY_START && !isNumberArray(index));
+            if (isContainerStart) {
+                if (container != null) {
+                    if (stackSize == stack.length) {
+                        stack = Arrays.copyOf(stack, stackSize * 2);
+                    }
+                    stack[stackSize] = container;
+                    stackSize += 1;
+                }
+                container = new ContainerState(tag == OBJECT_START);
+                index += 1;
+                continue;
+            }
+
+            Json5Value value;
+            if (tag == OBJECT_END || tag == ARRAY_END) {
+                value = container.build();
+                index += 1;
+                if (stackSize == 0) {
+                    return value;
+                }
+                stackSize -= 1;
+                container = stack[stackSize];
+                stack[stackSize] = null;
+            } else {
+                value = tag == ARRAY_START
+                    ? numberArrayToJson5Value(index)
+                    : scalarToJson5Value(index);
+                if (container == null) {
+                    return value;
+                }
+                index = this.tape.next(index);
+            }
+
+            container.add(value);
+        }
+    }
+
+    private Json5Value scalarToJson5Value(int index) {
+        return switch (this.tape.tag(index)) {
+            case STRING -> Json5String.of(string(index), null, NO_SOURCE_RANGE);
+
+            case TRUE -> Json5Boolean.UNTRACKED_TRUE;
+
+            case FALSE -> Json5Boolean.UNTRACKED_FALSE;
+
+            case NULL -> Json5Null.UNTRACKED;
+
+            default -> number(index);
+        };
+    }
+
+    /**
+     * Whether the array starting at the given index is a non-empty array of
+     * numbers that fit in a long. As when parsing, such arrays are stored as
+     * primitive arrays.
+     */
+    private boolean isNumberArray(int index) {
+        var endIndex = (int) this.tape.payload(index);
+        if (endIndex == index + 1) {
+            return false;
+        }
+        for (var childIndex = index + 1; childIndex < endIndex; childIndex += 2) {
+            if (this.tape.tag(childIndex) != NUMBER) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Json5Array numberArrayToJson5Value(int index) {
+        var endIndex = (int) this.tape.payload(index);
+        var size = (int) this.tape.payload(endIndex);
+        var unscaledValues = new long[size];
+        int[] scales = null;
+        for (var elementIndex = 0; elementIndex < size; elementIndex++) {
+            var childIndex = index + 1 + elementIndex * 2;
+            unscaledValues[elementIndex] = this.tape.entries[childIndex + 1];
+            var scale = (int) this.tape.payload(childIndex);
+            if (scale != 0) {
+                if (scales == null) {
+                    scales = new int[size];
+                }
+                scales[elementIndex] = scale;
+            }
+        }
+        return Json5Array.ofNumbers(unscaledValues, scales, null, null, NO_SOURCE_RANGE);
+    }
+
+    /**
+     * The state of an object or array that is being converted.
+     */
+    private static final class ContainerState {
+        private final Json5Object.Builder members;
+        private Json5MemberName memberName;
+        private final ArrayList<Json5Value> elements;
+
+        private ContainerState(boolean isObject) {
+            this.members = isObject ? Json5Object.builder() : null;
+            this.elements = isObject ? null : new ArrayList<>();
+        }
+
+        void add(Json5Value value) {
+            if (this.members != null) {
+                this.members.addMember(Json5Member.of(this.memberName, value, NO_SOURCE_RANGE));
+            } else {
+                this.elements.add(value);
+            }
+        }
+
+        Json5Value build() {
+            return this.members != null
+                ? this.members.buildAt(null, NO_SOURCE_RANGE)
+                : Json5Array.of(this.elements, null, NO_SOURCE_RANGE);
+        }
+    }
+
+    private void pushParent() {
+        if (this.depth * 2 + 2 > this.parents.length) {
+            this.parents = Arrays.copyOf(this.parents, this.parents.length * 2);
+        }
+        this.parents[this.depth * 2] = this.index;
+        this.parents[this.depth * 2 + 1] = this.nameIndex;
+        this.depth += 1;
+    }
+
+    private void moveToSiblingAt(int siblingIndex) {
+        if (this.tape.tag(siblingIndex) == MEMBER_NAME) {
+            this.nameIndex = siblingIndex;
+            this.index = siblingIndex + 2;
+        } else {
+            this.nameIndex = -1;
+            this.index = siblingIndex;
+        }
+    }
+
+    private Json5Number number(int index) {
+        return switch (this.tape.tag(index)) {
+            case NUMBER -> new Json5NumberFinite(
+                this.tape.entries[index + 1],
+                (int) this.tape.payload(index),
+                null,
+                NO_SOURCE_RANGE
+            );
+            case BIG_NUMBER -> Json5NumberFinite.of(
+                this.tape.bigNumbers[(int) this.tape.payload(index)],
+                null,
+                NO_SOURCE_RANGE
+            );
+            case NAN -> Json5NumberNan.of(null, NO_SOURCE_RANGE);
+            case POSITIVE_INFINITY ->
+                Json5NumberPositiveInfinity.of(null, NO_SOURCE_RANGE);
+            default -> Json5NumberNegativeInfinity.of(null, NO_SOURCE_RANGE);
+        };
+    }
+
+    private String string(int index) {
+        return new String(
+            this.tape.strings,
+            (int) this.tape.payload(index),
+            (int) this.tape.entries[index + 1]
+        );
+    }
+
+    private boolean stringEquals(int index, String value) {
+        var offset = (int) this.tape.payload(index);
+        var length = (int) this.tape.entries[index + 1];
+        if (length != value.length()) {
+            return false;
+        }
+
+        for (var charIndex = 0; charIndex < length; charIndex++) {
+            if (this.tape.strings[offset + charIndex] != value.charAt(charIndex)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void checkKind(Kind expected) {
+        if (kind() != expected) {
+            throw new IllegalStateException(String.format(
+                "Current value is %s, not %s",
+                kind(),
+                expected
+            ));
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package org.zwobble.json5.parser;
+
+import org.zwobble.json5.values.Json5NumberFinite;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import static org.zwobble.json5.parser.Json5Parser.unexpectedTokenError;
+import static org.zwobble.json5.parser.Json5Tape.entry;
+
+/**
+ * Parses a JSON5 document into a {@link Json5Tape}.
+ */
+class Json5TapeParser {
+    private static final BigDecimal[] EMPTY_BIG_NUMBERS = new BigDecimal[0];
+
+    private final TokenIterator tokens;
+    private final Json5Parser.CompactNumber number;
+    private long[] entries;
+    private int entryCount;
+    private char[] strings;
+    private int stringsLength;
+    private final ArrayList<BigDecimal> bigNumbers;
+
+    private Json5TapeParser(TokenIterator tokens) {
+        this.tokens = tokens;
+        this.number = new Json5Parser.CompactNumber();
+        this.entries = new long[64];
+        this.entryCount = 0;
+        this.strings = new char[256];
+        this.stringsLength = 0;
+        this.bigNumbers = new ArrayList<>();
+    }
+
+    static Json5Tape parse(SourceInput input) {
+        var tokens = Json5Tokenizer.tokenize(input, new Json5MemberNameTable(), false);
+        var parser = new Json5TapeParser(tokens);
+
+        parser.parseValue();
+
+        if (!tokens.isNext(Json5TokenType.END)) {
+            throw unexpectedTokenError("end of document", tokens);
+        }
+
+        return new Json5Tape(
+            Arrays.copyOf(parser.entries, parser.entryCount),
+            Arrays.copyOf(parser.strings, parser.stringsLength),
+            parser.bigNumbers.toArray(EMPTY_BIG_NUMBERS)
+        );
+    }
+
+    /**
+     * Parse the value that starts at the next token.
+     * <p>
+     * Rather than recursing into each object and array, we keep an explicit
+     * stack of the objects and arrays being parsed, so that the depth of
+     * nesting is limited by the heap rather than the call stack.
+     */
+    private void parseValue() {
+        // For each open object or array, whether it's an object, the index
+        // of its start entry, and its number of members or elements so far.
+        // The values at index zero are unused.
+        var isObject = new boolean[16];
+        var startIndices = new int[16];
+        var sizes = new int[16];
+        var depth = 0;
+        var expected = "JSON value";
+
+        while (true) {
+            var isContainerStart = false;
+            if (
+                this.tokens.isNext(Json5TokenType.PUNCTUATOR_BRACE_OPEN) ||
+                    this.tokens.isNext(Json5TokenType.PUNCTUATOR_SQUARE_OPEN)
+            ) {
+                depth += 1;
+                Json5Parser.checkDepth(this.tokens, depth);
+                if (depth == isObject.length) {
+                    isObject = Arrays.copyOf(isObject, depth * 2);
+                    startIndices = Arrays.copyOf(startIndices, depth * 2);
+                    sizes = Arrays.copyOf(sizes, depth * 2);
+                }
+                isObject[depth] = this.tokens.isNext(Json5TokenType.PUNCTUATOR_BRACE_OPEN);
+                startIndices[depth] = this.entryCount;
+                sizes[depth] = 0;
+                // The start entry is filled in when the end is known.
+                add(0);
+                this.tokens.skip();
+                isContainerStart = true;
+            } else {
+                parsePrimitive(expected);
+            }
+
+            // Close each object or array that has no more members or
+            // elements, until we reach the next member or element.
+            while (true) {
+                if (depth == 0) {
+                    return;
+                }
+
+                var closingTokenType = isObject[depth]
+                    ? Json5TokenType.PUNCTUATOR_BRACE_CLOSE
+                    : Json5TokenType.PUNCTUATOR_SQUARE_CLOSE;
+                if (isContainerStart) {
+                    isContainerStart = false;
+                } else {
+                    sizes[depth] += 1;
+                    if (this.tokens.trySkip(Json5TokenType.PUNCTUATOR_COMMA)) {
+                        // Next member or element
+                    } else if (!this.tokens.isNext(closingTokenType)) {
+                        throw unexpectedTokenError(
+                            isObject[depth] ? "',' or '}'" : "',' or ']'",
+                            this.tokens
+                        );
+                    }
+                }
+
+                if (!this.tokens.isNext(closingTokenType)) {
+                    break;
+                }
+                if (isObject[depth]) {
+                    this.entries[startIndices[depth]] = entry(Json5Tape.OBJECT_START, this.entryCount);
+                    add(entry(Json5Tape.OBJECT_END, sizes[depth]));
+                } else {
+                    this.entries[startIndices[depth]] = entry(Json5Tape.ARRAY_START, this.entryCount);
+                    add(entry(Json5Tape.ARRAY_END, sizes[depth]));
+                }
+                this.tokens.skip();
+                depth -= 1;
+            }
+
+            if (isObject[depth]) {
+                addMemberName();
+                this.tokens.skip();
+
+                if (!this.tokens.trySkip(Json5TokenType.PUNCTUATOR_COLON)) {
+                    throw unexpectedTokenError("':'", this.tokens);
+                }
+                expected = "JSON value";
+            } else {
+                expected = "JSON value or ']'";
+            }
+        }
+    }
+
+    private void parsePrimitive(String expected) {
+        switch (this.tokens.peekTokenType()) {
+            case KEYWORD_NULL -> add(entry(Json5Tape.NULL, 0));
+
+            case KEYWORD_TRUE -> add(entry(Json5Tape.TRUE, 0));
+
+            case KEYWORD_FALSE -> add(entry(Json5Tape.FALSE, 0));
+
+            case STRING -> addString(Json5Tape.STRING);
+
+            case KEYWORD_INFINITY, NUMBER_POSITIVE_INFINITY ->
+                add(entry(Json5Tape.POSITIVE_INFINITY, 0));
+
+            case NUMBER_NEGATIVE_INFINITY ->
+                add(entry(Json5Tape.NEGATIVE_INFINITY, 0));
+
+            case KEYWORD_NAN, NUMBER_NAN -> add(entry(Json5Tape.NAN, 0));
+
+            case NUMBER_DECIMAL, NUMBER_HEX -> addNumber();
+
+            default -> throw unexpectedTokenError(expected, this.tokens);
+        }
+
+        this.tokens.skip();
+    }
+
+    private void addMemberName() {
+        switch (this.tokens.peekTokenType()) {
+            case STRING -> addString(Json5Tape.MEMBER_NAME);
+
+            case IDENTIFIER, KEYWORD_NULL, KEYWORD_TRUE, KEYWORD_FALSE,
+                KEYWORD_INFINITY, KEYWORD_NAN -> addChars(
+                Json5Tape.MEMBER_NAME,
+                this.tokens.peekHasEscapes()
+                    ? Json5Parser.parseMemberNameValue(this.tokens)
+                    : this.tokens.peekCharSequence()
+            );
+
+            default -> throw unexpectedTokenError("JSON member or '}'", this.tokens);
+        }
+    }
+
+    private void addString(int tag) {
+        // Strings without escapes are copied straight from the source into
+        // the string buffer.
+        if (this.tokens.peekHasEscapes()) {
+            addChars(tag, Json5Parser.parseStringValue(this.tokens.peekCharSequence()));
+        } else {
+            addChars(
+                tag,
+                this.tokens.charSequence(this.tokens.peekStart() + 1, this.tokens.peekEnd() - 1)
+            );
+        }
+    }
+
+    private void addChars(int tag, CharSequence chars) {
+        var length = chars.length();
+        if (this.stringsLength + length > this.strings.length) {
+            this.strings = Arrays.copyOf(
+                this.strings,
+                Math.max(this.strings.length * 2, this.stringsLength + length)
+            );
+        }
+
+        var offset = this.stringsLength;
+        if (chars instanceof String string) {
+            string.getChars(0, length, this.strings, offset);
+        } else {
+            for (var charIndex = 0; charIndex < length; charIndex++) {
+                this.strings[offset + charIndex] = chars.charAt(charIndex);
+            }
+        }
+        this.stringsLength += length;
+
+        add(entry(tag, offset));
+        add(length);
+    }
+
+    private void addNumber() {
+        if (Json5Parser.tryParseCompactNumber(this.tokens, this.number)) {
+            add(entry(Json5Tape.NUMBER, this.number.scale));
+            add(this.number.unscaledValue);
+        } else {
+            var value = (Json5NumberFinite) Json5Parser.parseNumberToken(this.tokens, null);
+            add(entry(Json5Tape.BIG_NUMBER, this.bigNumbers.size()));
+            this.bigNumbers.add(value.value());
+        }
+    }
+
+    private void add(long entry) {
+        if (this.entryCount == this.entries.length) {
+            this.entries = Arrays.copyOf(this.entries, this.entryCount * 2);
+        }
+        this.entries[this.entryCount] = entry;
+        this.entryCount += 1;
+    }
+}
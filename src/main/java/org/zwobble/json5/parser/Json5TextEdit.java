@@ -0,0 +1,65 @@
+package org.zwobble.json5.parser;
+
+import java.util.Objects;
+
+/**
+ * An edit to JSON5 text that replaces a range of characters.
+ *
+ * @see Json5Parser#reparse
+ */
+public final class Json5TextEdit {
+    private final int startIndex;
+    private final int endIndex;
+    private final String replacement;
+
+    /**
+     * Create an edit that replaces the characters between the given
+     * character indices.
+     *
+     * @param startIndex The character index of the start of the replaced
+     * range, inclusive.
+     * @param endIndex The character index of the end of the replaced range,
+     * exclusive.
+     * @param replacement The text to insert in place of the replaced range.
+     * @throws IllegalArgumentException If the range is invalid.
+     */
+    public Json5TextEdit(int startIndex, int endIndex, String replacement) {
+        if (startIndex < 0 || endIndex < startIndex) {
+            throw new IllegalArgumentException(String.format(
+                "Invalid range: %s to %s",
+                startIndex,
+                endIndex
+            ));
+        }
+        this.startIndex = startIndex;
+        this.endIndex = endIndex;
+        this.replacement = Objects.requireNonNull(replacement);
+    }
+
+    /**
+     * The character index of the start of the replaced range, inclusive.
+     *
+     * @return The character index of the start of the replaced range.
+     */
+    public int startIndex() {
+        return this.startIndex;
+    }
+
+    /**
+     * The character index of the end of the replaced range, exclusive.
+     *
+     * @return The character index of the end of the replaced range.
+     */
+    public int endIndex() {
+        return this.endIndex;
+    }
+
+    /**
+     * The text inserted in place of the replaced range.
+     *
+     * @return The replacement text.
+     */
+    public String replacement() {
+        return this.replacement;
+    }
+}
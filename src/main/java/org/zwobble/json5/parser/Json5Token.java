@@ -6,21 +6,9 @@ record Json5Token(
     Json5TokenType tokenType,
     SourceRange sourceRange
 ) {
-    public boolean is(Json5TokenType tokenType) {
-        return this.tokenType == tokenType;
-    }
-
-    boolean is(Json5TokenType tokenToken, String contents) {
-        return is(tokenToken) && is(contents);
-    }
-
-    boolean is(String contents) {
-        return CharSequence.compare(charSequence(), contents) == 0;
-    }
-
     String describe() {
         return switch (this.tokenType()) {
-            case IDENTIFIER ->
+            case IDENTIFIER, KEYWORD_NULL, KEYWORD_TRUE, KEYWORD_FALSE, KEYWORD_INFINITY, KEYWORD_NAN ->
                 String.format("identifier '%s'", charSequence());
 
             case PUNCTUATOR_BRACE_OPEN ->
@@ -0,0 +1,109 @@
+package org.zwobble.json5.parser;
+
+import java.util.Arrays;
+
+/**
+ * A sequence of tokens that have already been read.
+ * <p>
+ * To avoid allocating an object for each token, tokens are packed into an
+ * int array, with three ints for each token: the type of the token and
+ * whether it has escapes, the start offset, and the end offset.
+ */
+final class Json5TokenBuffer {
+    private static final Json5TokenType[] TOKEN_TYPES = Json5TokenType.values();
+    private static final int INTS_PER_TOKEN = 3;
+    private static final int HAS_ESCAPES = 1;
+
+    private int[] tokens;
+    private int tokenCount;
+
+    Json5TokenBuffer(int capacity) {
+        this.tokens = new int[Math.max(capacity, 16) * INTS_PER_TOKEN];
+        this.tokenCount = 0;
+    }
+
+    void add(Json5TokenType tokenType, int start, int end, boolean hasEscapes) {
+        ensureCapacity(this.tokenCount + 1);
+        var index = this.tokenCount * INTS_PER_TOKEN;
+        this.tokens[index] = (tokenType.ordinal() << 1) | (hasEscapes ? HAS_ESCAPES : 0);
+        this.tokens[index + 1] = start;
+        this.tokens[index + 2] = end;
+        this.tokenCount += 1;
+    }
+
+    /**
+     * Add the tokens of the other buffer, starting with the token at the
+     * given index.
+     */
+    void addAll(Json5TokenBuffer other, int fromIndex) {
+        var count = other.tokenCount - fromIndex;
+        ensureCapacity(this.tokenCount + count);
+        System.arraycopy(
+            other.tokens,
+            fromIndex * INTS_PER_TOKEN,
+            this.tokens,
+            this.tokenCount * INTS_PER_TOKEN,
+            count * INTS_PER_TOKEN
+        );
+        this.tokenCount += count;
+    }
+
+    private void ensureCapacity(int tokenCount) {
+        if (tokenCount * INTS_PER_TOKEN > this.tokens.length) {
+            this.tokens = Arrays.copyOf(
+                this.tokens,
+                Math.max(this.tokens.length * 2, tokenCount * INTS_PER_TOKEN)
+            );
+        }
+    }
+
+    int tokenCount() {
+        return this.tokenCount;
+    }
+
+    Json5TokenType tokenType(int index) {
+        return TOKEN_TYPES[this.tokens[index * INTS_PER_TOKEN] >>> 1];
+    }
+
+    int start(int index) {
+        return this.tokens[index * INTS_PER_TOKEN + 1];
+    }
+
+    int end(int index) {
+        return this.tokens[index * INTS_PER_TOKEN + 2];
+    }
+
+    boolean hasEscapes(int index) {
+        return (this.tokens[index * INTS_PER_TOKEN] & HAS_ESCAPES) != 0;
+    }
+
+    /**
+     * The offset of the end of the last token, or zero if there are no
+     * tokens.
+     */
+    int end() {
+        return this.tokenCount == 0 ? 0 : end(this.tokenCount - 1);
+    }
+
+    /**
+     * The index of the token that starts at the given offset, or -1 if no
+     * token starts at that offset.
+     */
+    int indexOfTokenStartingAt(int offset) {
+        // Tokens are in order, so we can use a binary search.
+        var low = 0;
+        var high = this.tokenCount - 1;
+        while (low <= high) {
+            var middle = (low + high) >>> 1;
+            var start = start(middle);
+            if (start < offset) {
+                low = middle + 1;
+            } else if (start > offset) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+}
@@ -8,6 +8,15 @@ enum Json5TokenType {
     //     JSON5Number
 
     IDENTIFIER,
+
+    // Identifiers that are also values are given their own token types so
+    // that the parser doesn't need to compare the text of identifiers.
+    KEYWORD_NULL,
+    KEYWORD_TRUE,
+    KEYWORD_FALSE,
+    KEYWORD_INFINITY,
+    KEYWORD_NAN,
+
     PUNCTUATOR_BRACE_OPEN,
     PUNCTUATOR_BRACE_CLOSE,
     PUNCTUATOR_SQUARE_OPEN,
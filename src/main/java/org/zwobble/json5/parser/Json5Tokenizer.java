@@ -1,22 +1,84 @@
 package org.zwobble.json5.parser;
 
-import org.zwobble.sourcetext.SourceCharacterIterator;
-import org.zwobble.sourcetext.SourcePosition;
+import org.zwobble.json5.sources.Json5SourceRange;
 import org.zwobble.sourcetext.SourceRange;
 import org.zwobble.sourcetext.SourceText;
 
-import java.nio.CharBuffer;
-import java.util.ArrayList;
-import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
 
 class Json5Tokenizer {
-    private Json5Tokenizer() {
+    private final CharacterIterator iterator;
+
+    Json5Tokenizer(SourceInput input, int startOffset) {
+        this.iterator = new CharacterIterator(input, startOffset);
+    }
+
+    static TokenIterator tokenize(
+        SourceInput input,
+        Json5MemberNameTable memberNames,
+        boolean tracksLocations
+    ) {
+        return tokenize(
+            input,
+            memberNames,
+            tracksLocations,
+            false,
+            Integer.MAX_VALUE,
+            null
+        );
+    }
+
+    /**
+     * Tokenize the input, reading tokens on demand unless a pool is given.
+     * <p>
+     * When a pool is given and the input is long enough, the input is
+     * tokenized in parallel before any tokens are returned, with the tokens
+     * being stored in a {@link Json5TokenBuffer}.
+     */
+    static TokenIterator tokenize(
+        SourceInput input,
+        Json5MemberNameTable memberNames,
+        boolean tracksLocations,
+        boolean isLazy,
+        int maxDepth,
+        ForkJoinPool pool
+    ) {
+        var buffer = pool == null
+            ? null
+            : Json5ParallelTokenizer.tokenize(input, pool);
+        return new TokenIterator(
+            new Json5Tokenizer(input, buffer == null ? 0 : buffer.end()),
+            buffer,
+            0,
+            memberNames,
+            tracksLocations,
+            isLazy,
+            maxDepth
+        );
     }
 
-    static TokenIterator tokenize(SourceText sourceText) {
-        var iterator = new CharacterIterator(sourceText);
-        var tokens = new ArrayList<Json5Token>();
+    /**
+     * Create a new tokenizer for the same source that starts reading tokens
+     * at the given offset.
+     */
+    Json5Tokenizer startingAt(int offset) {
+        return new Json5Tokenizer(this.iterator.input, offset);
+    }
 
+    /**
+     * Read the next token from the source text.
+     * <p>
+     * Rather than allocating an object for each token, only the type of the
+     * token is returned. The character indices of the start and end of the
+     * token are then available from {@link #tokenStart()} and
+     * {@link #tokenEnd()} until the next call.
+     * <p>
+     * Once the end of the source text has been reached, this returns
+     * {@link Json5TokenType#END} on every subsequent call.
+     *
+     * @return The type of the next token.
+     */
+    Json5TokenType next() {
         while (!iterator.isEnd()) {
             // JSON5InputElement ::
             //     WhiteSpace
@@ -31,9 +93,8 @@ class Json5Tokenizer {
                 // Skip comment
             } else {
                 iterator.startToken();
-                var token = tokenizeJson5Token(iterator);
-                if (token.isPresent()) {
-                    tokens.add(token.get());
+                if (tryTokenizeJson5Token(iterator)) {
+                    return iterator.tokenType;
                 } else {
                     throw Json5ParseError.unexpectedTextError(
                         "JSON5 token",
@@ -44,12 +105,103 @@ class Json5Tokenizer {
             }
         }
 
-        var tokenEnd = new Json5Token(
-            Json5TokenType.END,
-            iterator.characterSourceRange()
-        );
+        iterator.startToken();
+        iterator.endToken(Json5TokenType.END);
+        return Json5TokenType.END;
+    }
+
+    int tokenStart() {
+        return this.iterator.tokenStart;
+    }
 
-        return new TokenIterator(tokens, tokenEnd);
+    int tokenEnd() {
+        return this.iterator.tokenEnd;
+    }
+
+    int codeUnitAt(int offset) {
+        return this.iterator.input.codeUnitAt(offset);
+    }
+
+    String memberName(Json5MemberNameTable memberNames, int start, int end) {
+        return memberNames.canonicalize(this.iterator.input, start, end);
+    }
+
+    /**
+     * Whether the last token read contains any escape sequences or line
+     * continuations. If not, then the value of a string or identifier token
+     * is exactly the source characters of the token (excluding quotes).
+     */
+    boolean tokenHasEscapes() {
+        return this.iterator.tokenHasEscapes;
+    }
+
+    CharSequence charSequence(int start, int end) {
+        return this.iterator.input.charSequence(start, end);
+    }
+
+    Json5SourceRange sourceRange(int start, int end) {
+        return new Json5SourceRange(this.iterator.input, start, end);
+    }
+
+    // Almost all characters in typical JSON5 documents are ASCII, so we
+    // classify ASCII characters using a lookup table, and only fall back to
+    // checking Unicode categories for other characters.
+
+    private static final int CLASS_WHITE_SPACE = 1;
+    private static final int CLASS_LINE_TERMINATOR = 1 << 1;
+    private static final int CLASS_IDENTIFIER_START = 1 << 2;
+    private static final int CLASS_IDENTIFIER_PART = 1 << 3;
+    private static final int CLASS_DECIMAL_DIGIT = 1 << 4;
+    private static final int CLASS_HEX_DIGIT = 1 << 5;
+    private static final int CLASS_PUNCTUATOR = 1 << 6;
+
+    private static final byte[] ASCII_CHARACTER_CLASSES = createAsciiCharacterClasses();
+
+    private static byte[] createAsciiCharacterClasses() {
+        var classes = new byte[128];
+
+        classes['\t'] |= CLASS_WHITE_SPACE;
+        classes[0xb] |= CLASS_WHITE_SPACE;
+        classes['\f'] |= CLASS_WHITE_SPACE;
+        classes[' '] |= CLASS_WHITE_SPACE;
+
+        classes['\n'] |= CLASS_LINE_TERMINATOR;
+        classes['\r'] |= CLASS_LINE_TERMINATOR;
+
+        for (var character = 'a'; character <= 'z'; character++) {
+            classes[character] |= CLASS_IDENTIFIER_START | CLASS_IDENTIFIER_PART;
+        }
+        for (var character = 'A'; character <= 'Z'; character++) {
+            classes[character] |= CLASS_IDENTIFIER_START | CLASS_IDENTIFIER_PART;
+        }
+        classes['$'] |= CLASS_IDENTIFIER_START | CLASS_IDENTIFIER_PART;
+        classes['_'] |= CLASS_IDENTIFIER_START | CLASS_IDENTIFIER_PART;
+
+        for (var character = '0'; character <= '9'; character++) {
+            classes[character] |= CLASS_IDENTIFIER_PART | CLASS_DECIMAL_DIGIT | CLASS_HEX_DIGIT;
+        }
+        for (var character = 'a'; character <= 'f'; character++) {
+            classes[character] |= CLASS_HEX_DIGIT;
+        }
+        for (var character = 'A'; character <= 'F'; character++) {
+            classes[character] |= CLASS_HEX_DIGIT;
+        }
+
+        for (var character : "{}[]:,".toCharArray()) {
+            classes[character] |= CLASS_PUNCTUATOR;
+        }
+
+        return classes;
+    }
+
+    private static boolean isAscii(int character) {
+        // Also false for -1, which represents the end of the document.
+        return (character & ~0x7f) == 0;
+    }
+
+    private static boolean isAsciiOfClass(int character, int characterClass) {
+        return isAscii(character) &&
+            (ASCII_CHARACTER_CLASSES[character] & characterClass) != 0;
     }
 
     private static boolean trySkipWhiteSpace(CharacterIterator characters) {
@@ -73,11 +225,11 @@ class Json5Tokenizer {
         //     <BOM>
         //     <USP>
 
-        return character == '\t' ||
-            character == 0xb ||
-            character == '\f' ||
-            character == ' ' ||
-            character == 0xa0 ||
+        if (isAscii(character)) {
+            return (ASCII_CHARACTER_CLASSES[character] & CLASS_WHITE_SPACE) != 0;
+        }
+
+        return character == 0xa0 ||
             character == 0xfeff ||
             Character.getType(character) == Character.SPACE_SEPARATOR;
     }
@@ -100,9 +252,11 @@ class Json5Tokenizer {
         //     <LS>
         //     <PS>
 
-        return character == '\n' ||
-            character == '\r' ||
-            character == '\u2028' ||
+        if (isAscii(character)) {
+            return (ASCII_CHARACTER_CLASSES[character] & CLASS_LINE_TERMINATOR) != 0;
+        }
+
+        return character == '\u2028' ||
             character == '\u2029';
     }
 
@@ -146,6 +300,8 @@ class Json5Tokenizer {
                 throw Json5ParseError.unexpectedTextError("'*/'", "end of document", sourceRange);
             }
             characters.skip();
+            // Only an asterisk can start the end of the comment.
+            characters.skipToAny('*', '*', '*', '*', false);
         }
 
         return true;
@@ -161,50 +317,42 @@ class Json5Tokenizer {
         // SingleLineCommentChar ::
         //     SourceCharacter but not LineTerminator
 
-        if (!characters.trySkip(BUFFER_DOUBLE_FORWARD_SLASH)) {
+        if (!characters.trySkip("//")) {
             return false;
         }
 
-        while (!isLineTerminator(characters.peek()) && !characters.isEnd()) {
+        while (true) {
+            // Skip ASCII characters that aren't line terminators in bulk.
+            // Non-ASCII characters are checked individually, since U+2028
+            // and U+2029 are line terminators.
+            characters.skipToAny('\n', '\r', '\n', '\r', true);
+            if (characters.isEnd() || isLineTerminator(characters.peek())) {
+                break;
+            }
             characters.skip();
         }
 
         return true;
     }
 
-    private static final CharBuffer BUFFER_DOUBLE_FORWARD_SLASH = CharBuffer.wrap("//");
-
-    private static Optional<Json5Token> tokenizeJson5Token(CharacterIterator characters) {
+    private static boolean tryTokenizeJson5Token(CharacterIterator characters) {
         // JSON5Token ::
         //     JSON5Identifier
         //     JSON5Punctuator
         //     JSON5String
         //     JSON5Number
 
-        var json5Identifier = tokenizeJson5Identifier(characters);
-        if (json5Identifier.isPresent()) {
-            return json5Identifier;
-        }
-
-        var json5Punctuator = tokenizeJson5Punctuator(characters);
-        if (json5Punctuator.isPresent()) {
-            return json5Punctuator;
+        if (isAsciiOfClass(characters.peek(), CLASS_PUNCTUATOR)) {
+            return tryTokenizeJson5Punctuator(characters);
         }
 
-        var json5String = tokenizeJson5String(characters);
-        if (json5String.isPresent()) {
-            return json5String;
-        }
-
-        var json5Number = tokenizeJson5Number(characters);
-        if (json5Number.isPresent()) {
-            return json5Number;
-        }
-
-        return Optional.empty();
+        return tryTokenizeJson5Identifier(characters) ||
+            tryTokenizeJson5Punctuator(characters) ||
+            tryTokenizeJson5String(characters) ||
+            tryTokenizeJson5Number(characters);
     }
 
-    private static Optional<Json5Token> tokenizeJson5Identifier(CharacterIterator characters) {
+    private static boolean tryTokenizeJson5Identifier(CharacterIterator characters) {
         // JSON5Identifier ::
         //     IdentifierName
         //
@@ -213,15 +361,32 @@ class Json5Tokenizer {
         //     IdentifierName IdentifierPart
 
         if (!trySkipIdentifierStart(characters)) {
-            return Optional.empty();
+            return false;
         }
 
         while (trySkipIdentifierPart(characters)) {
         }
 
-        var token = createToken(characters, Json5TokenType.IDENTIFIER);
+        characters.endToken(identifierTokenType(characters));
+        return true;
+    }
 
-        return Optional.of(token);
+    private static Json5TokenType identifierTokenType(CharacterIterator characters) {
+        // Only identifiers written literally are keywords: for instance,
+        // `n\u0075ll` is an identifier rather than a null literal.
+        if (characters.isToken("null")) {
+            return Json5TokenType.KEYWORD_NULL;
+        } else if (characters.isToken("true")) {
+            return Json5TokenType.KEYWORD_TRUE;
+        } else if (characters.isToken("false")) {
+            return Json5TokenType.KEYWORD_FALSE;
+        } else if (characters.isToken("Infinity")) {
+            return Json5TokenType.KEYWORD_INFINITY;
+        } else if (characters.isToken("NaN")) {
+            return Json5TokenType.KEYWORD_NAN;
+        } else {
+            return Json5TokenType.IDENTIFIER;
+        }
     }
 
     private static boolean trySkipIdentifierStart(CharacterIterator characters) {
@@ -232,22 +397,26 @@ class Json5Tokenizer {
         //     `\` UnicodeEscapeSequence
 
         var first = characters.peek();
-        if (isUnicodeLetter(first) || first == '$' || first == '_') {
+        if (isAsciiOfClass(first, CLASS_IDENTIFIER_START)) {
             characters.skip();
             return true;
         } else if (first == '\\') {
             characters.skip();
+            characters.tokenHasEscapes = true;
             skipUnicodeEscapeSequence(characters);
             return true;
+        } else if (!isAscii(first) && isUnicodeLetter(first)) {
+            characters.skip();
+            return true;
         } else {
             return false;
         }
     }
 
     private static boolean isIdentifierStart(CharacterIterator characters) {
-        var position = characters.position();
+        var index = characters.index;
         if (trySkipIdentifierStart(characters)) {
-            characters.position(position);
+            characters.index = index;
             return true;
         } else {
             return false;
@@ -273,11 +442,20 @@ class Json5Tokenizer {
         // UnicodeConnectorPunctuation ::
         //     any character in the Unicode category “Connector punctuation (Pc)”
 
+        var character = characters.peek();
+        if (isAsciiOfClass(character, CLASS_IDENTIFIER_PART)) {
+            characters.skip();
+            return true;
+        }
+
         if (trySkipIdentifierStart(characters)) {
             return true;
         }
 
-        var character = characters.peek();
+        if (isAscii(character)) {
+            return false;
+        }
+
         var mask = (1 << Character.NON_SPACING_MARK) |
             (1 << Character.COMBINING_SPACING_MARK) |
             (1 << Character.DECIMAL_DIGIT_NUMBER) |
@@ -308,7 +486,7 @@ class Json5Tokenizer {
         return ((mask >> Character.getType(character)) & 1) != 0;
     }
 
-    private static Optional<Json5Token> tokenizeJson5Punctuator(CharacterIterator characters) {
+    private static boolean tryTokenizeJson5Punctuator(CharacterIterator characters) {
         // JSON5Punctuator :: one of
         //     `{` `}` `[` `]` `:` `,`
 
@@ -339,16 +517,16 @@ class Json5Tokenizer {
                 break;
 
             default:
-                return Optional.empty();
+                return false;
         }
 
         characters.skip();
 
-        var token = createToken(characters, tokenType);
-        return Optional.of(token);
+        characters.endToken(tokenType);
+        return true;
     }
 
-    private static Optional<Json5Token> tokenizeJson5String(CharacterIterator characters) {
+    private static boolean tryTokenizeJson5String(CharacterIterator characters) {
         // JSON5String ::
         //     `"` JSON5DoubleStringCharacters? `"`
         //     `'` JSON5SingleStringCharacters? `'`
@@ -363,7 +541,8 @@ class Json5Tokenizer {
             while (trySkipJson5DoubleStringCharacter(characters)) {
             }
             if (characters.trySkip('"')) {
-                return Optional.of(createToken(characters, Json5TokenType.STRING));
+                characters.endToken(Json5TokenType.STRING);
+                return true;
             } else {
                 throw Json5ParseError.unexpectedTextError(
                     "string character or '\"'",
@@ -375,7 +554,8 @@ class Json5Tokenizer {
             while (trySkipJson5SingleStringCharacter(characters)) {
             }
             if (characters.trySkip('\'')) {
-                return Optional.of(createToken(characters, Json5TokenType.STRING));
+                characters.endToken(Json5TokenType.STRING);
+                return true;
             } else {
                 throw Json5ParseError.unexpectedTextError(
                     "string character or '\\''",
@@ -384,7 +564,7 @@ class Json5Tokenizer {
                 );
             }
         } else {
-            return Optional.empty();
+            return false;
         }
     }
 
@@ -428,6 +608,18 @@ class Json5Tokenizer {
         //     <LS>
         //     <PS>
 
+        // Most string characters need no further checks, so skip them in
+        // bulk, stopping at the next character that might end the string or
+        // start an escape sequence. U+2028 and U+2029 are allowed in strings,
+        // so non-ASCII characters can be skipped.
+        characters.skipToAny(
+            stringType == StringType.DOUBLE_STRING ? '"' : '\'',
+            '\\',
+            '\n',
+            '\r',
+            false
+        );
+
         var character = characters.peek();
         switch (character) {
             case '"':
@@ -444,6 +636,7 @@ class Json5Tokenizer {
 
             case '\\':
                 characters.skip();
+                characters.tokenHasEscapes = true;
                 if (trySkipEscapeSequenceOrLineTerminatorSequence(characters)) {
                     return true;
                 } else {
@@ -549,7 +742,7 @@ class Json5Tokenizer {
         skipHexDigit(characters);
     }
 
-    private static Optional<Json5Token> tokenizeJson5Number(CharacterIterator characters) {
+    private static boolean tryTokenizeJson5Number(CharacterIterator characters) {
         // JSON5Number ::
         //     JSON5NumericLiteral
         //     `+` JSON5NumericLiteral
@@ -574,25 +767,24 @@ class Json5Tokenizer {
             isNegative = characters.trySkip('-');
         }
 
-        if (characters.trySkip(BUFFER_INFINITY)) {
+        if (characters.trySkip("Infinity")) {
             var tokenType = isNegative
                 ? Json5TokenType.NUMBER_NEGATIVE_INFINITY
                 : Json5TokenType.NUMBER_POSITIVE_INFINITY;
 
-            var token = createToken(characters, tokenType);
-            return Optional.of(token);
+            characters.endToken(tokenType);
+            return true;
         }
 
-        if (characters.trySkip(BUFFER_NAN)) {
-            var token = createToken(characters, Json5TokenType.NUMBER_NAN);
-            return Optional.of(token);
+        if (characters.trySkip("NaN")) {
+            characters.endToken(Json5TokenType.NUMBER_NAN);
+            return true;
         }
 
-        Json5Token token;
         if (trySkipHexIntegerLiteral(characters)) {
-            token = createToken(characters, Json5TokenType.NUMBER_HEX);
+            characters.endToken(Json5TokenType.NUMBER_HEX);
         } else if (trySkipDecimalLiteral(characters)) {
-            token = createToken(characters, Json5TokenType.NUMBER_DECIMAL);
+            characters.endToken(Json5TokenType.NUMBER_DECIMAL);
         } else if (hasPlusSign || isNegative) {
             throw Json5ParseError.unexpectedTextError(
                 "numeric literal",
@@ -600,7 +792,7 @@ class Json5Tokenizer {
                 characters.characterSourceRange()
             );
         } else {
-            return Optional.empty();
+            return false;
         }
 
         if (isIdentifierStart(characters)) {
@@ -611,12 +803,9 @@ class Json5Tokenizer {
             );
         }
 
-        return Optional.of(token);
+        return true;
     }
 
-    private static final CharBuffer BUFFER_INFINITY = CharBuffer.wrap("Infinity");
-    private static final CharBuffer BUFFER_NAN = CharBuffer.wrap("NaN");
-
     private static boolean trySkipDecimalLiteral(CharacterIterator characters) {
         // DecimalLiteral ::
         //     DecimalIntegerLiteral `.` DecimalDigits? ExponentPart?
@@ -705,7 +894,7 @@ class Json5Tokenizer {
         // DecimalDigit :: one of
         //     `0` `1` `2` `3 `4` `5` `6` `7` `8` `9`
 
-        return character >= '0' && character <= '9';
+        return isAsciiOfClass(character, CLASS_DECIMAL_DIGIT);
     }
 
     private static void trySkipExponentPart(CharacterIterator characters) {
@@ -740,8 +929,8 @@ class Json5Tokenizer {
         //     HexIntegerLiteral HexDigit
 
         if (
-            characters.trySkip(BUFFER_HEX_INTEGER_LITERAL_PREFIX_LOWERCASE) ||
-                characters.trySkip(BUFFER_HEX_INTEGER_LITERAL_PREFIX_UPPERCASE)
+            characters.trySkip("0x") ||
+                characters.trySkip("0X")
         ) {
             skipHexDigit(characters);
             while (trySkipHexDigit(characters)) {
@@ -752,9 +941,6 @@ class Json5Tokenizer {
         }
     }
 
-    private static final CharBuffer BUFFER_HEX_INTEGER_LITERAL_PREFIX_LOWERCASE = CharBuffer.wrap("0x");
-    private static final CharBuffer BUFFER_HEX_INTEGER_LITERAL_PREFIX_UPPERCASE = CharBuffer.wrap("0X");
-
     private static void skipHexDigit(CharacterIterator characters) {
         if (!trySkipHexDigit(characters)) {
             var sourceRange = characters.characterSourceRange();
@@ -770,12 +956,7 @@ class Json5Tokenizer {
         // HexDigit :: one of
         //     `0` `1` `2` `3` `4` `5` `6` `7` `8` `9` `a` `b` `c` `d` `e` `f` `A` `B` `C` `D` `E` `F`
 
-        var character = characters.peek();
-        if (
-            (character >= '0' && character <= '9') ||
-                (character >= 'a' && character <= 'f') ||
-                (character >= 'A' && character <= 'F')
-        ) {
+        if (isAsciiOfClass(characters.peek(), CLASS_HEX_DIGIT)) {
             characters.skip();
             return true;
         } else {
@@ -792,25 +973,27 @@ class Json5Tokenizer {
         }
     }
 
-    private static Json5Token createToken(
-        CharacterIterator characters,
-        Json5TokenType tokenType
-    ) {
-        var sourceRange = characters.tokenSourceRange();
-        return new Json5Token(tokenType, sourceRange);
-    }
-
     private static class CharacterIterator {
-        private final SourceCharacterIterator iterator;
-        private SourcePosition tokenStartPosition;
-
-        private CharacterIterator(SourceText sourceText) {
-            this.iterator = sourceText.characterIterator();
-            this.tokenStartPosition = this.iterator.position();
+        private final SourceInput input;
+        private final int length;
+        private int index;
+        private int tokenStart;
+        private int tokenEnd;
+        private boolean tokenHasEscapes;
+        private Json5TokenType tokenType;
+
+        private CharacterIterator(SourceInput input, int index) {
+            this.input = input;
+            this.length = input.length();
+            this.index = index;
+            this.tokenStart = index;
+            this.tokenEnd = index;
+            this.tokenHasEscapes = false;
+            this.tokenType = null;
         }
 
         private boolean isEnd() {
-            return this.iterator.isEnd();
+            return this.index >= this.length;
         }
 
         private boolean trySkip(char skip) {
@@ -822,13 +1005,9 @@ class Json5Tokenizer {
             }
         }
 
-        private boolean trySkip(CharSequence skip) {
-            if (this.iterator.remaining() < skip.length()) {
-                return false;
-            }
-
-            if (CharSequence.compare(this.iterator.peekSequence(skip.length()), skip) == 0) {
-                this.iterator.skip(skip.length());
+        private boolean trySkip(String skip) {
+            if (this.input.startsWith(skip, this.index)) {
+                this.index += skip.length();
                 return true;
             } else {
                 return false;
@@ -836,11 +1015,38 @@ class Json5Tokenizer {
         }
 
         int peek() {
-            return this.iterator.peek();
+            if (isEnd()) {
+                return -1;
+            }
+
+            var codeUnit = this.input.codeUnitAt(this.index);
+            return isAscii(codeUnit) ? codeUnit : this.input.characterAt(this.index);
         }
 
         void skip() {
-            this.iterator.skip();
+            var codeUnit = this.input.codeUnitAt(this.index);
+            this.index += isAscii(codeUnit) ? 1 : this.input.characterLength(this.index);
+        }
+
+        /**
+         * Skip to the next character that is one of the given ASCII
+         * characters, or, if {@code stopAtNonAscii} is true, is not ASCII.
+         */
+        void skipToAny(
+            char first,
+            char second,
+            char third,
+            char fourth,
+            boolean stopAtNonAscii
+        ) {
+            this.index = this.input.indexOfAny(
+                this.index,
+                first,
+                second,
+                third,
+                fourth,
+                stopAtNonAscii
+            );
         }
 
         void skip(int expectedCharacter) {
@@ -857,25 +1063,31 @@ class Json5Tokenizer {
         }
 
         SourceRange characterSourceRange() {
-            return this.iterator.characterSourceRange();
+            var end = isEnd() ? this.index : this.index + this.input.characterLength(this.index);
+            return sourceRange(this.index, end);
         }
 
         void startToken() {
-            this.tokenStartPosition = this.iterator.position();
+            this.tokenStart = this.index;
+            this.tokenHasEscapes = false;
         }
 
-        SourceRange tokenSourceRange() {
-            var start = this.tokenStartPosition;
-            var end = this.iterator.position();
-            return iterator.sourceRange(start, end);
+        boolean isToken(String ascii) {
+            return this.index - this.tokenStart == ascii.length() &&
+                this.input.startsWith(ascii, this.tokenStart);
         }
 
-        SourcePosition position() {
-            return this.iterator.position();
+        void endToken(Json5TokenType tokenType) {
+            this.tokenEnd = this.index;
+            this.tokenType = tokenType;
+        }
+
+        SourceRange tokenSourceRange() {
+            return sourceRange(this.tokenStart, this.index);
         }
 
-        public void position(SourcePosition position) {
-            this.iterator.position(position);
+        private SourceRange sourceRange(int start, int end) {
+            return new Json5SourceRange(this.input, start, end).toSourceRange();
         }
     }
 }
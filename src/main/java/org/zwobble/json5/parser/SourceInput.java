@@ -0,0 +1,130 @@
+package org.zwobble.json5.parser;
+
+import org.zwobble.json5.sources.Json5Source;
+
+/**
+ * The input to the tokenizer.
+ * <p>
+ * The input is addressed by offset. Each offset holds a code unit, which is
+ * the character itself when below U+0080. Other characters are decoded using
+ * {@link #characterAt(int)}, and may occupy more than one offset.
+ */
+abstract class SourceInput implements Json5Source {
+    /**
+     * The number of offsets in the input.
+     */
+    abstract int length();
+
+    /**
+     * The code unit at the given offset.
+     */
+    abstract int codeUnitAt(int offset);
+
+    /**
+     * The character starting at the given offset.
+     */
+    abstract int characterAt(int offset);
+
+    /**
+     * The number of offsets occupied by the character starting at the given
+     * offset.
+     */
+    abstract int characterLength(int offset);
+
+    /**
+     * Whether a character starts at the given offset, rather than the offset
+     * being in the middle of a character.
+     */
+    boolean isCharacterStart(int offset) {
+        return true;
+    }
+
+    /**
+     * Whether the input contains the given ASCII characters at the given
+     * offset.
+     */
+    abstract boolean startsWith(String ascii, int offset);
+
+    /**
+     * The characters between the given offsets.
+     */
+    abstract CharSequence charSequence(int start, int end);
+
+    /**
+     * The first offset at or after the given offset whose code unit is one of
+     * the given ASCII characters, or, if {@code stopAtNonAscii} is true, is
+     * not ASCII. If there is no such offset, the length of the input.
+     * <p>
+     * This allows the tokenizer to skip runs of ordinary characters, such as
+     * in strings and comments, without examining each character in turn.
+     */
+    int indexOfAny(
+        int offset,
+        char first,
+        char second,
+        char third,
+        char fourth,
+        boolean stopAtNonAscii
+    ) {
+        var length = length();
+        while (offset < length) {
+            var codeUnit = codeUnitAt(offset);
+            if (
+                codeUnit == first || codeUnit == second ||
+                    codeUnit == third || codeUnit == fourth ||
+                    (stopAtNonAscii && codeUnit >= 0x80)
+            ) {
+                return offset;
+            }
+            offset += 1;
+        }
+        return length;
+    }
+
+    /**
+     * The hash code of the characters between the given offsets, as would be
+     * returned by {@link String#hashCode()} for those characters.
+     */
+    int stringHashCode(int start, int end) {
+        var hash = 0;
+        var offset = start;
+        while (offset < end) {
+            var character = characterAt(offset);
+            if (Character.isBmpCodePoint(character)) {
+                hash = 31 * hash + character;
+            } else {
+                hash = 31 * hash + Character.highSurrogate(character);
+                hash = 31 * hash + Character.lowSurrogate(character);
+            }
+            offset += characterLength(offset);
+        }
+        return hash;
+    }
+
+    /**
+     * Whether the characters between the given offsets are equal to the given
+     * string.
+     */
+    boolean contentEquals(int start, int end, String string) {
+        var offset = start;
+        var stringIndex = 0;
+        while (offset < end) {
+            var character = characterAt(offset);
+            if (Character.isBmpCodePoint(character)) {
+                if (stringIndex >= string.length() ||
+                    string.charAt(stringIndex) != character) {
+                    return false;
+                }
+                stringIndex += 1;
+            } else {
+                if (stringIndex + 1 >= string.length() ||
+                    string.codePointAt(stringIndex) != character) {
+                    return false;
+                }
+                stringIndex += 2;
+            }
+            offset += characterLength(offset);
+        }
+        return stringIndex == string.length();
+    }
+}
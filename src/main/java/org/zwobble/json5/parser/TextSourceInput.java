@@ -0,0 +1,119 @@
+package org.zwobble.json5.parser;
+
+import org.zwobble.sourcetext.SourceText;
+
+/**
+ * Input read from {@link SourceText}, where offsets are character indices.
+ * <p>
+ * Characters outside the Basic Multilingual Plane are represented by
+ * surrogate pairs, and so occupy two offsets.
+ */
+class TextSourceInput extends SourceInput {
+    private final SourceText sourceText;
+    private final CharSequence text;
+
+    TextSourceInput(SourceText sourceText) {
+        var iterator = sourceText.characterIterator();
+        this.sourceText = sourceText;
+        this.text = iterator.peekSequence(iterator.remaining());
+    }
+
+    @Override
+    public SourceText sourceText() {
+        return this.sourceText;
+    }
+
+    @Override
+    public int characterIndex(int offset) {
+        return offset;
+    }
+
+    @Override
+    int length() {
+        return this.text.length();
+    }
+
+    @Override
+    int codeUnitAt(int offset) {
+        return this.text.charAt(offset);
+    }
+
+    @Override
+    int characterAt(int offset) {
+        return Character.codePointAt(this.text, offset);
+    }
+
+    @Override
+    int characterLength(int offset) {
+        return Character.charCount(characterAt(offset));
+    }
+
+    @Override
+    boolean isCharacterStart(int offset) {
+        return offset == 0 ||
+            !Character.isLowSurrogate(this.text.charAt(offset)) ||
+            !Character.isHighSurrogate(this.text.charAt(offset - 1));
+    }
+
+    @Override
+    boolean startsWith(String ascii, int offset) {
+        return regionMatches(offset, ascii);
+    }
+
+    private boolean regionMatches(int offset, String string) {
+        if (offset + string.length() > this.text.length()) {
+            return false;
+        }
+        for (var index = 0; index < string.length(); index++) {
+            if (this.text.charAt(offset + index) != string.charAt(index)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    CharSequence charSequence(int start, int end) {
+        return this.text.subSequence(start, end);
+    }
+
+    @Override
+    int indexOfAny(
+        int offset,
+        char first,
+        char second,
+        char third,
+        char fourth,
+        boolean stopAtNonAscii
+    ) {
+        var text = this.text;
+        var length = text.length();
+        while (offset < length) {
+            var character = text.charAt(offset);
+            if (
+                character == first || character == second ||
+                    character == third || character == fourth ||
+                    (stopAtNonAscii && character >= 0x80)
+            ) {
+                return offset;
+            }
+            offset += 1;
+        }
+        return length;
+    }
+
+    @Override
+    int stringHashCode(int start, int end) {
+        var hash = 0;
+        for (var offset = start; offset < end; offset++) {
+            hash = 31 * hash + this.text.charAt(offset);
+        }
+        return hash;
+    }
+
+    @Override
+    boolean contentEquals(int start, int end, String string) {
+        return end - start == string.length() &&
+            regionMatches(start, string);
+    }
+}
@@ -1,40 +1,242 @@
 package org.zwobble.json5.parser;
 
-import java.util.List;
+import org.zwobble.json5.sources.Json5SourceRange;
 
 class TokenIterator {
-    private final List<Json5Token> tokens;
-    private int tokenIndex;
-    private final Json5Token tokenEnd;
+    private final Json5Tokenizer tokenizer;
+    // Tokens that have already been read, or null if all tokens are read on
+    // demand. Once the buffered tokens have been used, the remaining tokens
+    // are read from the tokenizer, which starts at the end of the buffered
+    // tokens.
+    private final Json5TokenBuffer buffer;
+    private int bufferIndex;
+    private final Json5MemberNameTable memberNames;
+    private final boolean tracksLocations;
+    private final boolean isLazy;
+    private final int maxDepth;
 
-    TokenIterator(List<Json5Token> tokens, Json5Token tokenEnd) {
-        this.tokens = tokens;
-        this.tokenIndex = 0;
-        this.tokenEnd = tokenEnd;
+    // The next token is held as primitive fields rather than as a Json5Token
+    // so that reading tokens doesn't allocate. A Json5Token, and its
+    // SourceRange, is only created when actually required, such as when
+    // reporting an error.
+    private Json5TokenType nextTokenType;
+    private int nextTokenStart;
+    private int nextTokenEnd;
+    private boolean nextTokenHasEscapes;
+    private int previousTokenEnd;
+
+    TokenIterator(
+        Json5Tokenizer tokenizer,
+        Json5MemberNameTable memberNames,
+        boolean tracksLocations,
+        boolean isLazy,
+        int maxDepth
+    ) {
+        this(tokenizer, null, 0, memberNames, tracksLocations, isLazy, maxDepth);
+    }
+
+    TokenIterator(
+        Json5Tokenizer tokenizer,
+        Json5TokenBuffer buffer,
+        int bufferIndex,
+        Json5MemberNameTable memberNames,
+        boolean tracksLocations,
+        boolean isLazy,
+        int maxDepth
+    ) {
+        this.tokenizer = tokenizer;
+        this.buffer = buffer;
+        this.bufferIndex = bufferIndex;
+        this.memberNames = memberNames;
+        this.tracksLocations = tracksLocations;
+        this.isLazy = isLazy;
+        this.maxDepth = maxDepth;
+        this.nextTokenType = null;
+        this.previousTokenEnd = 0;
     }
 
     void skip() {
-        this.tokenIndex += 1;
+        peekTokenType();
+        this.previousTokenEnd = this.nextTokenEnd;
+        this.nextTokenType = null;
     }
 
     boolean trySkip(Json5TokenType tokenType) {
         if (isNext(tokenType)) {
-            this.tokenIndex += 1;
+            skip();
             return true;
         } else {
             return false;
         }
     }
 
-    Json5Token peek() {
-        if (this.tokenIndex >= this.tokens.size()) {
-            return tokenEnd;
+    Json5TokenType peekTokenType() {
+        // Unless tokens have been buffered, tokens are read on demand so that
+        // the tokenizer never gets more than one token ahead of the parser.
+        if (this.nextTokenType == null && this.buffer != null &&
+            this.bufferIndex < this.buffer.tokenCount()) {
+            var index = this.bufferIndex;
+            this.nextTokenType = this.buffer.tokenType(index);
+            this.nextTokenStart = this.buffer.start(index);
+            this.nextTokenEnd = this.buffer.end(index);
+            this.nextTokenHasEscapes = this.buffer.hasEscapes(index);
+            this.bufferIndex += 1;
+        } else if (this.nextTokenType == null) {
+            this.nextTokenType = this.tokenizer.next();
+            this.nextTokenStart = this.tokenizer.tokenStart();
+            this.nextTokenEnd = this.tokenizer.tokenEnd();
+            this.nextTokenHasEscapes = this.tokenizer.tokenHasEscapes();
         }
 
-        return this.tokens.get(this.tokenIndex);
+        return this.nextTokenType;
+    }
+
+    int peekStart() {
+        peekTokenType();
+        return this.nextTokenStart;
+    }
+
+    int peekEnd() {
+        peekTokenType();
+        return this.nextTokenEnd;
+    }
+
+    boolean peekHasEscapes() {
+        peekTokenType();
+        return this.nextTokenHasEscapes;
+    }
+
+    CharSequence peekCharSequence() {
+        return charSequence(peekStart(), peekEnd());
+    }
+
+    /**
+     * The code unit at the given offset. For ASCII characters, the code unit
+     * is the character itself.
+     */
+    int codeUnitAt(int offset) {
+        return this.tokenizer.codeUnitAt(offset);
+    }
+
+    CharSequence charSequence(int start, int end) {
+        return this.tokenizer.charSequence(start, end);
+    }
+
+    /**
+     * Whether the tokens were read ahead into a buffer, in which case reading
+     * tokens again from an earlier offset doesn't tokenize the input again.
+     */
+    boolean isBuffered() {
+        return this.buffer != null;
+    }
+
+    boolean tracksLocations() {
+        return this.tracksLocations;
+    }
+
+    /**
+     * Whether objects and arrays should be parsed when first accessed, rather
+     * than immediately.
+     */
+    boolean isLazy() {
+        return this.isLazy;
+    }
+
+    /**
+     * The maximum number of objects and arrays that a value may be nested
+     * inside, including itself.
+     */
+    int maxDepth() {
+        return this.maxDepth;
+    }
+
+    /**
+     * Create a new iterator over the same source, with the same options, that
+     * starts reading tokens at the given offset.
+     */
+    TokenIterator startingAt(int offset) {
+        return startingAt(offset, this.memberNames);
+    }
+
+    /**
+     * Create a new iterator over the same source, with the same options other
+     * than the table of member names, that starts reading tokens at the given
+     * offset.
+     */
+    TokenIterator startingAt(int offset, Json5MemberNameTable memberNames) {
+        var bufferIndex = this.buffer == null
+            ? -1
+            : this.buffer.indexOfTokenStartingAt(offset);
+        if (bufferIndex >= 0) {
+            return new TokenIterator(
+                this.tokenizer.startingAt(this.buffer.end()),
+                this.buffer,
+                bufferIndex,
+                memberNames,
+                this.tracksLocations,
+                this.isLazy,
+                this.maxDepth
+            );
+        }
+
+        return new TokenIterator(
+            this.tokenizer.startingAt(offset),
+            memberNames,
+            this.tracksLocations,
+            this.isLazy,
+            this.maxDepth
+        );
+    }
+
+    /**
+     * The canonical member name for the characters between the given offsets,
+     * which must not contain any escape sequences.
+     */
+    String memberName(int start, int end) {
+        return this.tokenizer.memberName(this.memberNames, start, end);
+    }
+
+    /**
+     * The source range of the next token, or null if locations aren't being
+     * tracked.
+     */
+    Json5SourceRange peekSourceRange() {
+        return sourceRange(peekStart(), peekEnd());
+    }
+
+    Json5Token peek() {
+        // Tokens are only materialized when reporting errors, so always have
+        // a source range, even when locations aren't otherwise tracked.
+        var sourceRange = locate(peekStart(), peekEnd());
+        return new Json5Token(peekTokenType(), sourceRange.toSourceRange());
+    }
+
+    /**
+     * The source range between the given offsets, regardless of whether
+     * locations are being tracked.
+     */
+    Json5SourceRange locate(int start, int end) {
+        return this.tokenizer.sourceRange(start, end);
+    }
+
+    /**
+     * The character index of the end of the last token that was skipped.
+     */
+    int previousEnd() {
+        return this.previousTokenEnd;
     }
 
     boolean isNext(Json5TokenType tokenType) {
-        return peek().tokenType() == tokenType;
+        return peekTokenType() == tokenType;
+    }
+
+    /**
+     * The source range between the given offsets, or null if locations aren't
+     * being tracked.
+     */
+    Json5SourceRange sourceRange(int start, int end) {
+        return this.tracksLocations
+            ? this.tokenizer.sourceRange(start, end)
+            : null;
     }
 }
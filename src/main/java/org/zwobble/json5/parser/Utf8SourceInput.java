@@ -0,0 +1,227 @@
+package org.zwobble.json5.parser;
+
+import org.zwobble.sourcetext.SourceText;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.CharBuffer;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Input read from UTF-8 encoded bytes, where offsets are byte indices.
+ * <p>
+ * Bytes are only decoded when needed, such as for the contents of strings or
+ * non-ASCII characters. The full text is only decoded if a source position is
+ * requested, at which point byte indices are converted to character indices.
+ */
+class Utf8SourceInput extends SourceInput {
+    // Number of bytes between entries in the index of character counts.
+    private static final int CHARACTER_INDEX_INTERVAL = 4096;
+
+    private final String name;
+    private final ByteBuffer bytes;
+    private SourceText sourceText;
+    // For each interval of bytes, the offset at or before the start of the
+    // interval at which the decoder started a new character, and the
+    // character index at that offset.
+    private int[] indexedOffsets;
+    private int[] indexedCharacterIndexes;
+
+    Utf8SourceInput(String name, ByteBuffer bytes) {
+        this.name = name;
+        // Use absolute indexing from zero regardless of the position of the
+        // original buffer. Words are read in little-endian order so that the
+        // lowest bits of a word hold the earliest byte.
+        this.bytes = bytes.slice().order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    @Override
+    public SourceText sourceText() {
+        decode();
+        return this.sourceText;
+    }
+
+    @Override
+    public int characterIndex(int offset) {
+        // Malformed sequences are decoded to replacement characters, and the
+        // number of bytes that a replacement character replaces depends on
+        // the bytes that follow it. Rather than trying to replicate this,
+        // decode the bytes since the closest indexed offset using the same
+        // decoder as was used for the source text.
+        decode();
+        var intervalIndex = offset / CHARACTER_INDEX_INTERVAL;
+        var indexedOffset = this.indexedOffsets[intervalIndex];
+        var bytes = this.bytes.slice(indexedOffset, offset - indexedOffset);
+        return this.indexedCharacterIndexes[intervalIndex] +
+            StandardCharsets.UTF_8.decode(bytes).length();
+    }
+
+    /**
+     * Decode the full text, indexing character indices as we go.
+     */
+    private synchronized void decode() {
+        if (this.sourceText != null) {
+            return;
+        }
+
+        var length = length();
+        var intervalCount = length / CHARACTER_INDEX_INTERVAL + 1;
+        var indexedOffsets = new int[intervalCount];
+        var indexedCharacterIndexes = new int[intervalCount];
+
+        // Decode in the same way as Charset.decode(), but stop at the start
+        // of each interval to record how far the decoder has got. Each byte
+        // is decoded to at most one character, except for four-byte
+        // sequences, which are decoded to two characters.
+        var decoder = StandardCharsets.UTF_8.newDecoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        var input = this.bytes.duplicate();
+        var output = CharBuffer.allocate(length);
+        for (var intervalIndex = 0; intervalIndex < intervalCount; intervalIndex++) {
+            input.limit(intervalIndex * CHARACTER_INDEX_INTERVAL);
+            decoder.decode(input, output, false);
+            indexedOffsets[intervalIndex] = input.position();
+            indexedCharacterIndexes[intervalIndex] = output.position();
+        }
+        input.limit(length);
+        decoder.decode(input, output, true);
+        decoder.flush(output);
+
+        this.indexedOffsets = indexedOffsets;
+        this.indexedCharacterIndexes = indexedCharacterIndexes;
+        this.sourceText = SourceText.fromString(this.name, output.flip().toString());
+    }
+
+    @Override
+    int length() {
+        return this.bytes.limit();
+    }
+
+    @Override
+    int codeUnitAt(int offset) {
+        return this.bytes.get(offset) & 0xff;
+    }
+
+    @Override
+    int characterAt(int offset) {
+        var lead = codeUnitAt(offset);
+        var length = characterLength(offset);
+        if (length == 1) {
+            // Either ASCII or a malformed sequence.
+            return lead < 0x80 ? lead : 0xfffd;
+        }
+
+        var codePoint = lead & (0xff >> (length + 1));
+        for (var index = 1; index < length; index++) {
+            codePoint = (codePoint << 6) | (codeUnitAt(offset + index) & 0x3f);
+        }
+        return codePoint;
+    }
+
+    @Override
+    int characterLength(int offset) {
+        var lead = codeUnitAt(offset);
+        int length;
+        if (lead < 0xc0) {
+            length = 1;
+        } else if (lead < 0xe0) {
+            length = 2;
+        } else if (lead < 0xf0) {
+            length = 3;
+        } else {
+            length = 4;
+        }
+
+        if (offset + length > length()) {
+            return 1;
+        }
+        for (var index = 1; index < length; index++) {
+            if ((codeUnitAt(offset + index) & 0xc0) != 0x80) {
+                return 1;
+            }
+        }
+        return length;
+    }
+
+    @Override
+    boolean isCharacterStart(int offset) {
+        // Continuation bytes have the form 10xxxxxx.
+        return (codeUnitAt(offset) & 0xc0) != 0x80;
+    }
+
+    @Override
+    boolean startsWith(String ascii, int offset) {
+        if (offset + ascii.length() > length()) {
+            return false;
+        }
+        for (var index = 0; index < ascii.length(); index++) {
+            if (this.bytes.get(offset + index) != ascii.charAt(index)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static final long ONES = 0x0101010101010101L;
+    private static final long HIGH_BITS = 0x8080808080808080L;
+
+    @Override
+    int indexOfAny(
+        int offset,
+        char first,
+        char second,
+        char third,
+        char fourth,
+        boolean stopAtNonAscii
+    ) {
+        // Rather than comparing each byte in turn, compare eight bytes at a
+        // time by treating each long as a vector of bytes (SWAR). For each
+        // character, the high bit of each byte of the mask is set if that
+        // byte is equal to the character. Bits can also be set spuriously,
+        // but only in bytes after a byte that really is equal, so the lowest
+        // set bit always identifies the first matching byte.
+        var length = length();
+        var firstPattern = first * ONES;
+        var secondPattern = second * ONES;
+        var thirdPattern = third * ONES;
+        var fourthPattern = fourth * ONES;
+        var nonAsciiMask = stopAtNonAscii ? HIGH_BITS : 0;
+
+        while (offset + Long.BYTES <= length) {
+            var word = this.bytes.getLong(offset);
+            var mask = zeroBytes(word ^ firstPattern) |
+                zeroBytes(word ^ secondPattern) |
+                zeroBytes(word ^ thirdPattern) |
+                zeroBytes(word ^ fourthPattern) |
+                (word & nonAsciiMask);
+            if (mask != 0) {
+                return offset + Long.numberOfTrailingZeros(mask) / Byte.SIZE;
+            }
+            offset += Long.BYTES;
+        }
+
+        return super.indexOfAny(offset, first, second, third, fourth, stopAtNonAscii);
+    }
+
+    private static long zeroBytes(long word) {
+        return (word - ONES) & ~word & HIGH_BITS;
+    }
+
+    @Override
+    CharSequence charSequence(int start, int end) {
+        if (this.bytes.hasArray()) {
+            return new String(
+                this.bytes.array(),
+                this.bytes.arrayOffset() + start,
+                end - start,
+                StandardCharsets.UTF_8
+            );
+        } else {
+            var buffer = new byte[end - start];
+            this.bytes.get(start, buffer);
+            return new String(buffer, StandardCharsets.UTF_8);
+        }
+    }
+}
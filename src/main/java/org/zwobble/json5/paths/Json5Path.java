@@ -4,17 +4,59 @@ package org.zwobble.json5.paths;
  * The JSONPath to a specific value in a JSON5 document.
  */
 public final class Json5Path {
-    public static final Json5Path ROOT = new Json5Path("$");
+    public static final Json5Path ROOT = new Json5Path(null, null, -1);
 
-    private final String path;
+    // Since a path is created for every value in a document, but is rarely
+    // used, each path refers to its parent rather than holding its string
+    // representation. The string representation is rendered on demand.
+    private final Json5Path parent;
+    // For paths to object members, the member name. Otherwise, null.
+    private final String memberName;
+    // For paths to array elements, the index. Otherwise, -1.
+    private final int index;
+    private String string;
 
-    private Json5Path(String path) {
-        this.path = path;
+    private Json5Path(Json5Path parent, String memberName, int index) {
+        this.parent = parent;
+        this.memberName = memberName;
+        this.index = index;
     }
 
     @Override
     public String toString() {
-        return path;
+        var string = this.string;
+        if (string == null) {
+            string = render();
+            this.string = string;
+        }
+        return string;
+    }
+
+    private String render() {
+        // Render iteratively, rather than recursively, so that arbitrarily
+        // deep paths can be rendered.
+        var depth = 0;
+        for (var path = this; path.parent != null; path = path.parent) {
+            depth += 1;
+        }
+
+        var segments = new Json5Path[depth];
+        var path = this;
+        for (var segmentIndex = depth - 1; segmentIndex >= 0; segmentIndex--) {
+            segments[segmentIndex] = path;
+            path = path.parent;
+        }
+
+        var builder = new StringBuilder("$");
+        for (var segment : segments) {
+            if (segment.memberName != null) {
+                // TODO: handle member names that require escaping
+                builder.append('.').append(segment.memberName);
+            } else {
+                builder.append('[').append(segment.index).append(']');
+            }
+        }
+        return builder.toString();
     }
 
     /**
@@ -24,12 +66,11 @@ public final class Json5Path {
      * @return A new {@code JSON5Path}.
      */
     public Json5Path member(String memberName) {
-        // TODO: handle member names that require escaping
-        return new Json5Path(String.format("%s.%s", this.path, memberName));
+        return new Json5Path(this, memberName, -1);
     }
 
     public Json5Path index(int index) {
-        return new Json5Path(String.format("%s[%s]", this.path, index));
+        return new Json5Path(this, null, index);
     }
 
     @Override
@@ -46,11 +87,37 @@ public final class Json5Path {
             return false;
         }
 
-        return this.path.equals(otherJson5Path.path);
+        var left = this;
+        var right = otherJson5Path;
+        while (left != right) {
+            if (left == null || right == null) {
+                return false;
+            }
+
+            if (
+                left.index != right.index ||
+                    (left.memberName == null
+                        ? right.memberName != null
+                        : !left.memberName.equals(right.memberName))
+            ) {
+                return false;
+            }
+
+            left = left.parent;
+            right = right.parent;
+        }
+
+        return true;
     }
 
     @Override
     public int hashCode() {
-        return path.hashCode();
+        var hash = 0;
+        for (var path = this; path != null; path = path.parent) {
+            hash = 31 * hash + (path.memberName == null
+                ? path.index
+                : path.memberName.hashCode());
+        }
+        return hash;
     }
 }
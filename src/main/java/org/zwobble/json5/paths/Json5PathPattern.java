@@ -0,0 +1,259 @@
+package org.zwobble.json5.paths;
+
+import java.util.Arrays;
+
+/**
+ * A pattern that matches the JSONPaths of values in a JSON5 document.
+ * <p>
+ * A pattern is a sequence of segments, each of which matches either an object
+ * member with a specific name, any object member, an array element with a
+ * specific index, or any array element.
+ */
+public final class Json5PathPattern {
+    /**
+     * The pattern that matches only the root value.
+     */
+    public static final Json5PathPattern ROOT = new Json5PathPattern(
+        new String[0],
+        new int[0]
+    );
+
+    private static final int ANY_MEMBER = -1;
+    private static final int ANY_INDEX = -2;
+
+    // For each segment, either the member name and an index of ANY_MEMBER, or
+    // a null member name and the index. The wildcard for array elements is
+    // represented by a null member name and an index of ANY_INDEX. The
+    // wildcard for object members is represented by a null member name and an
+    // index of ANY_MEMBER.
+    private final String[] memberNames;
+    private final int[] indices;
+
+    private Json5PathPattern(String[] memberNames, int[] indices) {
+        this.memberNames = memberNames;
+        this.indices = indices;
+    }
+
+    /**
+     * Parse a pattern from a JSONPath such as {@code $.server.port} or
+     * {@code $.features[*].name}.
+     * <p>
+     * The pattern must start with {@code $}, followed by any number of
+     * segments. Each segment is one of:
+     * <ul>
+     *     <li>{@code .name}, matching the member with the given name.</li>
+     *     <li>{@code .*}, matching any member.</li>
+     *     <li>{@code [index]}, matching the element with the given index.</li>
+     *     <li>{@code [*]}, matching any element.</li>
+     * </ul>
+     * Member names that contain {@code .} or {@code [} can't be written in
+     * this syntax, but can be matched by using {@link #member(String)}.
+     *
+     * @param pattern The JSONPath to parse.
+     * @return A new {@code Json5PathPattern}.
+     * @throws IllegalArgumentException If the pattern is not valid.
+     */
+    public static Json5PathPattern parse(String pattern) {
+        if (!pattern.startsWith("$")) {
+            throw invalidPatternError(pattern);
+        }
+
+        var result = ROOT;
+        var position = 1;
+        while (position < pattern.length()) {
+            var character = pattern.charAt(position);
+            if (character == '.') {
+                var end = position + 1;
+                while (
+                    end < pattern.length() &&
+                        pattern.charAt(end) != '.' &&
+                        pattern.charAt(end) != '['
+                ) {
+                    end += 1;
+                }
+
+                var name = pattern.substring(position + 1, end);
+                if (name.isEmpty()) {
+                    throw invalidPatternError(pattern);
+                }
+                result = name.equals("*") ? result.anyMember() : result.member(name);
+                position = end;
+            } else if (character == '[') {
+                var end = pattern.indexOf(']', position);
+                if (end == -1) {
+                    throw invalidPatternError(pattern);
+                }
+
+                var index = pattern.substring(position + 1, end);
+                if (index.equals("*")) {
+                    result = result.anyIndex();
+                } else {
+                    result = result.index(parseIndex(index, pattern));
+                }
+                position = end + 1;
+            } else {
+                throw invalidPatternError(pattern);
+            }
+        }
+
+        return result;
+    }
+
+    private static int parseIndex(String index, String pattern) {
+        if (index.isEmpty() || index.length() > 9) {
+            throw invalidPatternError(pattern);
+        }
+
+        var result = 0;
+        for (var position = 0; position < index.length(); position++) {
+            var digit = index.charAt(position);
+            if (digit < '0' || digit > '9') {
+                throw invalidPatternError(pattern);
+            }
+            result = result * 10 + (digit - '0');
+        }
+        return result;
+    }
+
+    private static IllegalArgumentException invalidPatternError(String pattern) {
+        return new IllegalArgumentException("Invalid JSONPath pattern: " + pattern);
+    }
+
+    /**
+     * Create a new pattern that matches the value of the member with the given
+     * name of any value matched by this pattern.
+     *
+     * @param memberName The name of the member.
+     * @return A new {@code Json5PathPattern}.
+     */
+    public Json5PathPattern member(String memberName) {
+        return append(memberName, ANY_MEMBER);
+    }
+
+    /**
+     * Create a new pattern that matches the values of all members of any
+     * value matched by this pattern.
+     *
+     * @return A new {@code Json5PathPattern}.
+     */
+    public Json5PathPattern anyMember() {
+        return append(null, ANY_MEMBER);
+    }
+
+    /**
+     * Create a new pattern that matches the element with the given index of
+     * any value matched by this pattern.
+     *
+     * @param index The index of the element.
+     * @return A new {@code Json5PathPattern}.
+     */
+    public Json5PathPattern index(int index) {
+        if (index < 0) {
+            throw new IllegalArgumentException("index must be non-negative");
+        }
+        return append(null, index);
+    }
+
+    /**
+     * Create a new pattern that matches all elements of any value matched by
+     * this pattern.
+     *
+     * @return A new {@code Json5PathPattern}.
+     */
+    public Json5PathPattern anyIndex() {
+        return append(null, ANY_INDEX);
+    }
+
+    private Json5PathPattern append(String memberName, int index) {
+        var segmentCount = this.indices.length;
+        var memberNames = Arrays.copyOf(this.memberNames, segmentCount + 1);
+        var indices = Arrays.copyOf(this.indices, segmentCount + 1);
+        memberNames[segmentCount] = memberName;
+        indices[segmentCount] = index;
+        return new Json5PathPattern(memberNames, indices);
+    }
+
+    /**
+     * The number of segments in this pattern. The root pattern has no
+     * segments.
+     *
+     * @return The number of segments in this pattern.
+     */
+    public int segmentCount() {
+        return this.indices.length;
+    }
+
+    /**
+     * Whether the given segment of this pattern matches the member of an
+     * object with the given name.
+     *
+     * @param segmentIndex The index of the segment.
+     * @param memberName The name of the member.
+     * @return {@code true} if the segment matches the member, otherwise
+     * {@code false}.
+     */
+    public boolean matchesMember(int segmentIndex, String memberName) {
+        var segmentMemberName = this.memberNames[segmentIndex];
+        if (segmentMemberName == null) {
+            return this.indices[segmentIndex] == ANY_MEMBER;
+        } else {
+            return segmentMemberName.equals(memberName);
+        }
+    }
+
+    /**
+     * Whether the given segment of this pattern matches the element of an
+     * array with the given index.
+     *
+     * @param segmentIndex The index of the segment.
+     * @param index The index of the element.
+     * @return {@code true} if the segment matches the element, otherwise
+     * {@code false}.
+     */
+    public boolean matchesIndex(int segmentIndex, int index) {
+        if (this.memberNames[segmentIndex] != null) {
+            return false;
+        }
+
+        var segmentIndexValue = this.indices[segmentIndex];
+        return segmentIndexValue == ANY_INDEX || segmentIndexValue == index;
+    }
+
+    @Override
+    public String toString() {
+        var builder = new StringBuilder("$");
+        for (var segmentIndex = 0; segmentIndex < this.indices.length; segmentIndex++) {
+            var memberName = this.memberNames[segmentIndex];
+            var index = this.indices[segmentIndex];
+            if (memberName != null) {
+                builder.append('.').append(memberName);
+            } else if (index == ANY_MEMBER) {
+                builder.append(".*");
+            } else if (index == ANY_INDEX) {
+                builder.append("[*]");
+            } else {
+                builder.append('[').append(index).append(']');
+            }
+        }
+        return builder.toString();
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+
+        if (!(other instanceof Json5PathPattern otherPattern)) {
+            return false;
+        }
+
+        return Arrays.equals(this.memberNames, otherPattern.memberNames) &&
+            Arrays.equals(this.indices, otherPattern.indices);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(this.memberNames) + Arrays.hashCode(this.indices);
+    }
+}
@@ -4,6 +4,8 @@ import org.zwobble.json5.parser.Json5Parser;
 import org.zwobble.json5.values.*;
 import org.zwobble.sourcetext.SourceText;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -22,6 +24,12 @@ public class Json5ObjectReader {
         return new Json5ObjectReader(castJson5Value(Json5Object.class, document));
     }
 
+    public static Json5ObjectReader parse(Path path) throws IOException {
+        var document = Json5Parser.parse(path);
+
+        return new Json5ObjectReader(castJson5Value(Json5Object.class, document));
+    }
+
     public Json5ObjectReader getObject(String memberName) {
         return getObjectOrNone(memberName)
             .orElseThrow(() -> Json5ObjectReadError.missingMember(
@@ -0,0 +1,47 @@
+package org.zwobble.json5.sources;
+
+import org.zwobble.sourcetext.SourceText;
+
+/**
+ * The source of a JSON5 document.
+ * <p>
+ * Locations in the source are recorded as offsets, which need not be
+ * character indices: for instance, offsets into UTF-8 encoded text are byte
+ * indices. The source converts offsets to character indices in its
+ * {@link SourceText} when a source position is actually required.
+ */
+public interface Json5Source {
+    /**
+     * Create a source for JSON5 text, where offsets are character indices.
+     *
+     * @param sourceText The JSON5 text.
+     * @return A new {@code Json5Source}.
+     */
+    static Json5Source of(SourceText sourceText) {
+        return new Json5Source() {
+            @Override
+            public SourceText sourceText() {
+                return sourceText;
+            }
+
+            @Override
+            public int characterIndex(int offset) {
+                return offset;
+            }
+        };
+    }
+
+    /**
+     * The source as text.
+     */
+    SourceText sourceText();
+
+    /**
+     * Convert an offset in the source to a character index in the source
+     * text.
+     *
+     * @param offset The offset in the source.
+     * @return The corresponding character index in {@link #sourceText()}.
+     */
+    int characterIndex(int offset);
+}
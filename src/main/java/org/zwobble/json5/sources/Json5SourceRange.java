@@ -0,0 +1,130 @@
+package org.zwobble.json5.sources;
+
+import org.zwobble.sourcetext.SourceRange;
+import org.zwobble.sourcetext.SourceText;
+
+/**
+ * A range of characters in the source of a JSON5 document.
+ * <p>
+ * Only the offsets of the start and end of the range are recorded. The
+ * corresponding {@link SourceRange}, and its positions, are created when
+ * requested, so that parsing doesn't need to create positions for every value
+ * in a document.
+ */
+public final class Json5SourceRange {
+    /**
+     * Create a {@code Json5SourceRange} for an existing {@link SourceRange}.
+     *
+     * @param sourceRange The source range, or {@code null}.
+     * @return A new {@code Json5SourceRange}, or {@code null} if
+     * {@code sourceRange} is {@code null}.
+     */
+    public static Json5SourceRange of(SourceRange sourceRange) {
+        if (sourceRange == null) {
+            return null;
+        }
+        return new Json5SourceRange(
+            sourceRange.sourceText(),
+            sourceRange.start().characterIndex(),
+            sourceRange.end().characterIndex()
+        );
+    }
+
+    private final Json5Source source;
+    private final int startOffset;
+    private final int endOffset;
+
+    /**
+     * Create a range of characters in source text.
+     *
+     * @param sourceText The source text.
+     * @param startIndex The character index of the start of the range,
+     * inclusive.
+     * @param endIndex The character index of the end of the range, exclusive.
+     */
+    public Json5SourceRange(SourceText sourceText, int startIndex, int endIndex) {
+        this(Json5Source.of(sourceText), startIndex, endIndex);
+    }
+
+    /**
+     * Create a range in a source, where the start and end of the range are
+     * offsets that the source converts to character indices. For instance,
+     * offsets into UTF-8 encoded text are byte indices.
+     *
+     * @param source The source of the range.
+     * @param startOffset The offset of the start of the range, inclusive.
+     * @param endOffset The offset of the end of the range, exclusive.
+     */
+    public Json5SourceRange(Json5Source source, int startOffset, int endOffset) {
+        this.source = source;
+        this.startOffset = startOffset;
+        this.endOffset = endOffset;
+    }
+
+    /**
+     * The source that the offsets of the range are in.
+     *
+     * @return The source of the range.
+     */
+    public Json5Source source() {
+        return this.source;
+    }
+
+    /**
+     * The source text that the range is in.
+     *
+     * @return The source text of the source of the range.
+     */
+    public SourceText sourceText() {
+        return this.source.sourceText();
+    }
+
+    /**
+     * The character index of the start of the range, inclusive.
+     */
+    public int startIndex() {
+        return this.source.characterIndex(this.startOffset);
+    }
+
+    /**
+     * The character index of the end of the range, exclusive.
+     */
+    public int endIndex() {
+        return this.source.characterIndex(this.endOffset);
+    }
+
+    /**
+     * Create a range from the start of this range to the end of
+     * {@code other}.
+     *
+     * @param other The range to end at.
+     * @return A new {@code Json5SourceRange}.
+     */
+    public Json5SourceRange to(Json5SourceRange other) {
+        return new Json5SourceRange(this.source, this.startOffset, other.endOffset);
+    }
+
+    /**
+     * Create a range in the same source as this range.
+     *
+     * @param startOffset The offset of the start of the range.
+     * @param endOffset The offset of the end of the range.
+     * @return A new {@code Json5SourceRange}.
+     */
+    public Json5SourceRange withOffsets(int startOffset, int endOffset) {
+        return new Json5SourceRange(this.source, startOffset, endOffset);
+    }
+
+    /**
+     * Convert this range to a {@link SourceRange}, creating the positions
+     * of its start and end.
+     *
+     * @return A new {@code SourceRange} with the same start and end as this
+     * range.
+     */
+    public SourceRange toSourceRange() {
+        var sourceText = sourceText();
+        return sourceText.characterPosition(startIndex())
+            .to(sourceText.characterPosition(endIndex()));
+    }
+}
@@ -1,27 +1,383 @@
 package org.zwobble.json5.values;
 
 import org.zwobble.json5.paths.Json5Path;
+import org.zwobble.json5.sources.Json5Source;
+import org.zwobble.json5.sources.Json5SourceRange;
 import org.zwobble.sourcetext.SourceRange;
 
+import java.util.AbstractList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.function.Supplier;
 
 public final class Json5Array implements Json5Value {
+    // An array is either a list of elements, or, for arrays of finite numbers
+    // that fit in a long, primitive arrays from which each element is created
+    // when requested.
     private final List<Json5Value> elements;
+    private final long[] unscaledValues;
+    private final int[] scales;
+    private final int[] elementOffsets;
+    // For lazy arrays, all of the above are null, and the contents of the
+    // array are loaded from the loader when first accessed. The loader is
+    // then discarded, so that anything it refers to, such as the source of
+    // the array, can be garbage collected.
+    private Supplier<Json5Array> loader;
+    private volatile Json5Array loaded;
     private final Json5Path path;
-    private final SourceRange sourceRange;
+    private final Json5SourceRange sourceRange;
 
     public Json5Array(
         List<Json5Value> elements,
         Json5Path path,
         SourceRange sourceRange
+    ) {
+        this(elements, path, Json5SourceRange.of(sourceRange));
+    }
+
+    /**
+     * Create an array from a list of its elements. Lists that don't support
+     * fast random access are copied.
+     *
+     * @param elements The elements of the array.
+     * @param path The path of the array.
+     * @param sourceRange The source range of the array, or {@code null}. Its
+     * offsets are interpreted by the source of the range.
+     * @return A new {@code Json5Array}.
+     */
+    public static Json5Array of(
+        List<Json5Value> elements,
+        Json5Path path,
+        Json5SourceRange sourceRange
+    ) {
+        return new Json5Array(elements, path, sourceRange);
+    }
+
+    private Json5Array(
+        List<Json5Value> elements,
+        Json5Path path,
+        Json5SourceRange sourceRange
+    ) {
+        // Copy lists without random access, so that indexing is always fast.
+        this(
+            elements instanceof RandomAccess
+                ? Collections.unmodifiableList(elements)
+                : List.copyOf(elements),
+            null,
+            null,
+            null,
+            null,
+            path,
+            sourceRange
+        );
+    }
+
+    private Json5Array(
+        List<Json5Value> elements,
+        long[] unscaledValues,
+        int[] scales,
+        int[] elementOffsets,
+        Supplier<Json5Array> loader,
+        Json5Path path,
+        Json5SourceRange sourceRange
     ) {
         this.elements = elements;
+        this.unscaledValues = unscaledValues;
+        this.scales = scales;
+        this.elementOffsets = elementOffsets;
+        this.loader = loader;
         this.path = path;
         this.sourceRange = sourceRange;
     }
 
-    public Iterable<Json5Value> elements() {
-        return elements;
+    /**
+     * Create an array of finite numbers, stored as primitive arrays. The
+     * elements of the array are created when requested.
+     * <p>
+     * The arrays are used directly, so must not be modified after calling
+     * this method.
+     *
+     * @param unscaledValues The unscaled value of each element, as in
+     * {@link Json5NumberFinite#Json5NumberFinite(long, int, Json5Path, Json5SourceRange)}.
+     * @param scales The scale of each element, or {@code null} if every
+     * element has a scale of zero.
+     * @param elementOffsets The start and end offset of each element, in the
+     * same source as {@code sourceRange}, or {@code null} if the array has no
+     * source range.
+     * @param path The path of the array.
+     * @param sourceRange The source range of the array.
+     * @return A new {@code Json5Array}.
+     */
+    public static Json5Array ofNumbers(
+        long[] unscaledValues,
+        int[] scales,
+        int[] elementOffsets,
+        Json5Path path,
+        Json5SourceRange sourceRange
+    ) {
+        return new Json5Array(
+            null,
+            unscaledValues,
+            scales,
+            elementOffsets,
+            null,
+            path,
+            sourceRange
+        );
+    }
+
+    /**
+     * Create an array whose elements are loaded when first accessed.
+     * <p>
+     * The loader is called the first time that the elements of the array are
+     * accessed, and its result is used for all later accesses. If the loader
+     * throws an exception, the exception is thrown to the caller that
+     * accessed the elements, and the loader is called again on the next
+     * access.
+     *
+     * @param loader The loader of the contents of the array. The path and
+     * source range of the loaded array are ignored.
+     * @param path The path of the array.
+     * @param sourceRange The source range of the array.
+     * @return A new {@code Json5Array}.
+     */
+    public static Json5Array lazy(
+        Supplier<Json5Array> loader,
+        Json5Path path,
+        Json5SourceRange sourceRange
+    ) {
+        return new Json5Array(null, null, null, null, loader, path, sourceRange);
+    }
+
+    /**
+     * The loader of a lazy array whose elements haven't been loaded yet, or
+     * null if there is no such loader.
+     */
+    synchronized Supplier<Json5Array> pendingLoader() {
+        return this.loader;
+    }
+
+    /**
+     * If this is an array of numbers stored as primitive arrays, create a
+     * copy with the same storage, with its source ranges moved by the given
+     * number of characters into the given source. Otherwise, return null.
+     * <p>
+     * The offsets of the copy are character indices, so the offsets of this
+     * array are converted to character indices by its own source first.
+     */
+    Json5Array relocateNumbers(Json5Source source, int characterDelta, Json5Path path) {
+        if (isLazy()) {
+            return contents().relocateNumbers(source, characterDelta, path);
+        }
+        if (this.unscaledValues == null || this.elementOffsets == null) {
+            return null;
+        }
+
+        var previousSource = this.sourceRange.source();
+        var elementOffsets = new int[this.elementOffsets.length];
+        for (var index = 0; index < elementOffsets.length; index++) {
+            elementOffsets[index] =
+                previousSource.characterIndex(this.elementOffsets[index]) + characterDelta;
+        }
+        return ofNumbers(
+            this.unscaledValues,
+            this.scales,
+            elementOffsets,
+            path,
+            new Json5SourceRange(
+                source,
+                this.sourceRange.startIndex() + characterDelta,
+                this.sourceRange.endIndex() + characterDelta
+            )
+        );
+    }
+
+    private boolean isLazy() {
+        return this.elements == null && this.unscaledValues == null;
+    }
+
+    private Json5Array contents() {
+        var loaded = this.loaded;
+        if (loaded == null) {
+            synchronized (this) {
+                loaded = this.loaded;
+                if (loaded == null) {
+                    loaded = this.loader.get();
+                    this.loaded = loaded;
+                    this.loader = null;
+                }
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * The elements of the array.
+     * <p>
+     * The list is unmodifiable, and supports fast random access. Its
+     * spliterator splits by index, so large arrays can be processed using
+     * parallel streams.
+     *
+     * @return The elements of the array.
+     */
+    public List<Json5Value> elements() {
+        if (isLazy()) {
+            return contents().elements();
+        }
+
+        if (this.elements != null) {
+            return this.elements;
+        }
+
+        return new NumberElements();
+    }
+
+    /**
+     * The number of elements in the array.
+     *
+     * @return The number of elements in the array.
+     */
+    public int size() {
+        if (isLazy()) {
+            return contents().size();
+        }
+
+        return this.elements == null
+            ? this.unscaledValues.length
+            : this.elements.size();
+    }
+
+    /**
+     * Get the element at the given index.
+     *
+     * @param index The index of the element.
+     * @return The element at the given index.
+     * @throws IndexOutOfBoundsException If the index is out of range.
+     */
+    public Json5Value get(int index) {
+        if (isLazy()) {
+            return contents().get(index);
+        }
+
+        if (this.elements == null) {
+            Objects.checkIndex(index, this.unscaledValues.length);
+            return numberElement(index);
+        } else {
+            return this.elements.get(index);
+        }
+    }
+
+    private final class NumberElements extends AbstractList<Json5Value> implements RandomAccess {
+        @Override
+        public Json5Value get(int index) {
+            return Json5Array.this.get(index);
+        }
+
+        @Override
+        public int size() {
+            return unscaledValues.length;
+        }
+    }
+
+    private Json5NumberFinite numberElement(int index) {
+        return new Json5NumberFinite(
+            this.unscaledValues[index],
+            this.scales == null ? 0 : this.scales[index],
+            this.path == null ? null : this.path.index(index),
+            this.elementOffsets == null ? null : this.sourceRange.withOffsets(
+                this.elementOffsets[index * 2],
+                this.elementOffsets[index * 2 + 1]
+            )
+        );
+    }
+
+    /**
+     * Convert the elements of the array to {@code long}s, as
+     * {@link Json5NumberFinite#longValueExact()}.
+     *
+     * @return A new array of the elements as {@code long}s.
+     * @throws ArithmeticException If any element is not an integer in the
+     * range of a {@code long}.
+     * @throws IllegalStateException If any element is not a number.
+     */
+    public long[] asLongArray() {
+        if (isLazy()) {
+            return contents().asLongArray();
+        }
+
+        if (this.elements == null) {
+            if (this.scales == null) {
+                return this.unscaledValues.clone();
+            }
+
+            var result = new long[this.unscaledValues.length];
+            for (var index = 0; index < result.length; index++) {
+                result[index] = Json5NumberFinite.compactLongValueExact(
+                    this.unscaledValues[index],
+                    this.scales[index]
+                );
+            }
+            return result;
+        }
+
+        var result = new long[this.elements.size()];
+        for (var index = 0; index < result.length; index++) {
+            var element = this.elements.get(index);
+            if (element instanceof Json5NumberFinite number) {
+                result[index] = number.longValueExact();
+            } else if (element instanceof Json5Number) {
+                throw new ArithmeticException("Non-finite number");
+            } else {
+                throw notNumberError(index);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Convert the elements of the array to {@code double}s, as
+     * {@link Json5NumberFinite#doubleValue()}. Non-finite numbers are
+     * converted to the corresponding {@code double} values.
+     *
+     * @return A new array of the elements as {@code double}s.
+     * @throws IllegalStateException If any element is not a number.
+     */
+    public double[] asDoubleArray() {
+        if (isLazy()) {
+            return contents().asDoubleArray();
+        }
+
+        if (this.elements == null) {
+            var result = new double[this.unscaledValues.length];
+            for (var index = 0; index < result.length; index++) {
+                result[index] = Json5NumberFinite.compactDoubleValue(
+                    this.unscaledValues[index],
+                    this.scales == null ? 0 : this.scales[index]
+                );
+            }
+            return result;
+        }
+
+        var result = new double[this.elements.size()];
+        for (var index = 0; index < result.length; index++) {
+            result[index] = switch (this.elements.get(index)) {
+                case Json5NumberFinite number -> number.doubleValue();
+                case Json5NumberNan number -> Double.NaN;
+                case Json5NumberPositiveInfinity number -> Double.POSITIVE_INFINITY;
+                case Json5NumberNegativeInfinity number -> Double.NEGATIVE_INFINITY;
+                default -> throw notNumberError(index);
+            };
+        }
+        return result;
+    }
+
+    private IllegalStateException notNumberError(int index) {
+        return new IllegalStateException(String.format(
+            "Element %s of the array is not a number",
+            index
+        ));
     }
 
     @Override
@@ -31,6 +387,11 @@ public final class Json5Array implements Json5Value {
 
     @Override
     public SourceRange sourceRange() {
+        return this.sourceRange == null ? null : this.sourceRange.toSourceRange();
+    }
+
+    @Override
+    public Json5SourceRange json5SourceRange() {
         return this.sourceRange;
     }
 }
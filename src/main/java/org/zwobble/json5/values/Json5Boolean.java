@@ -1,17 +1,57 @@
 package org.zwobble.json5.values;
 
 import org.zwobble.json5.paths.Json5Path;
+import org.zwobble.json5.sources.Json5SourceRange;
 import org.zwobble.sourcetext.SourceRange;
 
 public final class Json5Boolean implements Json5Value {
+    /**
+     * A true value without a path or source range, as produced when parsing
+     * without tracking locations.
+     */
+    public static final Json5Boolean UNTRACKED_TRUE =
+        new Json5Boolean(true, null, (Json5SourceRange) null);
+
+    /**
+     * A false value without a path or source range, as produced when parsing
+     * without tracking locations.
+     */
+    public static final Json5Boolean UNTRACKED_FALSE =
+        new Json5Boolean(false, null, (Json5SourceRange) null);
+
     private final boolean value;
     private final Json5Path path;
-    private final SourceRange sourceRange;
+    private final Json5SourceRange sourceRange;
 
     public Json5Boolean(
         boolean value,
         Json5Path path,
         SourceRange sourceRange
+    ) {
+        this(value, path, Json5SourceRange.of(sourceRange));
+    }
+
+    /**
+     * Create a boolean value.
+     *
+     * @param value The value.
+     * @param path The path of the boolean value.
+     * @param sourceRange The source range of the boolean value, or
+     * {@code null}. The offsets of the range are interpreted by its source.
+     * @return A new {@code Json5Boolean}.
+     */
+    public static Json5Boolean of(
+        boolean value,
+        Json5Path path,
+        Json5SourceRange sourceRange
+    ) {
+        return new Json5Boolean(value, path, sourceRange);
+    }
+
+    private Json5Boolean(
+        boolean value,
+        Json5Path path,
+        Json5SourceRange sourceRange
     ) {
         this.value = value;
         this.path = path;
@@ -29,6 +69,11 @@ public final class Json5Boolean implements Json5Value {
 
     @Override
     public SourceRange sourceRange() {
+        return this.sourceRange == null ? null : this.sourceRange.toSourceRange();
+    }
+
+    @Override
+    public Json5SourceRange json5SourceRange() {
         return this.sourceRange;
     }
 }
@@ -1,16 +1,43 @@
 package org.zwobble.json5.values;
 
+import org.zwobble.json5.sources.Json5SourceRange;
 import org.zwobble.sourcetext.SourceRange;
 
 public class Json5Member {
     private final Json5MemberName name;
     private final Json5Value value;
-    private final SourceRange sourceRange;
+    private final Json5SourceRange sourceRange;
 
     public Json5Member(
         Json5MemberName name,
         Json5Value value,
         SourceRange sourceRange
+    ) {
+        this(name, value, Json5SourceRange.of(sourceRange));
+    }
+
+    /**
+     * Create a member of an object. The source range of a member runs from
+     * the start of its name to the end of its value.
+     *
+     * @param name The name of the member.
+     * @param value The value of the member.
+     * @param sourceRange The source range of the member, or {@code null}. Its
+     * offsets are interpreted by the source of the range.
+     * @return A new {@code Json5Member}.
+     */
+    public static Json5Member of(
+        Json5MemberName name,
+        Json5Value value,
+        Json5SourceRange sourceRange
+    ) {
+        return new Json5Member(name, value, sourceRange);
+    }
+
+    private Json5Member(
+        Json5MemberName name,
+        Json5Value value,
+        Json5SourceRange sourceRange
     ) {
         this.name = name;
         this.value = value;
@@ -26,6 +53,17 @@ public class Json5Member {
     }
 
     public SourceRange sourceRange() {
+        return this.sourceRange == null ? null : this.sourceRange.toSourceRange();
+    }
+
+    /**
+     * The source range of the member as offsets into its source, or
+     * {@code null} if the member was parsed without tracking locations.
+     * Unlike {@link #sourceRange()}, this doesn't create source positions.
+     *
+     * @return The source range of the member.
+     */
+    public Json5SourceRange json5SourceRange() {
         return this.sourceRange;
     }
 }
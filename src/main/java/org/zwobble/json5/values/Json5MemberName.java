@@ -1,12 +1,30 @@
 package org.zwobble.json5.values;
 
+import org.zwobble.json5.sources.Json5SourceRange;
 import org.zwobble.sourcetext.SourceRange;
 
 public class Json5MemberName {
     private final String value;
-    private final SourceRange sourceRange;
+    private final Json5SourceRange sourceRange;
 
     public Json5MemberName(String value, SourceRange sourceRange) {
+        this(value, Json5SourceRange.of(sourceRange));
+    }
+
+    /**
+     * Create a member name. The value is the decoded name, so escape
+     * sequences and quotes in the source have already been removed.
+     *
+     * @param value The name.
+     * @param sourceRange The source range of the member name, or {@code null}.
+     * Its offsets are interpreted by the source of the range.
+     * @return A new {@code Json5MemberName}.
+     */
+    public static Json5MemberName of(String value, Json5SourceRange sourceRange) {
+        return new Json5MemberName(value, sourceRange);
+    }
+
+    private Json5MemberName(String value, Json5SourceRange sourceRange) {
         this.value = value;
         this.sourceRange = sourceRange;
     }
@@ -16,6 +34,17 @@ public class Json5MemberName {
     }
 
     public SourceRange sourceRange() {
+        return this.sourceRange == null ? null : this.sourceRange.toSourceRange();
+    }
+
+    /**
+     * The source range of the member name as offsets into its source, or
+     * {@code null} if the member name was parsed without tracking locations.
+     * Unlike {@link #sourceRange()}, this doesn't create source positions.
+     *
+     * @return The source range of the member name.
+     */
+    public Json5SourceRange json5SourceRange() {
         return this.sourceRange;
     }
 }
@@ -1,13 +1,38 @@
 package org.zwobble.json5.values;
 
 import org.zwobble.json5.paths.Json5Path;
+import org.zwobble.json5.sources.Json5SourceRange;
 import org.zwobble.sourcetext.SourceRange;
 
 public final class Json5Null implements Json5Value {
+    /**
+     * A null value without a path or source range, as produced when parsing
+     * without tracking locations.
+     */
+    public static final Json5Null UNTRACKED =
+        new Json5Null(null, (Json5SourceRange) null);
+
     private final Json5Path path;
-    private final SourceRange sourceRange;
+    private final Json5SourceRange sourceRange;
 
     public Json5Null(Json5Path path, SourceRange sourceRange) {
+        this(path, Json5SourceRange.of(sourceRange));
+    }
+
+    /**
+     * Create a null value.
+     *
+     * @param path The path of the null value.
+     * @param sourceRange The source range of the null value, or {@code null}.
+     * Its offsets are converted to character indices by the source of the
+     * range.
+     * @return A new {@code Json5Null}.
+     */
+    public static Json5Null of(Json5Path path, Json5SourceRange sourceRange) {
+        return new Json5Null(path, sourceRange);
+    }
+
+    private Json5Null(Json5Path path, Json5SourceRange sourceRange) {
         this.path = path;
         this.sourceRange = sourceRange;
     }
@@ -19,6 +44,11 @@ public final class Json5Null implements Json5Value {
 
     @Override
     public SourceRange sourceRange() {
+        return this.sourceRange == null ? null : this.sourceRange.toSourceRange();
+    }
+
+    @Override
+    public Json5SourceRange json5SourceRange() {
         return this.sourceRange;
     }
 }
@@ -1,36 +1,186 @@
 package org.zwobble.json5.values;
 
 import org.zwobble.json5.paths.Json5Path;
+import org.zwobble.json5.sources.Json5SourceRange;
 import org.zwobble.sourcetext.SourceRange;
 
 import java.math.BigDecimal;
 
 public final class Json5NumberFinite implements Json5Number {
-    private final BigDecimal value;
+    // The powers of ten that can be represented exactly as a double.
+    private static final double[] DOUBLE_POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+        1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22,
+    };
+
+    private static final long MAX_EXACT_DOUBLE_INTEGER = 1L << 53;
+
+    // Most numbers have few enough digits to be held as an unscaled long and
+    // a scale, with the same meaning as in BigDecimal. In that case, the
+    // BigDecimal is only created when requested. Since BigDecimal is
+    // immutable, it doesn't matter if more than one thread creates it.
+    private final boolean isCompact;
+    private final long unscaledValue;
+    private final int scale;
+    private BigDecimal value;
     private final Json5Path path;
-    private final SourceRange sourceRange;
+    private final Json5SourceRange sourceRange;
 
     public Json5NumberFinite(
         BigDecimal value,
         Json5Path path,
         SourceRange sourceRange
     ) {
+        this(value, path, Json5SourceRange.of(sourceRange));
+    }
+
+    /**
+     * Create a finite number from its exact decimal value.
+     *
+     * @param value The value.
+     * @param path The path of the finite number.
+     * @param sourceRange The source range of the finite number, or
+     * {@code null}. Its offsets are in terms of the source of the range, such
+     * as byte indices for UTF-8 input.
+     * @return A new {@code Json5NumberFinite}.
+     */
+    public static Json5NumberFinite of(
+        BigDecimal value,
+        Json5Path path,
+        Json5SourceRange sourceRange
+    ) {
+        return new Json5NumberFinite(value, path, sourceRange);
+    }
+
+    private Json5NumberFinite(
+        BigDecimal value,
+        Json5Path path,
+        Json5SourceRange sourceRange
+    ) {
+        this.isCompact = false;
+        this.unscaledValue = 0;
+        this.scale = 0;
         this.value = value;
         this.path = path;
         this.sourceRange = sourceRange;
     }
 
+    /**
+     * Create a finite number with the value {@code unscaledValue × 10^-scale}.
+     *
+     * @param unscaledValue The unscaled value of the number.
+     * @param scale The scale of the number.
+     * @param path The path of the number.
+     * @param sourceRange The source range of the number.
+     * @see BigDecimal#valueOf(long, int)
+     */
+    public Json5NumberFinite(
+        long unscaledValue,
+        int scale,
+        Json5Path path,
+        Json5SourceRange sourceRange
+    ) {
+        this.isCompact = true;
+        this.unscaledValue = unscaledValue;
+        this.scale = scale;
+        this.value = null;
+        this.path = path;
+        this.sourceRange = sourceRange;
+    }
+
     @Override
     public Json5Path path() {
         return this.path;
     }
 
     public BigDecimal value() {
+        var value = this.value;
+        if (value == null) {
+            value = BigDecimal.valueOf(this.unscaledValue, this.scale);
+            this.value = value;
+        }
         return value;
     }
 
+    /**
+     * Convert the number to a {@code long}, as
+     * {@link BigDecimal#longValue()}.
+     *
+     * @return The number converted to a {@code long}.
+     */
+    public long longValue() {
+        if (this.isCompact && this.scale == 0) {
+            return this.unscaledValue;
+        } else {
+            return value().longValue();
+        }
+    }
+
+    /**
+     * Convert the number to a {@code long}, as
+     * {@link BigDecimal#longValueExact()}.
+     *
+     * @return The number converted to a {@code long}.
+     * @throws ArithmeticException If the number has a non-zero fractional
+     * part, or is out of the range of a {@code long}.
+     */
+    public long longValueExact() {
+        if (this.isCompact) {
+            return compactLongValueExact(this.unscaledValue, this.scale);
+        } else {
+            return this.value.longValueExact();
+        }
+    }
+
+    static long compactLongValueExact(long unscaledValue, int scale) {
+        if (scale == 0) {
+            return unscaledValue;
+        } else {
+            return BigDecimal.valueOf(unscaledValue, scale).longValueExact();
+        }
+    }
+
+    /**
+     * Convert the number to the nearest {@code double}, as
+     * {@link BigDecimal#doubleValue()}.
+     *
+     * @return The number converted to a {@code double}.
+     */
+    public double doubleValue() {
+        if (this.isCompact) {
+            return compactDoubleValue(this.unscaledValue, this.scale);
+        } else {
+            return this.value.doubleValue();
+        }
+    }
+
+    static double compactDoubleValue(long unscaledValue, int scale) {
+        // When both the unscaled value and the power of ten are exactly
+        // representable as doubles, a single multiplication or division is
+        // correctly rounded, so gives the same result as BigDecimal.
+        if (
+            unscaledValue >= -MAX_EXACT_DOUBLE_INTEGER &&
+                unscaledValue <= MAX_EXACT_DOUBLE_INTEGER &&
+                scale > -DOUBLE_POWERS_OF_TEN.length &&
+                scale < DOUBLE_POWERS_OF_TEN.length
+        ) {
+            if (scale >= 0) {
+                return unscaledValue / DOUBLE_POWERS_OF_TEN[scale];
+            } else {
+                return unscaledValue * DOUBLE_POWERS_OF_TEN[-scale];
+            }
+        } else {
+            return BigDecimal.valueOf(unscaledValue, scale).doubleValue();
+        }
+    }
+
     @Override
     public SourceRange sourceRange() {
+        return this.sourceRange == null ? null : this.sourceRange.toSourceRange();
+    }
+
+    @Override
+    public Json5SourceRange json5SourceRange() {
         return this.sourceRange;
     }
 }
@@ -1,13 +1,30 @@
 package org.zwobble.json5.values;
 
 import org.zwobble.json5.paths.Json5Path;
+import org.zwobble.json5.sources.Json5SourceRange;
 import org.zwobble.sourcetext.SourceRange;
 
 public final class Json5NumberNan implements Json5Number {
     private final Json5Path path;
-    private final SourceRange sourceRange;
+    private final Json5SourceRange sourceRange;
 
     public Json5NumberNan(Json5Path path, SourceRange sourceRange) {
+        this(path, Json5SourceRange.of(sourceRange));
+    }
+
+    /**
+     * Create a NaN value.
+     *
+     * @param path The path of the NaN value.
+     * @param sourceRange The source range of the NaN value, or {@code null}.
+     * Its offsets are interpreted by the source of the range.
+     * @return A new {@code Json5NumberNan}.
+     */
+    public static Json5NumberNan of(Json5Path path, Json5SourceRange sourceRange) {
+        return new Json5NumberNan(path, sourceRange);
+    }
+
+    private Json5NumberNan(Json5Path path, Json5SourceRange sourceRange) {
         this.path = path;
         this.sourceRange = sourceRange;
     }
@@ -19,6 +36,11 @@ public final class Json5NumberNan implements Json5Number {
 
     @Override
     public SourceRange sourceRange() {
+        return this.sourceRange == null ? null : this.sourceRange.toSourceRange();
+    }
+
+    @Override
+    public Json5SourceRange json5SourceRange() {
         return this.sourceRange;
     }
 }
@@ -1,15 +1,38 @@
 package org.zwobble.json5.values;
 
 import org.zwobble.json5.paths.Json5Path;
+import org.zwobble.json5.sources.Json5SourceRange;
 import org.zwobble.sourcetext.SourceRange;
 
 public final class Json5NumberNegativeInfinity implements Json5Number {
     private final Json5Path path;
-    private final SourceRange sourceRange;
+    private final Json5SourceRange sourceRange;
 
     public Json5NumberNegativeInfinity(
         Json5Path path,
         SourceRange sourceRange
+    ) {
+        this(path, Json5SourceRange.of(sourceRange));
+    }
+
+    /**
+     * Create a negative infinity value, written as {@code -Infinity}.
+     *
+     * @param path The path of the negative infinity value.
+     * @param sourceRange The source range of the negative infinity value, or
+     * {@code null}. Its offsets are interpreted by the source of the range.
+     * @return A new {@code Json5NumberNegativeInfinity}.
+     */
+    public static Json5NumberNegativeInfinity of(
+        Json5Path path,
+        Json5SourceRange sourceRange
+    ) {
+        return new Json5NumberNegativeInfinity(path, sourceRange);
+    }
+
+    private Json5NumberNegativeInfinity(
+        Json5Path path,
+        Json5SourceRange sourceRange
     ) {
         this.path = path;
         this.sourceRange = sourceRange;
@@ -22,6 +45,11 @@ public final class Json5NumberNegativeInfinity implements Json5Number {
 
     @Override
     public SourceRange sourceRange() {
+        return this.sourceRange == null ? null : this.sourceRange.toSourceRange();
+    }
+
+    @Override
+    public Json5SourceRange json5SourceRange() {
         return this.sourceRange;
     }
 }
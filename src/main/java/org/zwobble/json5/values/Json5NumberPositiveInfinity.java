@@ -1,15 +1,39 @@
 package org.zwobble.json5.values;
 
 import org.zwobble.json5.paths.Json5Path;
+import org.zwobble.json5.sources.Json5SourceRange;
 import org.zwobble.sourcetext.SourceRange;
 
 public final class Json5NumberPositiveInfinity implements Json5Number {
     private final Json5Path path;
-    private final SourceRange sourceRange;
+    private final Json5SourceRange sourceRange;
 
     public Json5NumberPositiveInfinity(
         Json5Path path,
         SourceRange sourceRange
+    ) {
+        this(path, Json5SourceRange.of(sourceRange));
+    }
+
+    /**
+     * Create a positive infinity value, such as {@code Infinity} or
+     * {@code +Infinity}.
+     *
+     * @param path The path of the positive infinity value.
+     * @param sourceRange The source range of the positive infinity value, or
+     * {@code null}. Its offsets are interpreted by the source of the range.
+     * @return A new {@code Json5NumberPositiveInfinity}.
+     */
+    public static Json5NumberPositiveInfinity of(
+        Json5Path path,
+        Json5SourceRange sourceRange
+    ) {
+        return new Json5NumberPositiveInfinity(path, sourceRange);
+    }
+
+    private Json5NumberPositiveInfinity(
+        Json5Path path,
+        Json5SourceRange sourceRange
     ) {
         this.path = path;
         this.sourceRange = sourceRange;
@@ -22,6 +46,11 @@ public final class Json5NumberPositiveInfinity implements Json5Number {
 
     @Override
     public SourceRange sourceRange() {
+        return this.sourceRange == null ? null : this.sourceRange.toSourceRange();
+    }
+
+    @Override
+    public Json5SourceRange json5SourceRange() {
         return this.sourceRange;
     }
 }
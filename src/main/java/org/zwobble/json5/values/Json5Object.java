@@ -1,28 +1,110 @@
 package org.zwobble.json5.values;
 
 import org.zwobble.json5.paths.Json5Path;
+import org.zwobble.json5.sources.Json5SourceRange;
 import org.zwobble.sourcetext.SourceRange;
 
-import java.util.LinkedHashMap;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 public final class Json5Object implements Json5Value {
-    private final LinkedHashMap<String, Json5Member> members;
+    // Objects with at most this many members are searched linearly. Larger
+    // objects also have an index.
+    private static final int MAX_UNINDEXED_SIZE = 8;
+
+    private static final String[] EMPTY_NAMES = new String[0];
+    private static final Json5Member[] EMPTY_MEMBERS = new Json5Member[0];
+
+    // Members are stored in insertion order, with the name of each member
+    // stored in a parallel array so that searching doesn't need to visit each
+    // member. This is much more compact than a LinkedHashMap, which needs an
+    // entry object per member.
+    private final String[] names;
+    private final Json5Member[] members;
+    // An open addressing hash table using linear probing, mapping names to
+    // one more than the index of the member, so that zero indicates an empty
+    // slot. Null if the object is small enough to be searched linearly.
+    private final int[] index;
+    // For lazy objects, the names, members and index are null, and the
+    // contents of the object are loaded from the loader when first accessed.
+    // The loader is then discarded, so that anything it refers to, such as
+    // the source of the object, can be garbage collected.
+    private Supplier<Json5Object> loader;
+    private volatile Json5Object loaded;
     private final Json5Path path;
-    private final SourceRange sourceRange;
+    private final Json5SourceRange sourceRange;
 
     private Json5Object(
-        LinkedHashMap<String, Json5Member> members,
+        String[] names,
+        Json5Member[] members,
+        int[] index,
+        Supplier<Json5Object> loader,
         Json5Path path,
-        SourceRange sourceRange
+        Json5SourceRange sourceRange
     ) {
-        this.path = path;
+        this.names = names;
         this.members = members;
+        this.index = index;
+        this.loader = loader;
+        this.path = path;
         this.sourceRange = sourceRange;
     }
 
+    /**
+     * Create an object whose members are loaded when first accessed.
+     * <p>
+     * The loader is called the first time that the members of the object are
+     * accessed, and its result is used for all later accesses. If the loader
+     * throws an exception, the exception is thrown to the caller that
+     * accessed the members, and the loader is called again on the next
+     * access.
+     *
+     * @param loader The loader of the contents of the object. The path and
+     * source range of the loaded object are ignored.
+     * @param path The path of the object.
+     * @param sourceRange The source range of the object.
+     * @return A new {@code Json5Object}.
+     */
+    public static Json5Object lazy(
+        Supplier<Json5Object> loader,
+        Json5Path path,
+        Json5SourceRange sourceRange
+    ) {
+        return new Json5Object(null, null, null, loader, path, sourceRange);
+    }
+
+    /**
+     * The loader of a lazy object whose members haven't been loaded yet, or
+     * null if there is no such loader.
+     */
+    synchronized Supplier<Json5Object> pendingLoader() {
+        return this.loader;
+    }
+
+    private Json5Object contents() {
+        if (this.members != null) {
+            return this;
+        }
+
+        var loaded = this.loaded;
+        if (loaded == null) {
+            synchronized (this) {
+                loaded = this.loaded;
+                if (loaded == null) {
+                    loaded = this.loader.get();
+                    this.loaded = loaded;
+                    this.loader = null;
+                }
+            }
+        }
+        return loaded;
+    }
+
     public Iterable<Json5Member> members() {
-        return members.values();
+        var contents = contents();
+        return Collections.unmodifiableList(Arrays.asList(contents.members));
     }
 
     /**
@@ -33,7 +115,16 @@ public final class Json5Object implements Json5Value {
      * member, otherwise an empty {@code Optional}.
      */
     public Optional<Json5Value> getValue(String memberName) {
-        return Optional.ofNullable(members.get(memberName)).map(Json5Member::value);
+        var contents = contents();
+        var memberIndex = find(
+            contents.names,
+            contents.members.length,
+            contents.index,
+            memberName
+        );
+        return memberIndex < 0
+            ? Optional.empty()
+            : Optional.of(contents.members[memberIndex].value());
     }
 
     @Override
@@ -43,23 +134,117 @@ public final class Json5Object implements Json5Value {
 
     @Override
     public SourceRange sourceRange() {
+        return this.sourceRange == null ? null : this.sourceRange.toSourceRange();
+    }
+
+    @Override
+    public Json5SourceRange json5SourceRange() {
         return this.sourceRange;
     }
 
+    private static int find(String[] names, int size, int[] index, String name) {
+        if (index == null) {
+            for (var memberIndex = 0; memberIndex < size; memberIndex++) {
+                if (names[memberIndex].equals(name)) {
+                    return memberIndex;
+                }
+            }
+            return -1;
+        }
+
+        var mask = index.length - 1;
+        var slot = name.hashCode() & mask;
+        while (index[slot] != 0) {
+            var memberIndex = index[slot] - 1;
+            if (names[memberIndex].equals(name)) {
+                return memberIndex;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private static int[] createIndex(String[] names, int size) {
+        var capacity = Integer.highestOneBit(size) * 4;
+        var index = new int[capacity];
+        for (var memberIndex = 0; memberIndex < size; memberIndex++) {
+            addToIndex(index, names[memberIndex], memberIndex);
+        }
+        return index;
+    }
+
+    private static void addToIndex(int[] index, String name, int memberIndex) {
+        var mask = index.length - 1;
+        var slot = name.hashCode() & mask;
+        while (index[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        index[slot] = memberIndex + 1;
+    }
+
     public static Builder builder() {
         return new Builder();
     }
 
     public static class Builder {
-        private final LinkedHashMap<String, Json5Member> members = new LinkedHashMap<>();
+        private String[] names = EMPTY_NAMES;
+        private Json5Member[] members = EMPTY_MEMBERS;
+        private int size = 0;
+        private int[] index = null;
 
         public Builder addMember(Json5Member member) {
-            members.put(member.name().value(), member);
+            var name = member.name().value();
+
+            // As with a map, a later member replaces an earlier member with
+            // the same name, but keeps the position of the earlier member.
+            var existingIndex = find(this.names, this.size, this.index, name);
+            if (existingIndex >= 0) {
+                this.members[existingIndex] = member;
+                return this;
+            }
+
+            if (this.size == this.members.length) {
+                var capacity = Math.max(4, this.size * 2);
+                this.names = Arrays.copyOf(this.names, capacity);
+                this.members = Arrays.copyOf(this.members, capacity);
+            }
+            this.names[this.size] = name;
+            this.members[this.size] = member;
+            this.size += 1;
+
+            if (this.size > MAX_UNINDEXED_SIZE) {
+                if (this.index == null || this.size * 2 > this.index.length) {
+                    this.index = createIndex(this.names, this.size);
+                } else {
+                    addToIndex(this.index, name, this.size - 1);
+                }
+            }
+
             return this;
         }
 
         public Json5Object build(Json5Path path, SourceRange sourceRange) {
-            return new Json5Object(this.members, path, sourceRange);
+            return buildAt(path, Json5SourceRange.of(sourceRange));
+        }
+
+        /**
+         * Build an object with a source range recorded as character indices.
+         *
+         * @param path The path of the object.
+         * @param sourceRange The source range of the object.
+         * @return A new {@code Json5Object}.
+         */
+        public Json5Object buildAt(Json5Path path, Json5SourceRange sourceRange) {
+            // Copy the arrays so that the object is unaffected by any further
+            // use of the builder, and so that no space is wasted.
+            return new Json5Object(
+                this.size == 0 ? EMPTY_NAMES : Arrays.copyOf(this.names, this.size),
+                this.size == 0 ? EMPTY_MEMBERS : Arrays.copyOf(this.members, this.size),
+                this.index == null ? null : this.index.clone(),
+                null,
+                path,
+                sourceRange
+            );
         }
     }
 }
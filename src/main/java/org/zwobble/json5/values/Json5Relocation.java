@@ -0,0 +1,168 @@
+package org.zwobble.json5.values;
+
+import org.zwobble.json5.paths.Json5Path;
+import org.zwobble.json5.sources.Json5Source;
+import org.zwobble.json5.sources.Json5SourceRange;
+
+import java.util.ArrayList;
+import java.util.function.Supplier;
+
+/**
+ * Copies values to a new position in a source, such as when values are
+ * reused after an edit to the text that they were parsed from.
+ * <p>
+ * The source range of each copy is the source range of the original moved
+ * by a fixed number of characters. The contents of objects and arrays are
+ * only copied when they're first accessed. If an object or array that was
+ * copied is copied again before its contents are accessed, the new copy is
+ * made directly from the original, so that copying values repeatedly doesn't
+ * build up a chain of copies that each refer to the previous copy.
+ */
+public final class Json5Relocation {
+    private final Json5Source source;
+    private final int characterDelta;
+
+    /**
+     * Create a relocation into the given source.
+     *
+     * @param source The source of the copies. Offsets in the source must be
+     * character indices.
+     * @param characterDelta The number of characters to move source ranges
+     * by.
+     */
+    public Json5Relocation(Json5Source source, int characterDelta) {
+        this.source = source;
+        this.characterDelta = characterDelta;
+    }
+
+    /**
+     * Copy a value, giving the copy the given path.
+     *
+     * @param value The value to copy, which must have a source range.
+     * @param path The path of the copy.
+     * @return The copy.
+     */
+    public Json5Value relocate(Json5Value value, Json5Path path) {
+        var sourceRange = relocate(value.json5SourceRange());
+        return switch (value) {
+            case Json5Null ignored -> Json5Null.of(path, sourceRange);
+
+            case Json5Boolean booleanValue ->
+                Json5Boolean.of(booleanValue.value(), path, sourceRange);
+
+            case Json5String string -> Json5String.of(string.value(), path, sourceRange);
+
+            case Json5NumberFinite number ->
+                Json5NumberFinite.of(number.value(), path, sourceRange);
+
+            case Json5NumberNan ignored -> Json5NumberNan.of(path, sourceRange);
+
+            case Json5NumberPositiveInfinity ignored ->
+                Json5NumberPositiveInfinity.of(path, sourceRange);
+
+            case Json5NumberNegativeInfinity ignored ->
+                Json5NumberNegativeInfinity.of(path, sourceRange);
+
+            case Json5Object object -> Json5Object.lazy(
+                object.pendingLoader() instanceof RelocatedObject relocated
+                    ? new RelocatedObject(relocated.original, combine(relocated.relocation), path)
+                    : new RelocatedObject(object, this, path),
+                path,
+                sourceRange
+            );
+
+            case Json5Array array -> Json5Array.lazy(
+                array.pendingLoader() instanceof RelocatedArray relocated
+                    ? new RelocatedArray(relocated.original, combine(relocated.relocation), path)
+                    : new RelocatedArray(array, this, path),
+                path,
+                sourceRange
+            );
+        };
+    }
+
+    /**
+     * Copy a member of an object, giving the value of the copy a path in the
+     * object with the given path.
+     *
+     * @param member The member to copy, which must have a source range.
+     * @param objectPath The path of the object that the copy belongs to.
+     * @return The copy.
+     */
+    public Json5Member relocate(Json5Member member, Json5Path objectPath) {
+        var name = member.name();
+        return Json5Member.of(
+            relocate(name),
+            relocate(member.value(), objectPath.member(name.value())),
+            relocate(member.json5SourceRange())
+        );
+    }
+
+    /**
+     * Copy a member name.
+     *
+     * @param name The member name to copy, which must have a source range.
+     * @return The copy.
+     */
+    public Json5MemberName relocate(Json5MemberName name) {
+        return Json5MemberName.of(name.value(), relocate(name.json5SourceRange()));
+    }
+
+    private Json5SourceRange relocate(Json5SourceRange sourceRange) {
+        return new Json5SourceRange(
+            this.source,
+            sourceRange.startIndex() + this.characterDelta,
+            sourceRange.endIndex() + this.characterDelta
+        );
+    }
+
+    /**
+     * Create a relocation that has the same effect as applying the given
+     * relocation followed by this relocation.
+     */
+    private Json5Relocation combine(Json5Relocation previous) {
+        return new Json5Relocation(
+            this.source,
+            previous.characterDelta + this.characterDelta
+        );
+    }
+
+    private record RelocatedObject(
+        Json5Object original,
+        Json5Relocation relocation,
+        Json5Path path
+    ) implements Supplier<Json5Object> {
+        @Override
+        public Json5Object get() {
+            var objectBuilder = Json5Object.builder();
+            for (var member : this.original.members()) {
+                objectBuilder.addMember(this.relocation.relocate(member, this.path));
+            }
+            return objectBuilder.buildAt(this.path, null);
+        }
+    }
+
+    private record RelocatedArray(
+        Json5Array original,
+        Json5Relocation relocation,
+        Json5Path path
+    ) implements Supplier<Json5Array> {
+        @Override
+        public Json5Array get() {
+            var numbers = this.original.relocateNumbers(
+                this.relocation.source,
+                this.relocation.characterDelta,
+                this.path
+            );
+            if (numbers != null) {
+                return numbers;
+            }
+
+            var elements = new ArrayList<Json5Value>(this.original.size());
+            for (var element : this.original.elements()) {
+                elements.add(this.relocation.relocate(element, this.path.index(elements.size())));
+            }
+            return Json5Array.of(elements, this.path, null);
+        }
+    }
+}
@@ -2,6 +2,7 @@ package org.zwobble.json5.values;
 
 import org.zwobble.json5.parser.Json5Parser;
 import org.zwobble.json5.paths.Json5Path;
+import org.zwobble.json5.sources.Json5SourceRange;
 import org.zwobble.sourcetext.SourcePosition;
 import org.zwobble.sourcetext.SourceRange;
 import org.zwobble.sourcetext.SourceText;
@@ -9,12 +10,39 @@ import org.zwobble.sourcetext.SourceText;
 public final class Json5String implements Json5Value {
     private final String value;
     private final Json5Path path;
-    private final SourceRange sourceRange;
+    private final Json5SourceRange sourceRange;
 
     public Json5String(
         String value,
         Json5Path path,
         SourceRange sourceRange
+    ) {
+        this(value, path, Json5SourceRange.of(sourceRange));
+    }
+
+    /**
+     * Create a string value. The source range covers the string literal,
+     * including its quotes, rather than just the decoded value.
+     *
+     * @param value The value.
+     * @param path The path of the string value.
+     * @param sourceRange The source range of the string value, or
+     * {@code null}. The source of the range maps its offsets to character
+     * indices.
+     * @return A new {@code Json5String}.
+     */
+    public static Json5String of(
+        String value,
+        Json5Path path,
+        Json5SourceRange sourceRange
+    ) {
+        return new Json5String(value, path, sourceRange);
+    }
+
+    private Json5String(
+        String value,
+        Json5Path path,
+        Json5SourceRange sourceRange
     ) {
         this.value = value;
         this.path = path;
@@ -40,6 +68,11 @@ public final class Json5String implements Json5Value {
 
     @Override
     public SourceRange sourceRange() {
+        return this.sourceRange == null ? null : this.sourceRange.toSourceRange();
+    }
+
+    @Override
+    public Json5SourceRange json5SourceRange() {
         return this.sourceRange;
     }
 
@@ -1,6 +1,7 @@
 package org.zwobble.json5.values;
 
 import org.zwobble.json5.paths.Json5Path;
+import org.zwobble.json5.sources.Json5SourceRange;
 import org.zwobble.sourcetext.SourceRange;
 
 /**
@@ -11,9 +12,23 @@ import org.zwobble.sourcetext.SourceRange;
  */
 public sealed interface Json5Value permits Json5Array, Json5Boolean, Json5Null, Json5Number, Json5Object, Json5String {
     /**
-     * The path to the value in the containing document.
+     * The path to the value in the containing document, or {@code null} if
+     * the value was parsed without tracking locations.
      */
     Json5Path path();
 
+    /**
+     * The source range of the value, or {@code null} if the value was parsed
+     * without tracking locations.
+     */
     SourceRange sourceRange();
+
+    /**
+     * The source range of the value as offsets into its source, or
+     * {@code null} if the value was parsed without tracking locations.
+     * <p>
+     * Unlike {@link #sourceRange()}, this doesn't create source positions,
+     * so is cheaper when only the start and end of the range are needed.
+     */
+    Json5SourceRange json5SourceRange();
 }
@@ -0,0 +1,217 @@
+package org.zwobble.json5.parser;
+
+import org.junit.jupiter.api.Test;
+import org.zwobble.json5.values.Json5Number;
+import org.zwobble.json5.values.Json5NumberFinite;
+import org.zwobble.sourcetext.SourceRange;
+import org.zwobble.sourcetext.SourceText;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.zwobble.json5.sources.SourceRangeMatchers.isSourceRange;
+import static org.zwobble.precisely.AssertThat.assertThat;
+import static org.zwobble.precisely.Matchers.equalTo;
+import static org.zwobble.precisely.Matchers.isSequence;
+
+public class Json5HandlerTests {
+    @Test
+    public void scalarValueProducesSingleEvent() {
+        var events = parseEvents("true");
+
+        assertThat(events, isSequence(
+            equalTo("booleanValue(true)"),
+            equalTo("endDocument")
+        ));
+    }
+
+    @Test
+    public void nestedValuesProduceEventsInDocumentOrder() {
+        var events = parseEvents("{a: [1, 'two', null, false, NaN], \"b\": {}}");
+
+        assertThat(events, isSequence(
+            equalTo("startObject"),
+            equalTo("memberName(a)"),
+            equalTo("startArray"),
+            equalTo("number(1)"),
+            equalTo("string(two)"),
+            equalTo("nullValue"),
+            equalTo("booleanValue(false)"),
+            equalTo("number(NaN)"),
+            equalTo("endArray"),
+            equalTo("memberName(b)"),
+            equalTo("startObject"),
+            equalTo("endObject"),
+            equalTo("endObject"),
+            equalTo("endDocument")
+        ));
+    }
+
+    @Test
+    public void locatorGivesSourceRangeOfCurrentEvent() {
+        var sourceRanges = new ArrayList<SourceRange>();
+        var handler = new RecordingHandler(new ArrayList<>()) {
+            @Override
+            protected void record(String event) {
+                sourceRanges.add(locator.sourceRange());
+            }
+        };
+
+        Json5Parser.parse(SourceText.fromString("<string>", "{a: [1]}"), handler);
+
+        assertThat(sourceRanges, isSequence(
+            isSourceRange(0, 1),
+            isSourceRange(1, 2),
+            isSourceRange(4, 5),
+            isSourceRange(5, 6),
+            isSourceRange(6, 7),
+            isSourceRange(7, 8),
+            isSourceRange(8, 8)
+        ));
+    }
+
+    @Test
+    public void canParseUtf8EncodedText() {
+        var events = new ArrayList<String>();
+
+        Json5Parser.parseUtf8(
+            "<string>",
+            ByteBuffer.wrap("['\u00e9']".getBytes(StandardCharsets.UTF_8)),
+            new RecordingHandler(events)
+        );
+
+        assertThat(events, isSequence(
+            equalTo("startArray"),
+            equalTo("string(\u00e9)"),
+            equalTo("endArray"),
+            equalTo("endDocument")
+        ));
+    }
+
+    @Test
+    public void deeplyNestedValuesProduceEvents() {
+        var depth = 100_000;
+        var text = "[{a: ".repeat(depth) + "1" + "}]".repeat(depth);
+
+        var events = parseEvents(text);
+
+        assertThat(events.size(), equalTo(depth * 5 + 2));
+        assertThat(events.subList(0, 3), isSequence(
+            equalTo("startArray"),
+            equalTo("startObject"),
+            equalTo("memberName(a)")
+        ));
+        assertThat(events.subList(depth * 3 - 1, depth * 3 + 2), isSequence(
+            equalTo("memberName(a)"),
+            equalTo("number(1)"),
+            equalTo("endObject")
+        ));
+        assertThat(events.subList(depth * 5, depth * 5 + 2), isSequence(
+            equalTo("endArray"),
+            equalTo("endDocument")
+        ));
+    }
+
+    @Test
+    public void whenDocumentIsInvalidThenErrorIsThrownAfterEventsForPrecedingValues() {
+        var events = new ArrayList<String>();
+
+        var error = assertThrows(
+            Json5ParseError.class,
+            () -> Json5Parser.parse(
+                SourceText.fromString("<string>", "[true}"),
+                new RecordingHandler(events)
+            )
+        );
+
+        assertThat(error.getMessage(), equalTo("Expected ',' or ']', but was '}'"));
+        assertThat(error.sourceRange(), isSourceRange(5, 6));
+        assertThat(events, isSequence(
+            equalTo("startArray"),
+            equalTo("booleanValue(true)")
+        ));
+    }
+
+    private static List<String> parseEvents(String text) {
+        var events = new ArrayList<String>();
+        Json5Parser.parse(
+            SourceText.fromString("<string>", text),
+            new RecordingHandler(events)
+        );
+        return events;
+    }
+
+    private static class RecordingHandler implements Json5Handler {
+        private final List<String> events;
+        protected Json5Locator locator;
+
+        private RecordingHandler(List<String> events) {
+            this.events = events;
+        }
+
+        protected void record(String event) {
+            this.events.add(event);
+        }
+
+        @Override
+        public void setLocator(Json5Locator locator) {
+            this.locator = locator;
+        }
+
+        @Override
+        public void startObject() {
+            record("startObject");
+        }
+
+        @Override
+        public void memberName(String name) {
+            record("memberName(" + name + ")");
+        }
+
+        @Override
+        public void endObject() {
+            record("endObject");
+        }
+
+        @Override
+        public void startArray() {
+            record("startArray");
+        }
+
+        @Override
+        public void endArray() {
+            record("endArray");
+        }
+
+        @Override
+        public void string(String value) {
+            record("string(" + value + ")");
+        }
+
+        @Override
+        public void number(Json5Number value) {
+            var description = value instanceof Json5NumberFinite finite
+                ? finite.value().toString()
+                : "NaN";
+            record("number(" + description + ")");
+        }
+
+        @Override
+        public void booleanValue(boolean value) {
+            record("booleanValue(" + value + ")");
+        }
+
+        @Override
+        public void nullValue() {
+            record("nullValue");
+        }
+
+        @Override
+        public void endDocument() {
+            record("endDocument");
+        }
+    }
+}
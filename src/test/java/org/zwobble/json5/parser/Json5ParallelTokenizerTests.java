@@ -0,0 +1,119 @@
+package org.zwobble.json5.parser;
+
+import org.junit.jupiter.api.Test;
+import org.zwobble.sourcetext.SourceText;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.zwobble.precisely.AssertThat.assertThat;
+import static org.zwobble.precisely.Matchers.equalTo;
+
+public class Json5ParallelTokenizerTests {
+    // Strings and comments contain text that looks like tokens, strings and
+    // comments, so that many chunks start in places where speculative
+    // tokenizing goes wrong.
+    private static final String DOCUMENT = """
+        {
+            // A comment with "quotes", 'quotes' and [brackets]
+            items: [
+                {name: "a [b] {c} 'd' // e /* f */", value: 1.5e3},
+                {name: 'g "h" \\' i', value: -Infinity, tags: ['\\u0041', "\u00e9\u4e2d"]},
+                /* A comment with "quotes" over
+                   several lines // and 'more' */
+                {name: "line \\
+        continuation", value: 0x1F, "\u00e9l\u00e8ve": null},
+            ],
+            nested: [[[{}]], [true, false], NaN],
+        }
+        """;
+
+    @Test
+    public void tokensAreTheSameAsWhenTokenizingOnDemand() {
+        var text = DOCUMENT.repeat(20);
+        var input = new TextSourceInput(SourceText.fromString("<string>", "[" + text + "]"));
+
+        assertParallelTokensMatchSequentialTokens(input);
+    }
+
+    @Test
+    public void tokensOfUtf8EncodedTextAreTheSameAsWhenTokenizingOnDemand() {
+        var text = "[" + DOCUMENT.repeat(20) + "]";
+        var input = new Utf8SourceInput(
+            "<string>",
+            ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8))
+        );
+
+        assertParallelTokensMatchSequentialTokens(input);
+    }
+
+    @Test
+    public void whenInputIsInvalidThenTokensBeforeErrorAreReturned() {
+        var text = "[" + DOCUMENT.repeat(10) + "'unterminated" + DOCUMENT.repeat(10) + "]";
+        var input = new TextSourceInput(SourceText.fromString("<string>", text));
+
+        var sequentialTokens = new ArrayList<String>();
+        var tokenizer = new Json5Tokenizer(input, 0);
+        assertThrows(Json5ParseError.class, () -> {
+            while (true) {
+                sequentialTokens.add(describe(tokenizer.next(), tokenizer));
+            }
+        });
+
+        try (var pool = new ForkJoinPool(4)) {
+            var buffer = Json5ParallelTokenizer.tokenize(input, pool, 64);
+
+            assertThat(describe(buffer), equalTo(sequentialTokens));
+        }
+    }
+
+    @Test
+    public void whenInputIsShortThenInputIsNotTokenized() {
+        var input = new TextSourceInput(SourceText.fromString("<string>", DOCUMENT));
+
+        try (var pool = new ForkJoinPool(4)) {
+            var buffer = Json5ParallelTokenizer.tokenize(input, pool);
+
+            assertThat(buffer, equalTo(null));
+        }
+    }
+
+    private static void assertParallelTokensMatchSequentialTokens(SourceInput input) {
+        var sequentialTokens = new ArrayList<String>();
+        var tokenizer = new Json5Tokenizer(input, 0);
+        while (true) {
+            var tokenType = tokenizer.next();
+            sequentialTokens.add(describe(tokenType, tokenizer));
+            if (tokenType == Json5TokenType.END) {
+                break;
+            }
+        }
+
+        try (var pool = new ForkJoinPool(4)) {
+            // Use small chunks so that chunks start in many different places.
+            var buffer = Json5ParallelTokenizer.tokenize(input, pool, 64);
+
+            assertThat(describe(buffer), equalTo(sequentialTokens));
+        }
+    }
+
+    private static String describe(Json5TokenType tokenType, Json5Tokenizer tokenizer) {
+        return tokenType + " " + tokenizer.tokenStart() + "-" + tokenizer.tokenEnd() +
+            (tokenizer.tokenHasEscapes() ? " escaped" : "");
+    }
+
+    private static List<String> describe(Json5TokenBuffer buffer) {
+        var tokens = new ArrayList<String>();
+        for (var index = 0; index < buffer.tokenCount(); index++) {
+            tokens.add(
+                buffer.tokenType(index) + " " + buffer.start(index) + "-" + buffer.end(index) +
+                    (buffer.hasEscapes(index) ? " escaped" : "")
+            );
+        }
+        return tokens;
+    }
+}
@@ -1,12 +1,25 @@
 package org.zwobble.json5.parser;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.zwobble.json5.paths.Json5Path;
+import org.zwobble.json5.paths.Json5PathPattern;
 import org.zwobble.json5.values.*;
 import org.zwobble.sourcetext.SourceText;
 
+import java.io.IOException;
 import java.math.BigDecimal;
-
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.zwobble.json5.sources.SourcePositionMatchers.isSourcePosition;
 import static org.zwobble.json5.sources.SourceRangeMatchers.isSourceRange;
@@ -217,6 +230,13 @@ public class Json5ParserTests {
         assertThat(result, isJson5String("\u03c0", isSourceRange(0, 8)));
     }
 
+    @Test
+    public void canParseStringContainingEscapeSequencesBetweenUnescapedCharacters() {
+        var result = parseText("\"ab\\ncd\\u03c0ef\"");
+
+        assertThat(result, isJson5String("ab\ncd\u03c0ef", isSourceRange(0, 16)));
+    }
+
     @Test
     public void canParseStringContainingLineContinuationWithLineFeed() {
         var result = parseText("\"abc\\\ndef\"");
@@ -669,6 +689,77 @@ public class Json5ParserTests {
         ));
     }
 
+    @Test
+    public void canParseDecimalNumberWithMoreDigitsThanFitInLong() {
+        var result = parseText("-123456789012345678901234567890.25");
+
+        assertThat(result, isJson5NumberFinite(
+            new BigDecimal("-123456789012345678901234567890.25"),
+            isSourceRange(0, 34)
+        ));
+    }
+
+    @Test
+    public void canParseDecimalNumberWithLargeExponent() {
+        var result = parseText("1.5e-1000000000");
+
+        assertThat(result, isJson5NumberFinite(
+            new BigDecimal("1.5e-1000000000"),
+            isSourceRange(0, 15)
+        ));
+    }
+
+    @Test
+    public void canParseHexIntegerWithMoreDigitsThanFitInLong() {
+        var result = parseText("-0x123456789abcdef0123");
+
+        assertThat(result, isJson5NumberFinite(
+            new BigDecimal(new BigInteger("-123456789abcdef0123", 16)),
+            isSourceRange(0, 22)
+        ));
+    }
+
+    @Test
+    public void canConvertIntegerToLong() {
+        var result = (Json5NumberFinite) parseText("-9007199254740993");
+
+        assertThat(result.longValue(), equalTo(-9007199254740993L));
+        assertThat(result.longValueExact(), equalTo(-9007199254740993L));
+    }
+
+    @Test
+    public void whenNumberHasFractionalPartThenConvertingToLongExactlyThrowsError() {
+        var result = (Json5NumberFinite) parseText("1.5");
+
+        assertThat(result.longValue(), equalTo(1L));
+        assertThrows(ArithmeticException.class, () -> result.longValueExact());
+    }
+
+    @Test
+    public void canConvertIntegerWithExponentToLong() {
+        var result = (Json5NumberFinite) parseText("12e3");
+
+        assertThat(result.longValueExact(), equalTo(12000L));
+    }
+
+    @Test
+    public void canConvertNumbersToNearestDouble() {
+        var numbers = new String[] {
+            "0", "1.5", "0.1", "-123.456", "1e22", "1e23", "4.9e-324",
+            "1.7976931348623157e308", "9007199254740993",
+            "123456789012345678901234567890.25", "0x1fffffffffffff",
+        };
+
+        for (var number : numbers) {
+            var result = (Json5NumberFinite) parseText(number);
+
+            var expected = number.startsWith("0x")
+                ? (double) Long.parseLong(number.substring(2), 16)
+                : Double.parseDouble(number);
+            assertThat(result.doubleValue(), equalTo(expected));
+        }
+    }
+
     @Test
     public void canParseInfinityWithoutSign() {
         var result = parseText("Infinity");
@@ -944,6 +1035,33 @@ public class Json5ParserTests {
         ));
     }
 
+    @Test
+    public void memberNameCanBeInfinity() {
+        var result = parseText("{Infinity: true}");
+
+        assertThat(result, isJson5Object(
+            isSequence(
+                isJson5Member(
+                    isJson5MemberName("Infinity", isSourceRange(1, 9)),
+                    isJson5Boolean(true, isSourceRange(11, 15)),
+                    isSourceRange(1, 15)
+                )
+            ),
+            isSourceRange(0, 16)
+        ));
+    }
+
+    @Test
+    public void reservedWordWithUnicodeEscapeSequenceIsNotValue() {
+        var error = assertThrows(
+            Json5ParseError.class,
+            () -> parseText("n\\u0075ll")
+        );
+
+        assertThat(error.getMessage(), equalTo("Expected JSON value, but was identifier 'n\\u0075ll'"));
+        assertThat(error.sourceRange(), isSourceRange(0, 9));
+    }
+
     @Test
     public void memberNameCanStartWithDollar() {
         var result = parseText("{$foo: true}");
@@ -1008,6 +1126,22 @@ public class Json5ParserTests {
         ));
     }
 
+    @Test
+    public void memberNameCanStartWithNonAsciiLetter() {
+        var result = parseText("{\u03c0foo: true}");
+
+        assertThat(result, isJson5Object(
+            isSequence(
+                isJson5Member(
+                    isJson5MemberName("\u03c0foo", isSourceRange(1, 5)),
+                    isJson5Boolean(true, isSourceRange(7, 11)),
+                    isSourceRange(1, 11)
+                )
+            ),
+            isSourceRange(0, 12)
+        ));
+    }
+
     @Test
     public void memberNameCanStartWithUnicodeEscapeSequence() {
         var result = parseText("{\\u03c0foo: true}");
@@ -1255,6 +1389,98 @@ public class Json5ParserTests {
         ));
     }
 
+    @Test
+    public void canParseArrayOfNumbers() {
+        var result = parseText("[1, -2.50, 0x10, 3e2]");
+
+        assertThat(result, isJson5Array(
+            isSequence(
+                allOf(
+                    isJson5NumberFinite(new BigDecimal("1"), isSourceRange(1, 2)),
+                    has("path", x -> x.path(), equalTo(Json5Path.ROOT.index(0)))
+                ),
+                allOf(
+                    isJson5NumberFinite(new BigDecimal("-2.50"), isSourceRange(4, 9)),
+                    has("path", x -> x.path(), equalTo(Json5Path.ROOT.index(1)))
+                ),
+                allOf(
+                    isJson5NumberFinite(new BigDecimal("16"), isSourceRange(11, 15)),
+                    has("path", x -> x.path(), equalTo(Json5Path.ROOT.index(2)))
+                ),
+                allOf(
+                    isJson5NumberFinite(new BigDecimal("3e2"), isSourceRange(17, 20)),
+                    has("path", x -> x.path(), equalTo(Json5Path.ROOT.index(3)))
+                )
+            ),
+            isSourceRange(0, 21)
+        ));
+    }
+
+    @Test
+    public void canParseArrayOfNumbersFollowedByOtherValues() {
+        var result = parseText("[1, 2.5, 'a', 3]");
+
+        assertThat(result, isJson5Array(
+            isSequence(
+                isJson5NumberFinite(new BigDecimal("1"), isSourceRange(1, 2)),
+                isJson5NumberFinite(new BigDecimal("2.5"), isSourceRange(4, 7)),
+                isJson5String("a", isSourceRange(9, 12)),
+                allOf(
+                    isJson5NumberFinite(new BigDecimal("3"), isSourceRange(14, 15)),
+                    has("path", x -> x.path(), equalTo(Json5Path.ROOT.index(3)))
+                )
+            ),
+            isSourceRange(0, 16)
+        ));
+    }
+
+    @Test
+    public void arrayOfIntegersCanBeConvertedToLongArray() {
+        var result = (Json5Array) parseText("[1, -2, 0x10, 3e2, 4.0]");
+
+        var longs = result.asLongArray();
+
+        assertThat(Arrays.stream(longs).boxed().toList(), isSequence(
+            equalTo(1L),
+            equalTo(-2L),
+            equalTo(16L),
+            equalTo(300L),
+            equalTo(4L)
+        ));
+    }
+
+    @Test
+    public void whenArrayContainsNumberWithFractionalPartThenConvertingToLongArrayThrowsError() {
+        var result = (Json5Array) parseText("[1, 2.5]");
+
+        assertThrows(ArithmeticException.class, () -> result.asLongArray());
+    }
+
+    @Test
+    public void arrayOfNumbersCanBeConvertedToDoubleArray() {
+        var result = (Json5Array) parseText("[1, -2.5, 0x10, 1e400, NaN, -Infinity]");
+
+        var doubles = result.asDoubleArray();
+
+        assertThat(Arrays.stream(doubles).boxed().toList(), isSequence(
+            equalTo(1.0),
+            equalTo(-2.5),
+            equalTo(16.0),
+            equalTo(Double.POSITIVE_INFINITY),
+            equalTo(Double.NaN),
+            equalTo(Double.NEGATIVE_INFINITY)
+        ));
+    }
+
+    @Test
+    public void whenArrayContainsNonNumberThenConvertingToDoubleArrayThrowsError() {
+        var result = (Json5Array) parseText("[1, 'a']");
+
+        var error = assertThrows(IllegalStateException.class, () -> result.asDoubleArray());
+
+        assertThat(error.getMessage(), equalTo("Element 1 of the array is not a number"));
+    }
+
     @Test
     public void whenArrayHasElementThatIsNeitherValueNorClosingSquareBracketThenErrorIsThrown() {
         var error = assertThrows(
@@ -1535,9 +1761,1114 @@ public class Json5ParserTests {
         ));
     }
 
-    // == Test Helpers ==
+    // == UTF-8 ==
 
-    private Json5Value parseText(String text) {
-        return Json5Parser.parse(SourceText.fromString("<string>", text));
+    @Test
+    public void canParseUtf8EncodedText() {
+        var result = parseUtf8("{foo: [true, null]}");
+
+        assertThat(result, isJson5Object(
+            isSequence(
+                isJson5Member(
+                    isJson5MemberName("foo", isSourceRange(1, 4)),
+                    isJson5Array(
+                        isSequence(
+                            isJson5Boolean(true, isSourceRange(7, 11)),
+                            isJson5Null(isSourceRange(13, 17))
+                        ),
+                        isSourceRange(6, 18)
+                    ),
+                    isSourceRange(1, 18)
+                )
+            ),
+            isSourceRange(0, 19)
+        ));
+    }
+
+    @Test
+    public void whenParsingUtf8ThenNonAsciiCharactersAreDecoded() {
+        var result = parseUtf8("{\u03c0: '\u00e9\u4e2d\ud83d\ude00'}");
+
+        assertThat(result, isJson5Object(
+            isSequence(
+                isJson5Member(
+                    isJson5MemberName("\u03c0", isSourceRange(1, 2)),
+                    isJson5String("\u00e9\u4e2d\ud83d\ude00", isSourceRange(4, 10)),
+                    isSourceRange(1, 10)
+                )
+            ),
+            isSourceRange(0, 11)
+        ));
+    }
+
+    @Test
+    public void whenParsingUtf8ThenErrorSourceRangeUsesCharacterIndices() {
+        var error = assertThrows(
+            Json5ParseError.class,
+            () -> parseUtf8("['\u4e2d\u4e2d', ]]")
+        );
+
+        assertThat(error.getMessage(), equalTo("Expected end of document, but was ']'"));
+        assertThat(error.sourceRange(), isSourceRange(8, 9));
+    }
+
+    @Test
+    public void whenParsingUtf8ThenStringsSpanningManyWordsAreParsed() {
+        // Strings are scanned several bytes at a time, so check special
+        // characters at each position within a word.
+        for (var position = 0; position < 20; position++) {
+            var before = "a".repeat(position);
+            var after = "\u00e9".repeat(20 - position);
+
+            var result = parseUtf8("'" + before + "\\n\"" + after + "'");
+
+            assertThat(result, isJson5String(
+                before + "\n\"" + after,
+                isSourceRange(0, 25)
+            ));
+        }
+    }
+
+    @Test
+    public void whenParsingUtf8ThenStringsContainingLineTerminatorsAreRejected() {
+        var error = assertThrows(
+            Json5ParseError.class,
+            () -> parseUtf8("'abcdefghijkl\nmn'")
+        );
+
+        assertThat(error.getMessage(), equalTo("Expected string character or '\\'', but was '\n'"));
+        assertThat(error.sourceRange(), isSourceRange(13, 14));
+    }
+
+    @Test
+    public void whenParsingUtf8ThenCommentsContainingNonAsciiCharactersAreIgnored() {
+        var result = parseUtf8("/* \u00e9 * \u4e2d */[// \u00e9\u2028true]");
+
+        assertThat(result, isJson5Array(
+            isSequence(isJson5Boolean(true, isSourceRange(17, 21))),
+            isSourceRange(11, 22)
+        ));
+    }
+
+    @Test
+    public void whenParsingUtf8ThenLoneContinuationBytesAreEachOneCharacter() {
+        var result = Json5Parser.parseUtf8("<string>", new byte[] {
+            '[', '"', (byte) 0x80, (byte) 0x80, (byte) 0x80, '"', ',', ' ', '1', ']'
+        });
+
+        assertThat(result, isJson5Array(
+            isSequence(
+                isJson5String("\ufffd\ufffd\ufffd", isSourceRange(1, 6)),
+                isJson5NumberFinite(new BigDecimal(1), isSourceRange(8, 9))
+            ),
+            isSourceRange(0, 10)
+        ));
+    }
+
+    @Test
+    public void whenParsingUtf8ThenInvalidLeadBytesAreEachOneCharacter() {
+        var result = Json5Parser.parseUtf8("<string>", new byte[] {
+            '[', '"', (byte) 0xf8, '"', ',', ' ', '1', ']'
+        });
+
+        assertThat(result, isJson5Array(
+            isSequence(
+                isJson5String("\ufffd", isSourceRange(1, 4)),
+                isJson5NumberFinite(new BigDecimal(1), isSourceRange(6, 7))
+            ),
+            isSourceRange(0, 8)
+        ));
+    }
+
+    @Test
+    public void identifiersOutsideBasicMultilingualPlaneAreParsedFromTextAndUtf8() {
+        // U+1D49C MATHEMATICAL SCRIPT CAPITAL A is an uppercase letter.
+        var text = "{\ud835\udc9c: 1}";
+        var expected = isJson5Object(
+            isSequence(
+                isJson5Member(
+                    isJson5MemberName("\ud835\udc9c", isSourceRange(1, 3)),
+                    isJson5NumberFinite(new BigDecimal(1), isSourceRange(5, 6)),
+                    isSourceRange(1, 6)
+                )
+            ),
+            isSourceRange(0, 7)
+        );
+
+        assertThat(parseText(text), expected);
+        assertThat(parseUtf8(text), expected);
+    }
+
+    // == Member names ==
+
+    @Test
+    public void repeatedMemberNamesAreTheSameInstance() {
+        var result = (Json5Array) parseText("[{foo: 1}, {'foo': 2}, {\"foo\": 3}]");
+
+        var names = new ArrayList<String>();
+        for (var element : result.elements()) {
+            names.add(firstMemberName(element));
+        }
+
+        assertThat(names, isSequence(equalTo("foo"), equalTo("foo"), equalTo("foo")));
+        assertSame(names.get(0), names.get(1));
+        assertSame(names.get(0), names.get(2));
+    }
+
+    @Test
+    public void memberNameTableCanBeSharedBetweenParses() {
+        var memberNames = new Json5MemberNameTable();
+
+        var first = Json5Parser.parse(
+            SourceText.fromString("<string>", "{foo: 1}"),
+            Json5ParseOptions.builder().memberNames(memberNames).build()
+        );
+        var second = Json5Parser.parseUtf8(
+            "<string>",
+            ByteBuffer.wrap("{foo: 2}".getBytes(StandardCharsets.UTF_8)),
+            Json5ParseOptions.builder().memberNames(memberNames).build()
+        );
+
+        assertSame(firstMemberName(first), firstMemberName(second));
+    }
+
+    @Test
+    public void whenMemberNameTableIsFullThenMemberNamesAreStillParsed() {
+        var memberNames = new Json5MemberNameTable(1);
+
+        var result = Json5Parser.parse(
+            SourceText.fromString("<string>", "{foo: 1, bar: 2}"),
+            Json5ParseOptions.builder().memberNames(memberNames).build()
+        );
+
+        assertThat(result, isJson5Object(
+            isSequence(
+                isJson5Member(
+                    isJson5MemberName("foo", isSourceRange(1, 4)),
+                    isJson5NumberFinite(new BigDecimal(1), isSourceRange(6, 7)),
+                    isSourceRange(1, 7)
+                ),
+                isJson5Member(
+                    isJson5MemberName("bar", isSourceRange(9, 12)),
+                    isJson5NumberFinite(new BigDecimal(2), isSourceRange(14, 15)),
+                    isSourceRange(9, 15)
+                )
+            ),
+            isSourceRange(0, 16)
+        ));
+        assertThat(memberNames.size(), equalTo(1));
+    }
+
+    @Test
+    public void memberNamesContainingNonAsciiCharactersAreCanonicalized() {
+        var result = (Json5Array) parseUtf8("[{'\u00e9\ud83d\ude00': 1}, {\"\u00e9\ud83d\ude00\": 2}]");
+
+        var names = new ArrayList<String>();
+        for (var element : result.elements()) {
+            names.add(firstMemberName(element));
+        }
+
+        assertThat(names, isSequence(
+            equalTo("\u00e9\ud83d\ude00"),
+            equalTo("\u00e9\ud83d\ude00")
+        ));
+        assertSame(names.get(0), names.get(1));
+    }
+
+    // == Untracked locations ==
+
+    @Test
+    public void whenLocationsAreNotTrackedThenValuesHaveNoPathOrSourceRange() {
+        var result = (Json5Object) parseUntracked("{foo: [1, 'a', {}]}");
+
+        assertThat(result.path(), equalTo(null));
+        assertThat(result.sourceRange(), equalTo(null));
+        var member = result.members().iterator().next();
+        assertThat(member.sourceRange(), equalTo(null));
+        assertThat(member.name().value(), equalTo("foo"));
+        assertThat(member.name().sourceRange(), equalTo(null));
+        var array = (Json5Array) member.value();
+        assertThat(array.path(), equalTo(null));
+        assertThat(array.sourceRange(), equalTo(null));
+        for (var element : array.elements()) {
+            assertThat(element.path(), equalTo(null));
+            assertThat(element.sourceRange(), equalTo(null));
+        }
+    }
+
+    @Test
+    public void whenLocationsAreNotTrackedThenElementsOfArrayOfNumbersHaveNoPathOrSourceRange() {
+        var result = (Json5Array) parseUntracked("[1, 2.5]");
+
+        assertThat(result.elements(), isSequence(
+            allOf(
+                has("value", x -> ((Json5NumberFinite) x).value(), equalTo(new BigDecimal("1"))),
+                has("path", x -> x.path(), equalTo(null)),
+                has("sourceRange", x -> x.sourceRange(), equalTo(null))
+            ),
+            allOf(
+                has("value", x -> ((Json5NumberFinite) x).value(), equalTo(new BigDecimal("2.5"))),
+                has("path", x -> x.path(), equalTo(null)),
+                has("sourceRange", x -> x.sourceRange(), equalTo(null))
+            )
+        ));
+    }
+
+    @Test
+    public void whenLocationsAreNotTrackedThenNullAndBooleansAreSharedInstances() {
+        var result = (Json5Array) parseUntracked("[null, true, false]");
+
+        var elements = result.elements().iterator();
+        assertSame(Json5Null.UNTRACKED, elements.next());
+        assertSame(Json5Boolean.UNTRACKED_TRUE, elements.next());
+        assertSame(Json5Boolean.UNTRACKED_FALSE, elements.next());
+    }
+
+    @Test
+    public void whenLocationsAreNotTrackedThenErrorsHaveSourceRange() {
+        var error = assertThrows(
+            Json5ParseError.class,
+            () -> parseUntracked("{foo: [1, }")
+        );
+
+        assertThat(error.getMessage(), equalTo("Expected JSON value or ']', but was '}'"));
+        assertThat(error.sourceRange(), isSourceRange(10, 11));
+    }
+
+    // == Matching paths ==
+
+    @Test
+    public void whenParsingMatchingPathsThenOnlyMatchingValuesAreParsed() {
+        var result = Json5Parser.parseMatching(
+            SourceText.fromString("<string>", "{server: {host: 'a', port: 80}, debug: true}"),
+            List.of(Json5PathPattern.parse("$.server.port"))
+        );
+
+        assertThat(result, isSequence(
+            allOf(
+                isJson5NumberFinite(new BigDecimal(80), isSourceRange(27, 29)),
+                has("path", x -> x.path(), equalTo(Json5Path.ROOT.member("server").member("port")))
+            )
+        ));
+    }
+
+    @Test
+    public void whenParsingMatchingPathsThenWildcardsMatchAllMembersAndElements() {
+        var result = Json5Parser.parseMatching(
+            SourceText.fromString(
+                "<string>",
+                "{features: [{name: 'x', on: true}, {on: false}, {name: 'y'}], other: {name: 'z'}}"
+            ),
+            List.of(Json5PathPattern.parse("$.*[*].name"))
+        );
+
+        assertThat(result, isSequence(
+            allOf(
+                isJson5String("x", isSourceRange(19, 22)),
+                has("path", x -> x.path().toString(), equalTo("$.features[0].name"))
+            ),
+            allOf(
+                isJson5String("y", isSourceRange(55, 58)),
+                has("path", x -> x.path().toString(), equalTo("$.features[2].name"))
+            )
+        ));
+    }
+
+    @Test
+    public void whenParsingMatchingPathsThenValuesMatchingAnyPatternAreParsedInDocumentOrder() {
+        var result = Json5Parser.parseMatching(
+            SourceText.fromString("<string>", "{a: [1, {b: 2}], c: 'three'}"),
+            List.of(
+                Json5PathPattern.ROOT.member("c"),
+                Json5PathPattern.ROOT.member("a").index(1)
+            )
+        );
+
+        assertThat(result, isSequence(
+            isJson5Object(
+                isSequence(
+                    isJson5Member(
+                        isJson5MemberName("b", isSourceRange(9, 10)),
+                        isJson5NumberFinite(new BigDecimal(2), isSourceRange(12, 13)),
+                        isSourceRange(9, 13)
+                    )
+                ),
+                isSourceRange(8, 14)
+            ),
+            isJson5String("three", isSourceRange(20, 27))
+        ));
+    }
+
+    @Test
+    public void whenParsingMatchingPathsThenRootPatternMatchesWholeDocument() {
+        var result = Json5Parser.parseMatching(
+            SourceText.fromString("<string>", "[true]"),
+            List.of(Json5PathPattern.ROOT)
+        );
+
+        assertThat(result, isSequence(
+            isJson5Array(
+                isSequence(isJson5Boolean(true, isSourceRange(1, 5))),
+                isSourceRange(0, 6)
+            )
+        ));
+    }
+
+    @Test
+    public void whenParsingMatchingPathsThenSyntaxOfTraversedValuesIsChecked() {
+        var error = assertThrows(
+            Json5ParseError.class,
+            () -> Json5Parser.parseMatching(
+                SourceText.fromString("<string>", "{a: {b: 1} c: 2}"),
+                List.of(Json5PathPattern.parse("$.c"))
+            )
+        );
+
+        assertThat(error.getMessage(), equalTo("Expected ',' or '}', but was identifier 'c'"));
+        assertThat(error.sourceRange(), isSourceRange(11, 12));
+    }
+
+    @Test
+    public void whenParsingMatchingPathsThenSkippedValuesMustHaveMatchingBrackets() {
+        var error = assertThrows(
+            Json5ParseError.class,
+            () -> Json5Parser.parseMatching(
+                SourceText.fromString("<string>", "{a: {b: [1}}, c: 2}"),
+                List.of(Json5PathPattern.parse("$.c"))
+            )
+        );
+
+        assertThat(error.getMessage(), equalTo("Expected ',' or ']', but was '}'"));
+        assertThat(error.sourceRange(), isSourceRange(10, 11));
+    }
+
+    // == Lazy parsing ==
+
+    @Test
+    public void whenParsingLazilyThenValuesAreTheSameAsWhenParsingImmediately() {
+        var result = parseLazy("{a: [1, {b: 'x'}], c: [true]}");
+
+        assertThat(result, isJson5Object(
+            isSequence(
+                isJson5Member(
+                    isJson5MemberName("a", isSourceRange(1, 2)),
+                    isJson5Array(
+                        isSequence(
+                            isJson5NumberFinite(new BigDecimal(1), isSourceRange(5, 6)),
+                            isJson5Object(
+                                isSequence(
+                                    isJson5Member(
+                                        isJson5MemberName("b", isSourceRange(9, 10)),
+                                        isJson5String("x", isSourceRange(12, 15)),
+                                        isSourceRange(9, 15)
+                                    )
+                                ),
+                                isSourceRange(8, 16)
+                            )
+                        ),
+                        isSourceRange(4, 17)
+                    ),
+                    isSourceRange(1, 17)
+                ),
+                isJson5Member(
+                    isJson5MemberName("c", isSourceRange(19, 20)),
+                    isJson5Array(
+                        isSequence(isJson5Boolean(true, isSourceRange(23, 27))),
+                        isSourceRange(22, 28)
+                    ),
+                    isSourceRange(19, 28)
+                )
+            ),
+            isSourceRange(0, 29)
+        ));
+    }
+
+    @Test
+    public void whenParsingLazilyThenPathsOfNestedValuesAreTracked() {
+        var result = (Json5Object) parseLazy("{a: [{b: 1}]}");
+
+        var array = (Json5Array) result.getValue("a").orElseThrow();
+        var object = (Json5Object) array.get(0);
+        var number = object.getValue("b").orElseThrow();
+
+        assertThat(array.path(), equalTo(Json5Path.ROOT.member("a")));
+        assertThat(object.path(), equalTo(Json5Path.ROOT.member("a").index(0)));
+        assertThat(number.path(), equalTo(Json5Path.ROOT.member("a").index(0).member("b")));
+    }
+
+    @Test
+    public void whenParsingLazilyThenSyntaxErrorsInsideArraysAreThrownOnFirstAccess() {
+        var result = (Json5Object) parseLazy("{a: [1 2]}");
+        var array = (Json5Array) result.getValue("a").orElseThrow();
+
+        var error = assertThrows(Json5ParseError.class, array::elements);
+
+        assertThat(error.getMessage(), equalTo("Expected ',' or ']', but was number '2'"));
+        assertThat(error.sourceRange(), isSourceRange(7, 8));
+    }
+
+    @Test
+    public void whenParsingLazilyThenMismatchedBracketsAreThrownImmediately() {
+        var error = assertThrows(
+            Json5ParseError.class,
+            () -> parseLazy("{a: [1}")
+        );
+
+        assertThat(error.getMessage(), equalTo("Expected ',' or ']', but was '}'"));
+        assertThat(error.sourceRange(), isSourceRange(6, 7));
+    }
+
+    // == Nesting depth ==
+
+    @Test
+    public void deeplyNestedArraysCanBeParsed() {
+        var depth = 100_000;
+        var text = "[".repeat(depth) + "1" + "]".repeat(depth);
+
+        var result = parseText(text);
+
+        for (var level = 1; level < depth; level++) {
+            var array = (Json5Array) result;
+            assertThat(array.elements().size(), equalTo(1));
+            result = array.get(0);
+        }
+        assertThat(result, isJson5Array(
+            isSequence(isJson5NumberFinite(new BigDecimal(1), isSourceRange(depth, depth + 1))),
+            isSourceRange(depth - 1, depth + 2)
+        ));
+    }
+
+    @Test
+    public void deeplyNestedObjectsCanBeParsed() {
+        var depth = 100_000;
+        var text = "{a:".repeat(depth) + "true" + "}".repeat(depth);
+
+        var result = parseUntracked(text);
+
+        for (var level = 0; level < depth; level++) {
+            result = ((Json5Object) result).getValue("a").orElseThrow();
+        }
+        assertThat(result, isJson5Boolean(true, equalTo(null)));
+    }
+
+    @Test
+    public void whenParsingMatchingPathsThenDeeplyNestedValuesCanBeParsedAndSkipped() {
+        var depth = 100_000;
+        var nested = "[".repeat(depth) + "1" + "]".repeat(depth);
+        var text = "[" + nested + ", " + nested + ", 2]";
+
+        var result = Json5Parser.parseMatching(
+            SourceText.fromString("<string>", text),
+            List.of(Json5PathPattern.parse("$[0][0]"), Json5PathPattern.parse("$[2]"))
+        );
+
+        assertThat(result.size(), equalTo(2));
+        var value = result.get(0);
+        assertThat(value.path(), equalTo(Json5Path.ROOT.index(0).index(0)));
+        for (var level = 2; level < depth; level++) {
+            value = ((Json5Array) value).get(0);
+        }
+        assertThat(value, isJson5Array(
+            isSequence(isJson5NumberFinite(new BigDecimal(1), isSourceRange(depth + 1, depth + 2))),
+            isSourceRange(depth, depth + 3)
+        ));
+        assertThat(result.get(1), isJson5NumberFinite(new BigDecimal(2), isSourceRange(text.length() - 2, text.length() - 1)));
+    }
+
+    @Test
+    public void whenMaxDepthIsNotExceededThenValueIsParsed() {
+        var result = parseWithMaxDepth("[{a: [1]}, [[]]]", 3);
+
+        assertThat(result, isJson5Array(
+            isSequence(
+                isJson5Object(
+                    isSequence(
+                        isJson5Member(
+                            isJson5MemberName("a", isSourceRange(2, 3)),
+                            isJson5Array(
+                                isSequence(isJson5NumberFinite(new BigDecimal(1), isSourceRange(6, 7))),
+                                isSourceRange(5, 8)
+                            ),
+                            isSourceRange(2, 8)
+                        )
+                    ),
+                    isSourceRange(1, 9)
+                ),
+                isJson5Array(
+                    isSequence(isJson5Array(isSequence(), isSourceRange(12, 14))),
+                    isSourceRange(11, 15)
+                )
+            ),
+            isSourceRange(0, 16)
+        ));
+    }
+
+    @Test
+    public void whenMaxDepthIsExceededThenErrorIsThrown() {
+        var error = assertThrows(
+            Json5ParseError.class,
+            () -> parseWithMaxDepth("[{a: [1]}, [[[]]]]", 3)
+        );
+
+        assertThat(error.getMessage(), equalTo("Exceeded maximum depth of 3"));
+        assertThat(error.sourceRange(), isSourceRange(13, 14));
+    }
+
+    @Test
+    public void whenMaxDepthIsZeroThenOnlyPrimitiveValuesCanBeParsed() {
+        assertThat(parseWithMaxDepth("1", 0), isJson5NumberFinite(new BigDecimal(1), isSourceRange(0, 1)));
+
+        var error = assertThrows(Json5ParseError.class, () -> parseWithMaxDepth("{}", 0));
+
+        assertThat(error.getMessage(), equalTo("Exceeded maximum depth of 0"));
+        assertThat(error.sourceRange(), isSourceRange(0, 1));
+    }
+
+    @Test
+    public void whenParsingLazilyThenMaxDepthIsCheckedWhenValueIsAccessed() {
+        var result = (Json5Array) Json5Parser.parse(
+            SourceText.fromString("<string>", "[[[1]]]"),
+            Json5ParseOptions.builder().lazy(true).maxDepth(2).build()
+        );
+        var array = (Json5Array) result.get(0);
+
+        var error = assertThrows(Json5ParseError.class, array::elements);
+
+        assertThat(error.getMessage(), equalTo("Exceeded maximum depth of 2"));
+        assertThat(error.sourceRange(), isSourceRange(2, 3));
+    }
+
+    @Test
+    public void maxDepthCannotBeNegative() {
+        var builder = Json5ParseOptions.builder();
+
+        var error = assertThrows(IllegalArgumentException.class, () -> builder.maxDepth(-1));
+
+        assertThat(error.getMessage(), equalTo("Maximum depth must be non-negative, but was -1"));
+    }
+
+    // == Incremental parsing ==
+
+    @Test
+    public void whenValueInNestedObjectIsEditedThenValuesAreReparsed() {
+        var text = "{a: [1, 2], b: {c: 'x', d: true}, e: null}";
+        var start = text.indexOf("'x'");
+
+        var result = (Json5Object) reparseText(text, start, start + 3, "'xyz'");
+
+        assertThat(result, isJson5Object(
+            isSequence(
+                isJson5Member(
+                    isJson5MemberName("a", isSourceRange(1, 2)),
+                    isJson5Array(
+                        isSequence(
+                            isJson5NumberFinite(new BigDecimal(1), isSourceRange(5, 6)),
+                            isJson5NumberFinite(new BigDecimal(2), isSourceRange(8, 9))
+                        ),
+                        isSourceRange(4, 10)
+                    ),
+                    isSourceRange(1, 10)
+                ),
+                isJson5Member(
+                    isJson5MemberName("b", isSourceRange(12, 13)),
+                    isJson5Object(
+                        isSequence(
+                            isJson5Member(
+                                isJson5MemberName("c", isSourceRange(16, 17)),
+                                isJson5String("xyz", isSourceRange(19, 24)),
+                                isSourceRange(16, 24)
+                            ),
+                            isJson5Member(
+                                isJson5MemberName("d", isSourceRange(26, 27)),
+                                isJson5Boolean(true, isSourceRange(29, 33)),
+                                isSourceRange(26, 33)
+                            )
+                        ),
+                        isSourceRange(15, 34)
+                    ),
+                    isSourceRange(12, 34)
+                ),
+                isJson5Member(
+                    isJson5MemberName("e", isSourceRange(36, 37)),
+                    isJson5Null(isSourceRange(39, 43)),
+                    isSourceRange(36, 43)
+                )
+            ),
+            isSourceRange(0, 44)
+        ));
+    }
+
+    @Test
+    public void whenParsingIncrementallyThenResultIsSameAsParsingEditedText() {
+        var text = "{a: [1, {b: [true, 'x']}, 3], c: {d: {e: [NaN, -Infinity]}}, f: 'g'}";
+
+        assertReparseIsSameAsParse(text, text.indexOf("true"), text.indexOf("true") + 4, "false");
+        assertReparseIsSameAsParse(text, text.indexOf("NaN"), text.indexOf("NaN"), "1.5, ");
+        assertReparseIsSameAsParse(text, text.indexOf("3]"), text.indexOf("3]") + 1, "{h: [4]}");
+        assertReparseIsSameAsParse(text, text.indexOf("c:"), text.indexOf("c:") + 1, "cc");
+        assertReparseIsSameAsParse(text, text.indexOf("'x'") + 2, text.indexOf("'x'") + 2, "\\u0079");
+    }
+
+    @Test
+    public void whenDocumentIsReparsedRepeatedlyThenResultIsSameAsParsingEditedText() {
+        var text = "{a: [1, 2, {b: 'x'}], c: {d: [true, null], f: [1.5, 2, 3]}, e: 0}";
+        var value = parseText(text);
+
+        for (var editIndex = 0; editIndex < 1000; editIndex++) {
+            // Most edits change the value of e, leaving the values of a and c
+            // to be reused by every reparse.
+            int startIndex;
+            int endIndex;
+            String replacement;
+            if (editIndex % 100 == 99) {
+                startIndex = text.indexOf("d: [") + 4;
+                endIndex = text.indexOf(",", startIndex);
+                replacement = text.startsWith("true", startIndex) ? "false" : "true";
+            } else {
+                startIndex = text.indexOf("e: ") + 3;
+                endIndex = text.length() - 1;
+                replacement = Integer.toString(editIndex);
+            }
+            var editedText = text.substring(0, startIndex) + replacement + text.substring(endIndex);
+
+            value = Json5Parser.reparse(
+                SourceText.fromString("<string>", editedText),
+                value,
+                new Json5TextEdit(startIndex, endIndex, replacement)
+            );
+            text = editedText;
+
+            if (editIndex == 500) {
+                assertThat(describeValue(value), equalTo(describeValue(parseText(text))));
+            }
+        }
+
+        assertThat(describeValue(value), equalTo(describeValue(parseText(text))));
+    }
+
+    @Test
+    public void whenValueParsedFromUtf8IsReparsedThenSourceRangesOfReusedValuesAreCharacterIndices() {
+        var text = "{a: '\u00e9\u00e9\u00e9\u00e9', b: [10, 20, 30], c: [1]}";
+        var previous = parseUtf8(text);
+        var startIndex = text.indexOf("[1]") + 1;
+        var editedText = text.substring(0, startIndex) + "0, " + text.substring(startIndex);
+
+        var result = (Json5Object) Json5Parser.reparse(
+            SourceText.fromString("<string>", editedText),
+            previous,
+            new Json5TextEdit(startIndex, startIndex, "0, ")
+        );
+
+        assertThat(describeValue(result), equalTo(describeValue(parseText(editedText))));
+        assertThat(
+            ((Json5Array) result.getValue("b").orElseThrow()).get(1),
+            isJson5NumberFinite(new BigDecimal(20), isSourceRange(20, 22))
+        );
+    }
+
+    @Test
+    public void whenElementIsInsertedIntoArrayThenPathsOfLaterElementsAreUpdated() {
+        var text = "[[1], {a: 2}, 3]";
+
+        var result = (Json5Array) reparseText(text, 1, 1, "0, ");
+
+        assertThat(result.elements(), isSequence(
+            isJson5NumberFinite(new BigDecimal(0), isSourceRange(1, 2)),
+            isJson5Array(
+                isSequence(isJson5NumberFinite(new BigDecimal(1), isSourceRange(5, 6))),
+                isSourceRange(4, 7)
+            ),
+            isJson5Object(
+                isSequence(
+                    isJson5Member(
+                        isJson5MemberName("a", isSourceRange(10, 11)),
+                        isJson5NumberFinite(new BigDecimal(2), isSourceRange(13, 14)),
+                        isSourceRange(10, 14)
+                    )
+                ),
+                isSourceRange(9, 15)
+            ),
+            isJson5NumberFinite(new BigDecimal(3), isSourceRange(17, 18))
+        ));
+        var object = (Json5Object) result.get(2);
+        assertThat(object.path(), equalTo(Json5Path.ROOT.index(2)));
+        assertThat(
+            object.getValue("a").orElseThrow().path(),
+            equalTo(Json5Path.ROOT.index(2).member("a"))
+        );
+    }
+
+    @Test
+    public void whenEditStartsCommentThenValuesInsideCommentAreRemoved() {
+        var text = "[1, 2, 3, /**/ 4]";
+
+        var result = reparseText(text, text.indexOf("2"), text.indexOf("2"), "/*");
+
+        assertThat(result, isJson5Array(
+            isSequence(
+                isJson5NumberFinite(new BigDecimal(1), isSourceRange(1, 2)),
+                isJson5NumberFinite(new BigDecimal(4), isSourceRange(17, 18))
+            ),
+            isSourceRange(0, 19)
+        ));
+    }
+
+    @Test
+    public void whenEditChangesBracketsThenDocumentIsReparsed() {
+        var text = "{a: [1, [2, 3]], b: 4}";
+
+        assertReparseIsSameAsParse(text, text.indexOf("]]"), text.indexOf("]]") + 2, "]], c: [5]");
+        assertReparseIsSameAsParse(text, text.indexOf(", 3"), text.indexOf(", 3") + 3, "], [3");
+        assertReparseIsSameAsParse(text, 0, 1, "{d: 6, ");
+        assertReparseIsSameAsParse(text, text.length(), text.length(), " // End");
+    }
+
+    @Test
+    public void whenEditedTextIsInvalidThenErrorIsThrown() {
+        var text = "{a: [1, 2], b: 3}";
+        var start = text.indexOf("2");
+
+        var error = assertThrows(
+            Json5ParseError.class,
+            () -> reparseText(text, start, start + 1, "2 3")
+        );
+
+        assertThat(error.getMessage(), equalTo("Expected ',' or ']', but was number '3'"));
+        assertThat(error.sourceRange(), isSourceRange(10, 11));
+    }
+
+    @Test
+    public void whenEditedTextIsNotResultOfEditThenErrorIsThrown() {
+        var previous = parseText("[1, 2]");
+
+        var error = assertThrows(
+            IllegalArgumentException.class,
+            () -> Json5Parser.reparse(
+                SourceText.fromString("<string>", "[1, 3]"),
+                previous,
+                new Json5TextEdit(4, 5, "4")
+            )
+        );
+
+        assertThat(
+            error.getMessage(),
+            equalTo("Source text must be the result of applying the edit to the previous source text")
+        );
+    }
+
+    // == Parallel parsing ==
+
+    @Test
+    public void whenParsingInParallelThenElementsOfLargeTopLevelArrayAreParsed() {
+        var text = largeArrayText(20000);
+
+        var result = (Json5Array) parseParallel(text);
+
+        assertThat(result.elements().size(), equalTo(20000));
+        assertThat(result.sourceRange(), isSourceRange(0, text.length()));
+        var object = (Json5Object) result.get(150);
+        assertThat(object, isJson5Object(
+            isSequence(
+                isJson5Member(
+                    isJson5MemberName("a", isSourceRange(1952, 1953)),
+                    isJson5NumberFinite(new BigDecimal(100150), isSourceRange(1955, 1961)),
+                    isSourceRange(1952, 1961)
+                )
+            ),
+            isSourceRange(1951, 1962)
+        ));
+        assertThat(
+            object.getValue("a").orElseThrow().path(),
+            equalTo(Json5Path.ROOT.index(150).member("a"))
+        );
+    }
+
+    @Test
+    public void whenParsingInParallelThenErrorForEarliestInvalidElementIsThrown() {
+        var elements = largeArrayElements(20000);
+        elements.set(300, "{a:: 130}");
+        elements.set(19000, "{a:: 190}");
+        var text = "[" + String.join(", ", elements) + "]";
+
+        var error = assertThrows(Json5ParseError.class, () -> parseParallel(text));
+
+        assertThat(error.getMessage(), equalTo("Expected JSON value, but was ':'"));
+        assertThat(error.sourceRange(), isSourceRange(3904, 3905));
+    }
+
+    @Test
+    public void whenParsingInParallelThenErrorsBetweenElementsAreThrown() {
+        var elements = largeArrayElements(20000);
+        elements.set(10000, "{a: 1500} 1");
+        var text = "[" + String.join(", ", elements) + "]";
+
+        var error = assertThrows(Json5ParseError.class, () -> parseParallel(text));
+
+        assertThat(error.getMessage(), equalTo("Expected ',' or ']', but was number '1'"));
+    }
+
+    @Test
+    public void whenParsingInParallelThenSmallArraysAndOtherValuesAreParsed() {
+        assertThat(parseParallel("[1, true]"), isJson5Array(
+            isSequence(
+                isJson5NumberFinite(new BigDecimal(1), isSourceRange(1, 2)),
+                isJson5Boolean(true, isSourceRange(4, 8))
+            ),
+            isSourceRange(0, 9)
+        ));
+        assertThat(parseParallel("'a'"), isJson5String("a", isSourceRange(0, 3)));
+    }
+
+    @Test
+    public void whenParsingInParallelThenErrorInSmallArrayIsSameAsSequentialError() {
+        var text = "[{\"a\" 1], {]";
+
+        var error = assertThrows(Json5ParseError.class, () -> parseParallel(text));
+
+        assertThat(error.getMessage(), equalTo("Expected ':', but was number '1'"));
+        assertThat(error.sourceRange(), isSourceRange(6, 7));
+    }
+
+    @Test
+    public void whenParsingInParallelThenErrorBeforeMismatchedBracketIsThrown() {
+        var elements = largeArrayElements(20000);
+        elements.set(300, "{a 1300}");
+        elements.set(310, "{a: [1310}");
+        var text = "[" + String.join(", ", elements) + "]";
+
+        var error = assertThrows(Json5ParseError.class, () -> parseParallel(text));
+
+        assertThat(error.getMessage(), equalTo("Expected ':', but was number '1300'"));
+        assertThat(error.sourceRange(), isSourceRange(3904, 3908));
+    }
+
+    @Test
+    public void whenParsingInParallelThenLargeArrayOfNumbersIsParsed() {
+        var elements = new ArrayList<String>();
+        for (var index = 0; index < 20000; index++) {
+            elements.add(index % 2 == 0 ? Integer.toString(index) : index + ".5");
+        }
+        var text = "[" + String.join(", ", elements) + "]";
+
+        var result = (Json5Array) parseParallel(text);
+
+        var elementStart = text.indexOf(", 501.5,") + 2;
+        assertThat(result.get(501), allOf(
+            isJson5NumberFinite(new BigDecimal("501.5"), isSourceRange(elementStart, elementStart + 5)),
+            has("path", x -> x.path(), equalTo(Json5Path.ROOT.index(501)))
+        ));
+        assertThat(result.asDoubleArray()[19999], equalTo(19999.5));
+        // Arrays of numbers are stored as primitive arrays, so each element
+        // is created when requested.
+        assertThat(result.get(501) == result.get(501), equalTo(false));
+    }
+
+    @Test
+    public void whenParsingInParallelThenLargeArrayOfNumbersFollowedByOtherValuesIsParsed() {
+        var elements = new ArrayList<String>();
+        for (var index = 0; index < 30000; index++) {
+            elements.add(Integer.toString(10000 + index));
+        }
+        elements.set(900, "'a'");
+        var text = "[" + String.join(", ", elements) + "]";
+
+        var result = (Json5Array) parseParallel(text);
+
+        assertThat(result.size(), equalTo(30000));
+        assertThat(result.get(100), allOf(
+            isJson5NumberFinite(new BigDecimal(10100), isSourceRange(701, 706)),
+            has("path", x -> x.path(), equalTo(Json5Path.ROOT.index(100)))
+        ));
+        assertThat(result.get(900), isJson5String("a", isSourceRange(6301, 6304)));
+        assertThat(result.get(29999), allOf(
+            isJson5NumberFinite(new BigDecimal(39999), isSourceRange(209992, 209997)),
+            has("path", x -> x.path(), equalTo(Json5Path.ROOT.index(29999)))
+        ));
+    }
+
+    @Test
+    public void whenParsingInParallelThenLargeDocumentsOfAnyShapeAreParsed() {
+        var text = largeObjectText(5000);
+
+        var result = (Json5Object) parseParallel(text);
+
+        var value = "\"value [4321] // /* 'x' */\"";
+        var valueStart = text.indexOf(value);
+        assertThat(result.getValue("key4321"), isOptionalOf(
+            isJson5String(
+                "value [4321] // /* 'x' */",
+                isSourceRange(valueStart, valueStart + value.length())
+            )
+        ));
+    }
+
+    @Test
+    public void whenParsingLargeDocumentInParallelThenTokenErrorsAreThrown() {
+        var text = largeObjectText(5000).replace("key4321: ", "key4321: # ");
+
+        var error = assertThrows(Json5ParseError.class, () -> parseParallel(text));
+
+        var errorStart = text.indexOf("#");
+        assertThat(error.getMessage(), equalTo("Expected JSON5 token, but was '#'"));
+        assertThat(error.sourceRange(), isSourceRange(errorStart, errorStart + 1));
+    }
+
+    @Test
+    public void whenParsingLargeDocumentInParallelThenEarlierSyntaxErrorsAreThrownBeforeTokenErrors() {
+        var text = largeObjectText(5000)
+            .replace("key100: ", "key100 ")
+            .replace("key4321: ", "key4321: # ");
+
+        var error = assertThrows(Json5ParseError.class, () -> parseParallel(text));
+
+        assertThat(error.getMessage(), equalTo("Expected ':', but was string \"value [100] // /* 'x' */\""));
+    }
+
+    // == Files ==
+
+    @Test
+    public void canParseFile(@TempDir Path directory) throws IOException {
+        var path = directory.resolve("example.json5");
+        Files.writeString(path, "{foo: '\u00e9'}");
+
+        var result = Json5Parser.parse(path);
+
+        assertThat(result, isJson5Object(
+            isSequence(
+                isJson5Member(
+                    isJson5MemberName("foo", isSourceRange(1, 4)),
+                    isJson5String("\u00e9", isSourceRange(6, 9)),
+                    isSourceRange(1, 9)
+                )
+            ),
+            isSourceRange(0, 10)
+        ));
+    }
+
+    // == Test Helpers ==
+
+    private Json5Value parseText(String text) {
+        return Json5Parser.parse(SourceText.fromString("<string>", text));
+    }
+
+    private Json5Value parseUntracked(String text) {
+        return Json5Parser.parse(
+            SourceText.fromString("<string>", text),
+            Json5ParseOptions.builder().tracksLocations(false).build()
+        );
+    }
+
+    private Json5Value parseLazy(String text) {
+        return Json5Parser.parse(
+            SourceText.fromString("<string>", text),
+            Json5ParseOptions.builder().lazy(true).build()
+        );
+    }
+
+    private Json5Value parseWithMaxDepth(String text, int maxDepth) {
+        return Json5Parser.parse(
+            SourceText.fromString("<string>", text),
+            Json5ParseOptions.builder().maxDepth(maxDepth).build()
+        );
+    }
+
+    private Json5Value reparseText(
+        String text,
+        int startIndex,
+        int endIndex,
+        String replacement
+    ) {
+        var previous = parseText(text);
+        var editedText = text.substring(0, startIndex) + replacement + text.substring(endIndex);
+        return Json5Parser.reparse(
+            SourceText.fromString("<string>", editedText),
+            previous,
+            new Json5TextEdit(startIndex, endIndex, replacement)
+        );
+    }
+
+    private void assertReparseIsSameAsParse(
+        String text,
+        int startIndex,
+        int endIndex,
+        String replacement
+    ) {
+        var editedText = text.substring(0, startIndex) + replacement + text.substring(endIndex);
+
+        var result = reparseText(text, startIndex, endIndex, replacement);
+
+        assertThat(describeValue(result), equalTo(describeValue(parseText(editedText))));
+    }
+
+    private static String describeValue(Json5Value value) {
+        var range = value.sourceRange();
+        var location = value.path() + " " +
+            range.start().characterIndex() + "-" + range.end().characterIndex();
+        return switch (value) {
+            case Json5Object object -> {
+                var members = new ArrayList<String>();
+                for (var member : object.members()) {
+                    var nameRange = member.name().sourceRange();
+                    var memberRange = member.sourceRange();
+                    members.add(
+                        member.name().value() + " " +
+                            nameRange.start().characterIndex() + "-" + nameRange.end().characterIndex() + " " +
+                            memberRange.start().characterIndex() + "-" + memberRange.end().characterIndex() + ": " +
+                            describeValue(member.value())
+                    );
+                }
+                yield "object " + location + " " + members;
+            }
+            case Json5Array array -> {
+                var elements = new ArrayList<String>();
+                for (var element : array.elements()) {
+                    elements.add(describeValue(element));
+                }
+                yield "array " + location + " " + elements;
+            }
+            case Json5String string -> "string " + location + " " + string.value();
+            case Json5NumberFinite number -> "number " + location + " " + number.value();
+            case Json5Boolean booleanValue -> "boolean " + location + " " + booleanValue.value();
+            default -> value.getClass().getSimpleName() + " " + location;
+        };
+    }
+
+    private Json5Value parseParallel(String text) {
+        try (var pool = new ForkJoinPool(4)) {
+            return Json5Parser.parse(
+                SourceText.fromString("<string>", text),
+                Json5ParseOptions.builder().parallel(pool).build()
+            );
+        }
+    }
+
+    private static List<String> largeArrayElements(int count) {
+        // Each element has the same length so that offsets are easy to calculate.
+        var elements = new ArrayList<String>();
+        for (var index = 0; index < count; index++) {
+            elements.add("{a: " + (100000 + index) + "}");
+        }
+        return elements;
+    }
+
+    private static String largeArrayText(int count) {
+        return "[" + String.join(", ", largeArrayElements(count)) + "]";
+    }
+
+    private static String largeObjectText(int count) {
+        var text = new StringBuilder("{\n");
+        for (var index = 0; index < count; index++) {
+            text.append("    key").append(index)
+                .append(": \"value [").append(index).append("] // /* 'x' */\",\n");
+        }
+        return text.append("}").toString();
+    }
+
+    private static String firstMemberName(Json5Value value) {
+        return ((Json5Object) value).members().iterator().next().name().value();
+    }
+
+    private Json5Value parseUtf8(String text) {
+        return Json5Parser.parseUtf8("<string>", text.getBytes(StandardCharsets.UTF_8));
     }
 }
@@ -0,0 +1,175 @@
+package org.zwobble.json5.parser;
+
+import org.junit.jupiter.api.Test;
+import org.zwobble.sourcetext.SourceText;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.zwobble.json5.sources.SourceRangeMatchers.isSourceRange;
+import static org.zwobble.precisely.AssertThat.assertThat;
+import static org.zwobble.precisely.Matchers.equalTo;
+
+public class Json5ReaderTests {
+    @Test
+    public void scalarValueIsReadAsSingleToken() {
+        var reader = reader("'one'");
+
+        assertThat(reader.nextToken(), equalTo(Json5Reader.Token.STRING));
+        assertThat(reader.stringValue(), equalTo("one"));
+        assertThat(reader.sourceRange(), isSourceRange(0, 5));
+        assertThat(reader.nextToken(), equalTo(Json5Reader.Token.END_DOCUMENT));
+        assertThat(reader.nextToken(), equalTo(Json5Reader.Token.END_DOCUMENT));
+    }
+
+    @Test
+    public void nestedValuesAreReadInDocumentOrder() {
+        var reader = reader("{a: [1, 'two', null, true,], \"b\": {},}");
+
+        assertThat(reader.nextToken(), equalTo(Json5Reader.Token.START_OBJECT));
+        assertThat(reader.currentName(), equalTo(null));
+        assertThat(reader.nextToken(), equalTo(Json5Reader.Token.MEMBER_NAME));
+        assertThat(reader.currentName(), equalTo("a"));
+        assertThat(reader.sourceRange(), isSourceRange(1, 2));
+        assertThat(reader.nextToken(), equalTo(Json5Reader.Token.START_ARRAY));
+        assertThat(reader.currentName(), equalTo("a"));
+        assertThat(reader.nextToken(), equalTo(Json5Reader.Token.NUMBER));
+        assertThat(reader.longValue(), equalTo(1L));
+        assertThat(reader.currentName(), equalTo(null));
+        assertThat(reader.nextToken(), equalTo(Json5Reader.Token.STRING));
+        assertThat(reader.stringValue(), equalTo("two"));
+        assertThat(reader.nextToken(), equalTo(Json5Reader.Token.NULL));
+        assertThat(reader.nextToken(), equalTo(Json5Reader.Token.BOOLEAN));
+        assertThat(reader.booleanValue(), equalTo(true));
+        assertThat(reader.nextToken(), equalTo(Json5Reader.Token.END_ARRAY));
+        assertThat(reader.currentName(), equalTo("a"));
+        assertThat(reader.nextToken(), equalTo(Json5Reader.Token.MEMBER_NAME));
+        assertThat(reader.currentName(), equalTo("b"));
+        assertThat(reader.nextToken(), equalTo(Json5Reader.Token.START_OBJECT));
+        assertThat(reader.nextToken(), equalTo(Json5Reader.Token.END_OBJECT));
+        assertThat(reader.currentName(), equalTo("b"));
+        assertThat(reader.nextToken(), equalTo(Json5Reader.Token.END_OBJECT));
+        assertThat(reader.sourceRange(), isSourceRange(37, 38));
+        assertThat(reader.nextToken(), equalTo(Json5Reader.Token.END_DOCUMENT));
+    }
+
+    @Test
+    public void numbersCanBeReadAsDoubles() {
+        var reader = reader("[2.5, -Infinity]");
+
+        reader.nextToken();
+        reader.nextToken();
+        assertThat(reader.doubleValue(), equalTo(2.5));
+        reader.nextToken();
+        assertThat(reader.doubleValue(), equalTo(Double.NEGATIVE_INFINITY));
+        assertThrows(ArithmeticException.class, reader::longValue);
+    }
+
+    @Test
+    public void whenValueOfWrongTypeIsRequestedThenErrorIsThrown() {
+        var reader = reader("true");
+
+        reader.nextToken();
+
+        var error = assertThrows(IllegalStateException.class, reader::stringValue);
+        assertThat(error.getMessage(), equalTo("Current token is BOOLEAN, not STRING"));
+    }
+
+    @Test
+    public void skippingStartOfObjectMovesToEndOfObject() {
+        var reader = reader("[{a: [1, {b: 'x'}], c: {}}, 2]");
+
+        reader.nextToken();
+        assertThat(reader.nextToken(), equalTo(Json5Reader.Token.START_OBJECT));
+        reader.skipValue();
+
+        assertThat(reader.currentToken(), equalTo(Json5Reader.Token.END_OBJECT));
+        assertThat(reader.sourceRange(), isSourceRange(25, 26));
+        assertThat(reader.nextToken(), equalTo(Json5Reader.Token.NUMBER));
+        assertThat(reader.longValue(), equalTo(2L));
+        assertThat(reader.nextToken(), equalTo(Json5Reader.Token.END_ARRAY));
+        assertThat(reader.nextToken(), equalTo(Json5Reader.Token.END_DOCUMENT));
+    }
+
+    @Test
+    public void skippingMemberNameSkipsValueOfMember() {
+        var reader = reader("{a: [[1], [2]], b: 3}");
+
+        reader.nextToken();
+        assertThat(reader.nextToken(), equalTo(Json5Reader.Token.MEMBER_NAME));
+        reader.skipValue();
+
+        assertThat(reader.currentToken(), equalTo(Json5Reader.Token.END_ARRAY));
+        assertThat(reader.currentName(), equalTo("a"));
+        assertThat(reader.nextToken(), equalTo(Json5Reader.Token.MEMBER_NAME));
+        assertThat(reader.currentName(), equalTo("b"));
+    }
+
+    @Test
+    public void skippingScalarValueDoesNotMoveReader() {
+        var reader = reader("[1, 2]");
+
+        reader.nextToken();
+        reader.nextToken();
+        reader.skipValue();
+
+        assertThat(reader.currentToken(), equalTo(Json5Reader.Token.NUMBER));
+        assertThat(reader.longValue(), equalTo(1L));
+    }
+
+    @Test
+    public void whenSkippedValueHasMismatchedBracketsThenErrorIsThrown() {
+        var reader = reader("[{a: [1}]");
+
+        reader.nextToken();
+        reader.nextToken();
+
+        var error = assertThrows(Json5ParseError.class, reader::skipValue);
+
+        assertThat(error.getMessage(), equalTo("Expected ',' or ']', but was '}'"));
+        assertThat(error.sourceRange(), isSourceRange(7, 8));
+    }
+
+    @Test
+    public void whenDocumentIsInvalidThenErrorIsThrownWhenInvalidTokenIsReached() {
+        var reader = reader("{a 1}");
+
+        reader.nextToken();
+        reader.nextToken();
+
+        var error = assertThrows(Json5ParseError.class, reader::nextToken);
+
+        assertThat(error.getMessage(), equalTo("Expected ':', but was number '1'"));
+        assertThat(error.sourceRange(), isSourceRange(3, 4));
+    }
+
+    @Test
+    public void whenDocumentHasTrailingValueThenErrorIsThrown() {
+        var reader = reader("1 2");
+
+        reader.nextToken();
+
+        var error = assertThrows(Json5ParseError.class, reader::nextToken);
+
+        assertThat(error.getMessage(), equalTo("Expected end of document, but was number '2'"));
+    }
+
+    @Test
+    public void canReadUtf8EncodedText() {
+        var reader = Json5Reader.fromUtf8(
+            "<string>",
+            ByteBuffer.wrap("{'\u00e9': '\u00e8'}".getBytes(StandardCharsets.UTF_8))
+        );
+
+        reader.nextToken();
+        reader.nextToken();
+        assertThat(reader.currentName(), equalTo("\u00e9"));
+        reader.nextToken();
+        assertThat(reader.stringValue(), equalTo("\u00e8"));
+    }
+
+    private static Json5Reader reader(String text) {
+        return Json5Reader.fromSourceText(SourceText.fromString("<string>", text));
+    }
+}
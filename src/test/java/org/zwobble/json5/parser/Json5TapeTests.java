@@ -0,0 +1,201 @@
+package org.zwobble.json5.parser;
+
+import org.junit.jupiter.api.Test;
+import org.zwobble.json5.values.Json5Array;
+import org.zwobble.json5.values.Json5NumberFinite;
+import org.zwobble.json5.values.Json5Object;
+import org.zwobble.sourcetext.SourceText;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.zwobble.json5.values.Json5ValueMatchers.*;
+import static org.zwobble.precisely.AssertThat.assertThat;
+import static org.zwobble.precisely.Matchers.*;
+
+public class Json5TapeTests {
+    @Test
+    public void scalarValuesCanBeRead() {
+        assertThat(parseTape("'a\\u0062c'").cursor().stringValue(), equalTo("abc"));
+        assertThat(parseTape("true").cursor().booleanValue(), equalTo(true));
+        assertThat(parseTape("false").cursor().booleanValue(), equalTo(false));
+        assertThat(parseTape("null").cursor().kind(), equalTo(Json5TapeCursor.Kind.NULL));
+        assertThat(parseTape("-1.25").cursor().doubleValue(), equalTo(-1.25));
+        assertThat(parseTape("0x10").cursor().longValue(), equalTo(16L));
+        assertThat(parseTape("-Infinity").cursor().doubleValue(), equalTo(Double.NEGATIVE_INFINITY));
+        assertThat(parseTape("NaN").cursor().doubleValue(), equalTo(Double.NaN));
+    }
+
+    @Test
+    public void numbersThatDoNotFitInLongAreReadExactly() {
+        var cursor = parseTape("123456789012345678901234567890.5").cursor();
+
+        var result = (Json5NumberFinite) cursor.numberValue();
+
+        assertThat(result.value(), equalTo(new BigDecimal("123456789012345678901234567890.5")));
+    }
+
+    @Test
+    public void cursorCanIterateOverMembersOfObject() {
+        var cursor = parseTape("{a: 1, \"b\": [true], c\\u0064: {}}").cursor();
+
+        assertThat(cursor.kind(), equalTo(Json5TapeCursor.Kind.OBJECT));
+        assertThat(cursor.size(), equalTo(3));
+        assertThat(cursor.memberName(), equalTo(null));
+
+        assertThat(cursor.moveToFirstChild(), equalTo(true));
+        assertThat(cursor.memberName(), equalTo("a"));
+        assertThat(cursor.longValue(), equalTo(1L));
+
+        assertThat(cursor.moveToNextSibling(), equalTo(true));
+        assertThat(cursor.memberName(), equalTo("b"));
+        assertThat(cursor.kind(), equalTo(Json5TapeCursor.Kind.ARRAY));
+        assertThat(cursor.size(), equalTo(1));
+
+        assertThat(cursor.moveToNextSibling(), equalTo(true));
+        assertThat(cursor.memberName(), equalTo("cd"));
+        assertThat(cursor.size(), equalTo(0));
+        assertThat(cursor.moveToFirstChild(), equalTo(false));
+
+        assertThat(cursor.moveToNextSibling(), equalTo(false));
+        assertThat(cursor.moveToParent(), equalTo(true));
+        assertThat(cursor.kind(), equalTo(Json5TapeCursor.Kind.OBJECT));
+        assertThat(cursor.moveToParent(), equalTo(false));
+    }
+
+    @Test
+    public void cursorCanMoveToMemberByName() {
+        var cursor = parseTape("{a: {b: 1, c: 2}, b: 3, a: {c: 4}}").cursor();
+
+        assertThat(cursor.moveToMember("b"), equalTo(true));
+        assertThat(cursor.longValue(), equalTo(3L));
+        cursor.moveToParent();
+
+        assertThat(cursor.moveToMember("a"), equalTo(true));
+        assertThat(cursor.moveToMember("c"), equalTo(true));
+        assertThat(cursor.longValue(), equalTo(4L));
+
+        assertThat(cursor.moveToMember("d"), equalTo(false));
+    }
+
+    @Test
+    public void cursorCanMoveToElementByIndex() {
+        var cursor = parseTape("[[1, 2], 'x', {a: null}]").cursor();
+
+        assertThat(cursor.moveToElement(3), equalTo(false));
+        assertThat(cursor.moveToElement(2), equalTo(true));
+        assertThat(cursor.kind(), equalTo(Json5TapeCursor.Kind.OBJECT));
+        cursor.moveToParent();
+        assertThat(cursor.moveToElement(1), equalTo(true));
+        assertThat(cursor.stringValue(), equalTo("x"));
+        assertThat(cursor.memberName(), equalTo(null));
+    }
+
+    @Test
+    public void copiesOfCursorMoveIndependently() {
+        var cursor = parseTape("[1, 2]").cursor();
+        cursor.moveToFirstChild();
+
+        var copy = cursor.copy();
+        copy.moveToNextSibling();
+
+        assertThat(cursor.longValue(), equalTo(1L));
+        assertThat(copy.longValue(), equalTo(2L));
+    }
+
+    @Test
+    public void whenValueOfWrongKindIsRequestedThenErrorIsThrown() {
+        var cursor = parseTape("[]").cursor();
+
+        var error = assertThrows(IllegalStateException.class, cursor::stringValue);
+
+        assertThat(error.getMessage(), equalTo("Current value is ARRAY, not STRING"));
+    }
+
+    @Test
+    public void tapeCanBeConvertedToJson5Values() {
+        var tape = parseTape("{a: [1, 2.5], b: ['x', null, NaN], a: true}");
+
+        var result = (Json5Object) tape.toJson5Value();
+
+        assertThat(result.path(), equalTo(null));
+        assertThat(result.sourceRange(), equalTo(null));
+        assertThat(result.getValue("a"), isOptionalOf(isJson5Boolean(true, equalTo(null))));
+        var array = (Json5Array) result.getValue("b").orElseThrow();
+        assertThat(array.elements(), isSequence(
+            isJson5String("x", equalTo(null)),
+            isJson5Null(equalTo(null)),
+            isJson5NumberNan(equalTo(null))
+        ));
+    }
+
+    @Test
+    public void arraysOfNumbersAreConvertedToArraysOfNumbers() {
+        var tape = parseTape("[1, 2.5, -3]");
+
+        var result = (Json5Array) tape.toJson5Value();
+
+        assertThat(result.asDoubleArray()[1], equalTo(2.5));
+        assertThat(result.elements(), isSequence(
+            isJson5NumberFinite(new BigDecimal("1"), equalTo(null)),
+            isJson5NumberFinite(new BigDecimal("2.5"), equalTo(null)),
+            isJson5NumberFinite(new BigDecimal("-3"), equalTo(null))
+        ));
+    }
+
+    @Test
+    public void tapeUsesOneEntryPerValue() {
+        var tape = parseTape("[null, true, {}]");
+
+        assertThat(tape.entryCount(), equalTo(6));
+    }
+
+    @Test
+    public void canParseUtf8EncodedText() {
+        var tape = Json5Parser.parseTapeUtf8(
+            "<string>",
+            ByteBuffer.wrap("{'\u00e9': '\u00e8'}".getBytes(StandardCharsets.UTF_8))
+        );
+
+        var cursor = tape.cursor();
+        cursor.moveToFirstChild();
+
+        assertThat(cursor.memberName(), equalTo("\u00e9"));
+        assertThat(cursor.stringValue(), equalTo("\u00e8"));
+    }
+
+    @Test
+    public void deeplyNestedValuesCanBeParsed() {
+        var depth = 100_000;
+        var text = "[{a: ".repeat(depth) + "1" + "}]".repeat(depth);
+
+        var tape = parseTape(text);
+
+        var cursor = tape.cursor();
+        for (var level = 0; level < depth * 2; level++) {
+            assertThat(cursor.size(), equalTo(1));
+            cursor.moveToFirstChild();
+        }
+        assertThat(cursor.longValue(), equalTo(1L));
+
+        var value = tape.toJson5Value();
+        for (var level = 0; level < depth; level++) {
+            var object = (Json5Object) ((Json5Array) value).get(0);
+            value = object.getValue("a").orElseThrow();
+        }
+        assertThat(value, isJson5NumberFinite(new BigDecimal(1), equalTo(null)));
+    }
+
+    @Test
+    public void whenDocumentIsInvalidThenErrorIsThrown() {
+        var error = assertThrows(Json5ParseError.class, () -> parseTape("[1 2]"));
+
+        assertThat(error.getMessage(), equalTo("Expected ',' or ']', but was number '2'"));
+    }
+
+    private static Json5Tape parseTape(String text) {
+        return Json5Parser.parseTape(SourceText.fromString("<string>", text));
+    }
+}
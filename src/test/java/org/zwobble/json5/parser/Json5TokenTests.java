@@ -28,6 +28,18 @@ public class Json5TokenTests {
         assertThat(result, equalTo("identifier 'foo'"));
     }
 
+    @Test
+    public void keywordTokenIsDescribedAsIdentifier() {
+        var token = new Json5Token(
+            Json5TokenType.KEYWORD_NULL,
+            sourceRange("null")
+        );
+
+        var result = token.describe();
+
+        assertThat(result, equalTo("identifier 'null'"));
+    }
+
     @Test
     public void braceOpenTokenIsDescribedLiterally() {
         var token = new Json5Token(
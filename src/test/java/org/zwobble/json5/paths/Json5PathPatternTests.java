@@ -0,0 +1,74 @@
+package org.zwobble.json5.paths;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.zwobble.precisely.AssertThat.assertThat;
+import static org.zwobble.precisely.Matchers.equalTo;
+
+public class Json5PathPatternTests {
+    @Test
+    public void rootPatternIsParsedFromDollar() {
+        var result = Json5PathPattern.parse("$");
+
+        assertThat(result, equalTo(Json5PathPattern.ROOT));
+        assertThat(result.segmentCount(), equalTo(0));
+    }
+
+    @Test
+    public void patternWithEachKindOfSegmentIsParsed() {
+        var result = Json5PathPattern.parse("$.features[*].*[2]");
+
+        assertThat(
+            result,
+            equalTo(Json5PathPattern.ROOT.member("features").anyIndex().anyMember().index(2))
+        );
+        assertThat(result.toString(), equalTo("$.features[*].*[2]"));
+    }
+
+    @Test
+    public void memberSegmentMatchesMemberWithSameName() {
+        var pattern = Json5PathPattern.ROOT.member("foo");
+
+        assertThat(pattern.matchesMember(0, "foo"), equalTo(true));
+        assertThat(pattern.matchesMember(0, "bar"), equalTo(false));
+        assertThat(pattern.matchesIndex(0, 0), equalTo(false));
+    }
+
+    @Test
+    public void wildcardMemberSegmentMatchesAnyMemberButNoElements() {
+        var pattern = Json5PathPattern.ROOT.anyMember();
+
+        assertThat(pattern.matchesMember(0, "foo"), equalTo(true));
+        assertThat(pattern.matchesIndex(0, 0), equalTo(false));
+    }
+
+    @Test
+    public void indexSegmentMatchesElementWithSameIndex() {
+        var pattern = Json5PathPattern.ROOT.index(1);
+
+        assertThat(pattern.matchesIndex(0, 1), equalTo(true));
+        assertThat(pattern.matchesIndex(0, 2), equalTo(false));
+        assertThat(pattern.matchesMember(0, "1"), equalTo(false));
+    }
+
+    @Test
+    public void wildcardIndexSegmentMatchesAnyElementButNoMembers() {
+        var pattern = Json5PathPattern.ROOT.anyIndex();
+
+        assertThat(pattern.matchesIndex(0, 42), equalTo(true));
+        assertThat(pattern.matchesMember(0, "foo"), equalTo(false));
+    }
+
+    @Test
+    public void whenPatternIsInvalidThenErrorIsThrown() {
+        for (var pattern : new String[] {"", "foo", "$.", "$[", "$[x]", "$foo"}) {
+            var error = assertThrows(
+                IllegalArgumentException.class,
+                () -> Json5PathPattern.parse(pattern)
+            );
+
+            assertThat(error.getMessage(), equalTo("Invalid JSONPath pattern: " + pattern));
+        }
+    }
+}
@@ -32,4 +32,32 @@ public class Json5PathTests {
 
         assertThat(result, equalTo("$[2]"));
     }
+
+    @Test
+    public void pathToNestedValueIncludesEachAncestor() {
+        var path = Json5Path.ROOT.member("foo").index(2).member("bar");
+
+        var result = path.toString();
+
+        assertThat(result, equalTo("$.foo[2].bar"));
+    }
+
+    @Test
+    public void pathsWithSameSegmentsAreEqual() {
+        var first = Json5Path.ROOT.member("foo").index(2);
+        var second = Json5Path.ROOT.member("foo").index(2);
+
+        assertThat(first, equalTo(second));
+        assertThat(first.hashCode(), equalTo(second.hashCode()));
+    }
+
+    @Test
+    public void pathsWithDifferentSegmentsAreNotEqual() {
+        var path = Json5Path.ROOT.member("foo").index(2);
+
+        assertThat(path.equals(Json5Path.ROOT.member("foo").index(1)), equalTo(false));
+        assertThat(path.equals(Json5Path.ROOT.member("bar").index(2)), equalTo(false));
+        assertThat(path.equals(Json5Path.ROOT.index(2)), equalTo(false));
+        assertThat(path.equals(Json5Path.ROOT.member("foo").index(2).index(0)), equalTo(false));
+    }
 }
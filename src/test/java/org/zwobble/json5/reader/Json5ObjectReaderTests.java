@@ -1,8 +1,12 @@
 package org.zwobble.json5.reader;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.zwobble.sourcetext.SourceText;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Optional;
 import java.util.OptionalLong;
 
@@ -574,6 +578,17 @@ public class Json5ObjectReaderTests {
         ));
     }
 
+    @Test
+    public void canParseFile(@TempDir Path directory) throws IOException {
+        var path = directory.resolve("example.json5");
+        Files.writeString(path, "{a: {b: 42}}");
+        var object = Json5ObjectReader.parse(path);
+
+        var result = object.getObject("a").getLong("b");
+
+        assertThat(result, equalTo(42L));
+    }
+
     private Json5ObjectReader parseJson5Object(String text) {
         var sourceText = SourceText.fromString("<string>", text);
         return Json5ObjectReader.parse(sourceText);
@@ -0,0 +1,50 @@
+package org.zwobble.json5.sources;
+
+import org.junit.jupiter.api.Test;
+import org.zwobble.sourcetext.SourceText;
+
+import static org.zwobble.json5.sources.SourceRangeMatchers.isSourceRange;
+import static org.zwobble.precisely.AssertThat.assertThat;
+import static org.zwobble.precisely.Matchers.equalTo;
+
+public class Json5SourceRangeTests {
+    private static final SourceText SOURCE_TEXT = SourceText.fromString("<string>", "[true, false]");
+
+    @Test
+    public void canBeConvertedToSourceRange() {
+        var sourceRange = new Json5SourceRange(SOURCE_TEXT, 1, 5);
+
+        var result = sourceRange.toSourceRange();
+
+        assertThat(result, isSourceRange(1, 5));
+        assertThat(result.charSequence().toString(), equalTo("true"));
+    }
+
+    @Test
+    public void canBeCreatedFromSourceRange() {
+        var sourceRange = SOURCE_TEXT.characterPosition(7)
+            .to(SOURCE_TEXT.characterPosition(12));
+
+        var result = Json5SourceRange.of(sourceRange);
+
+        assertThat(result.startIndex(), equalTo(7));
+        assertThat(result.endIndex(), equalTo(12));
+    }
+
+    @Test
+    public void whenSourceRangeIsNullThenResultIsNull() {
+        var result = Json5SourceRange.of(null);
+
+        assertThat(result, equalTo(null));
+    }
+
+    @Test
+    public void rangeCanBeExtendedToEndOfOtherRange() {
+        var start = new Json5SourceRange(SOURCE_TEXT, 1, 5);
+        var end = new Json5SourceRange(SOURCE_TEXT, 7, 12);
+
+        var result = start.to(end);
+
+        assertThat(result.toSourceRange(), isSourceRange(1, 12));
+    }
+}
@@ -0,0 +1,155 @@
+package org.zwobble.json5.values;
+
+import org.junit.jupiter.api.Test;
+import org.zwobble.json5.paths.Json5Path;
+import org.zwobble.json5.sources.Json5SourceRange;
+import org.zwobble.sourcetext.SourceRange;
+import org.zwobble.sourcetext.SourceText;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.zwobble.json5.sources.SourceRangeMatchers.isSourceRange;
+import static org.zwobble.json5.values.Json5ValueMatchers.isJson5Boolean;
+import static org.zwobble.json5.values.Json5ValueMatchers.isJson5NumberFinite;
+import static org.zwobble.precisely.AssertThat.assertThat;
+import static org.zwobble.precisely.Matchers.equalTo;
+
+public class Json5ArrayTests {
+    private static final SourceText SOURCE_TEXT = SourceText.fromString("<string>", "[1, 22, 333]");
+    private static final SourceRange SOURCE_RANGE = new SourceRange(
+        SOURCE_TEXT,
+        SOURCE_TEXT.characterPosition(0),
+        SOURCE_TEXT.characterPosition(0)
+    );
+
+    @Test
+    public void sizeIsNumberOfElements() {
+        var array = new Json5Array(
+            List.of(
+                new Json5Boolean(true, Json5Path.ROOT, SOURCE_RANGE),
+                new Json5Boolean(false, Json5Path.ROOT, SOURCE_RANGE)
+            ),
+            Json5Path.ROOT,
+            SOURCE_RANGE
+        );
+
+        assertThat(array.size(), equalTo(2));
+    }
+
+    @Test
+    public void elementsCanBeRetrievedByIndex() {
+        var array = new Json5Array(
+            new LinkedList<>(List.of(
+                new Json5Boolean(true, Json5Path.ROOT, SOURCE_RANGE),
+                new Json5Boolean(false, Json5Path.ROOT, SOURCE_RANGE)
+            )),
+            Json5Path.ROOT,
+            SOURCE_RANGE
+        );
+
+        assertThat(array.get(1), isJson5Boolean(false, isSourceRange(0, 0)));
+        assertThat(array.elements().get(0), isJson5Boolean(true, isSourceRange(0, 0)));
+    }
+
+    @Test
+    public void whenIndexIsOutOfRangeThenErrorIsThrown() {
+        var array = new Json5Array(List.of(), Json5Path.ROOT, SOURCE_RANGE);
+
+        assertThrows(IndexOutOfBoundsException.class, () -> array.get(0));
+    }
+
+    @Test
+    public void elementsCannotBeModified() {
+        var array = new Json5Array(new ArrayList<>(), Json5Path.ROOT, SOURCE_RANGE);
+
+        assertThrows(
+            UnsupportedOperationException.class,
+            () -> array.elements().add(new Json5Boolean(true, Json5Path.ROOT, SOURCE_RANGE))
+        );
+    }
+
+    @Test
+    public void elementsOfArrayOfNumbersCanBeRetrievedByIndex() {
+        var array = Json5Array.ofNumbers(
+            new long[] {1, 22, 333},
+            null,
+            new int[] {1, 2, 4, 6, 8, 11},
+            Json5Path.ROOT,
+            Json5SourceRange.of(SOURCE_RANGE)
+        );
+
+        assertThat(array.size(), equalTo(3));
+        assertThat(array.get(1), isJson5NumberFinite(new BigDecimal(22), isSourceRange(4, 6)));
+        assertThat(array.get(1).path(), equalTo(Json5Path.ROOT.index(1)));
+        assertThrows(IndexOutOfBoundsException.class, () -> array.get(3));
+    }
+
+    @Test
+    public void elementsOfLargeArrayCanBeSplitByIndex() {
+        var array = Json5Array.ofNumbers(
+            LongStream.range(0, 1000).toArray(),
+            null,
+            null,
+            Json5Path.ROOT,
+            Json5SourceRange.of(SOURCE_RANGE)
+        );
+
+        var spliterator = array.elements().spliterator();
+        var prefix = spliterator.trySplit();
+
+        assertThat(spliterator.hasCharacteristics(Spliterator.SUBSIZED), equalTo(true));
+        assertThat(prefix.estimateSize(), equalTo(500L));
+        assertThat(spliterator.estimateSize(), equalTo(500L));
+    }
+
+    @Test
+    public void elementsCanBeProcessedInParallel() {
+        var array = Json5Array.ofNumbers(
+            LongStream.range(0, 1000).toArray(),
+            null,
+            null,
+            Json5Path.ROOT,
+            Json5SourceRange.of(SOURCE_RANGE)
+        );
+
+        var result = array.elements().parallelStream()
+            .mapToLong(element -> ((Json5NumberFinite) element).longValueExact())
+            .sum();
+
+        assertThat(result, equalTo(499500L));
+    }
+
+    @Test
+    public void lazyArrayLoadsElementsOnFirstAccessOnly() {
+        var loadCount = new AtomicInteger();
+        var array = Json5Array.lazy(
+            () -> {
+                loadCount.incrementAndGet();
+                return Json5Array.ofNumbers(
+                    new long[] {1, 22},
+                    null,
+                    null,
+                    Json5Path.ROOT,
+                    Json5SourceRange.of(SOURCE_RANGE)
+                );
+            },
+            Json5Path.ROOT,
+            Json5SourceRange.of(SOURCE_RANGE)
+        );
+
+        assertThat(array.path(), equalTo(Json5Path.ROOT));
+        assertThat(loadCount.get(), equalTo(0));
+        assertThat(array.size(), equalTo(2));
+        assertThat(array.get(1), isJson5NumberFinite(new BigDecimal(22), equalTo(null)));
+        assertThat(Arrays.stream(array.asLongArray()).boxed().toList(), equalTo(List.of(1L, 22L)));
+        assertThat(loadCount.get(), equalTo(1));
+    }
+}
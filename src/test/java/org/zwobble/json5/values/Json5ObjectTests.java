@@ -2,14 +2,18 @@ package org.zwobble.json5.values;
 
 import org.junit.jupiter.api.Test;
 import org.zwobble.json5.paths.Json5Path;
+import org.zwobble.json5.sources.Json5SourceRange;
 import org.zwobble.sourcetext.SourceRange;
 import org.zwobble.sourcetext.SourceText;
 
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.zwobble.json5.sources.SourceRangeMatchers.isSourceRange;
 import static org.zwobble.json5.values.Json5ValueMatchers.isJson5Boolean;
 import static org.zwobble.precisely.AssertThat.assertThat;
-import static org.zwobble.precisely.Matchers.isOptionalEmpty;
-import static org.zwobble.precisely.Matchers.isOptionalOf;
+import static org.zwobble.precisely.Matchers.*;
 
 public class Json5ObjectTests {
     private static final SourceText SOURCE_TEXT = SourceText.fromString("<string>", "");
@@ -19,6 +23,20 @@ public class Json5ObjectTests {
         SOURCE_TEXT.characterPosition(0)
     );
 
+    @Test
+    public void valuesCanBeCreatedWithoutSourceRanges() {
+        var object = Json5Object.builder()
+            .addMember(new Json5Member(
+                new Json5MemberName("foo", null),
+                new Json5Boolean(true, Json5Path.ROOT, null),
+                null
+            ))
+            .build(Json5Path.ROOT, null);
+
+        assertThat(object.sourceRange(), equalTo(null));
+        assertThat(object.getValue("foo").orElseThrow().sourceRange(), equalTo(null));
+    }
+
     @Test
     public void whenObjectHasMemberThenMemberCanBeRetrievedByName() {
         var object = Json5Object.builder()
@@ -60,4 +78,127 @@ public class Json5ObjectTests {
 
         assertThat(result, isOptionalEmpty());
     }
+
+    @Test
+    public void whenObjectHasManyMembersThenMembersCanBeRetrievedByName() {
+        var builder = Json5Object.builder();
+        for (var memberIndex = 0; memberIndex < 100; memberIndex++) {
+            builder.addMember(member("member" + memberIndex, memberIndex % 2 == 0));
+        }
+        var object = builder.build(Json5Path.ROOT, SOURCE_RANGE);
+
+        assertThat(object.getValue("member42"), isOptionalOf(
+            isJson5Boolean(true, isSourceRange(0, 0))
+        ));
+        assertThat(object.getValue("member99"), isOptionalOf(
+            isJson5Boolean(false, isSourceRange(0, 0))
+        ));
+        assertThat(object.getValue("member100"), isOptionalEmpty());
+    }
+
+    @Test
+    public void membersAreInInsertionOrder() {
+        var object = Json5Object.builder()
+            .addMember(member("foo", true))
+            .addMember(member("bar", false))
+            .addMember(member("baz", true))
+            .build(Json5Path.ROOT, SOURCE_RANGE);
+
+        var names = new ArrayList<String>();
+        for (var member : object.members()) {
+            names.add(member.name().value());
+        }
+
+        assertThat(names, isSequence(equalTo("foo"), equalTo("bar"), equalTo("baz")));
+    }
+
+    @Test
+    public void whenMemberNameIsRepeatedThenLaterMemberReplacesEarlierMemberInSamePosition() {
+        var object = Json5Object.builder()
+            .addMember(member("foo", true))
+            .addMember(member("bar", true))
+            .addMember(member("foo", false))
+            .build(Json5Path.ROOT, SOURCE_RANGE);
+
+        var members = new ArrayList<Json5Member>();
+        object.members().forEach(members::add);
+
+        assertThat(members, isSequence(
+            has("name", member -> member.name().value(), equalTo("foo")),
+            has("name", member -> member.name().value(), equalTo("bar"))
+        ));
+        assertThat(object.getValue("foo"), isOptionalOf(
+            isJson5Boolean(false, isSourceRange(0, 0))
+        ));
+    }
+
+    @Test
+    public void objectIsUnaffectedByFurtherUseOfBuilder() {
+        var builder = Json5Object.builder()
+            .addMember(member("foo", true));
+        var object = builder.build(Json5Path.ROOT, SOURCE_RANGE);
+
+        builder.addMember(member("foo", false));
+        builder.addMember(member("bar", false));
+
+        assertThat(object.getValue("foo"), isOptionalOf(
+            isJson5Boolean(true, isSourceRange(0, 0))
+        ));
+        assertThat(object.getValue("bar"), isOptionalEmpty());
+    }
+
+    @Test
+    public void lazyObjectLoadsMembersOnFirstAccessOnly() {
+        var loadCount = new AtomicInteger();
+        var object = Json5Object.lazy(
+            () -> {
+                loadCount.incrementAndGet();
+                return Json5Object.builder()
+                    .addMember(member("foo", true))
+                    .build(Json5Path.ROOT, SOURCE_RANGE);
+            },
+            Json5Path.ROOT,
+            Json5SourceRange.of(SOURCE_RANGE)
+        );
+
+        assertThat(object.sourceRange(), isSourceRange(0, 0));
+        assertThat(loadCount.get(), equalTo(0));
+        assertThat(object.getValue("foo"), isOptionalOf(isJson5Boolean(true, isSourceRange(0, 0))));
+        assertThat(object.members(), isSequence(
+            has("name", x -> x.name().value(), equalTo("foo"))
+        ));
+        assertThat(loadCount.get(), equalTo(1));
+    }
+
+    @Test
+    public void whenLoaderOfLazyObjectThrowsThenLoaderIsCalledAgainOnNextAccess() {
+        var loadCount = new AtomicInteger();
+        var object = Json5Object.lazy(
+            () -> {
+                if (loadCount.incrementAndGet() == 1) {
+                    throw new IllegalStateException("load failed");
+                }
+                return Json5Object.builder()
+                    .addMember(member("foo", true))
+                    .build(Json5Path.ROOT, SOURCE_RANGE);
+            },
+            Json5Path.ROOT,
+            Json5SourceRange.of(SOURCE_RANGE)
+        );
+
+        var error = assertThrows(IllegalStateException.class, () -> object.getValue("foo"));
+
+        assertThat(error.getMessage(), equalTo("load failed"));
+        assertThat(object.getValue("foo"), isOptionalOf(isJson5Boolean(true, isSourceRange(0, 0))));
+        assertThat(object.getValue("foo"), isOptionalOf(isJson5Boolean(true, isSourceRange(0, 0))));
+        assertThat(loadCount.get(), equalTo(2));
+    }
+
+    private static Json5Member member(String name, boolean value) {
+        return new Json5Member(
+            new Json5MemberName(name, SOURCE_RANGE),
+            new Json5Boolean(value, Json5Path.ROOT, SOURCE_RANGE),
+            SOURCE_RANGE
+        );
+    }
 }
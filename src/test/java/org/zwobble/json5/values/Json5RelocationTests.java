@@ -0,0 +1,114 @@
+package org.zwobble.json5.values;
+
+import org.junit.jupiter.api.Test;
+import org.zwobble.json5.paths.Json5Path;
+import org.zwobble.json5.sources.Json5Source;
+import org.zwobble.json5.sources.Json5SourceRange;
+import org.zwobble.sourcetext.SourceText;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.zwobble.json5.sources.SourceRangeMatchers.isSourceRange;
+import static org.zwobble.json5.values.Json5ValueMatchers.*;
+import static org.zwobble.precisely.AssertThat.assertThat;
+import static org.zwobble.precisely.Matchers.*;
+
+public class Json5RelocationTests {
+    private static final SourceText SOURCE_TEXT = SourceText.fromString("<string>", "{a: [true]}");
+
+    @Test
+    public void relocatedObjectHasMovedSourceRangesAndNewPaths() {
+        var sourceText = SourceText.fromString("<string>", "[0, {a: [true]}]");
+        var relocation = new Json5Relocation(Json5Source.of(sourceText), 4);
+
+        var result = (Json5Object) relocation.relocate(createObject(), Json5Path.ROOT.index(1));
+
+        assertThat(result.sourceRange(), isSourceRange(4, 15));
+        assertThat(result.sourceRange().sourceText(), equalTo(sourceText));
+        assertThat(result.members(), isSequence(
+            isJson5Member(
+                isJson5MemberName("a", isSourceRange(5, 6)),
+                isJson5Array(
+                    isSequence(isJson5Boolean(true, isSourceRange(9, 13))),
+                    isSourceRange(8, 14)
+                ),
+                isSourceRange(5, 14)
+            )
+        ));
+        var array = (Json5Array) result.getValue("a").orElseThrow();
+        assertThat(array.path(), equalTo(Json5Path.ROOT.index(1).member("a")));
+        assertThat(array.get(0).path(), equalTo(Json5Path.ROOT.index(1).member("a").index(0)));
+    }
+
+    @Test
+    public void whenRelocatedObjectIsRelocatedAgainThenSourceRangesAreMovedByBothRelocations() {
+        var firstSourceText = SourceText.fromString("<string>", "  {a: [true]}");
+        var secondSourceText = SourceText.fromString("<string>", "     {a: [true]}");
+        var first = new Json5Relocation(Json5Source.of(firstSourceText), 2);
+        var second = new Json5Relocation(Json5Source.of(secondSourceText), 3);
+
+        var result = (Json5Object) second.relocate(
+            first.relocate(createObject(), Json5Path.ROOT),
+            Json5Path.ROOT
+        );
+
+        assertThat(result.sourceRange(), isSourceRange(5, 16));
+        var array = result.getValue("a").orElseThrow();
+        assertThat(array, isJson5Array(
+            isSequence(isJson5Boolean(true, isSourceRange(10, 14))),
+            isSourceRange(9, 15)
+        ));
+        assertThat(array.sourceRange().sourceText(), equalTo(secondSourceText));
+    }
+
+    @Test
+    public void relocatedArrayOfNumbersHasMovedSourceRanges() {
+        var sourceText = SourceText.fromString("<string>", "[1, 2.5]");
+        var array = Json5Array.ofNumbers(
+            new long[] {1, 25},
+            new int[] {0, 1},
+            new int[] {1, 2, 4, 7},
+            Json5Path.ROOT,
+            new Json5SourceRange(sourceText, 0, 8)
+        );
+        var relocation = new Json5Relocation(
+            Json5Source.of(SourceText.fromString("<string>", "  [1, 2.5]")),
+            2
+        );
+
+        var result = (Json5Array) relocation.relocate(array, Json5Path.ROOT);
+
+        assertThat(result.elements(), isSequence(
+            allOf(
+                isJson5NumberFinite(new BigDecimal("1"), isSourceRange(3, 4)),
+                has("path", x -> x.path(), equalTo(Json5Path.ROOT.index(0)))
+            ),
+            allOf(
+                isJson5NumberFinite(new BigDecimal("2.5"), isSourceRange(6, 9)),
+                has("path", x -> x.path(), equalTo(Json5Path.ROOT.index(1)))
+            )
+        ));
+        assertThat(result.sourceRange(), isSourceRange(2, 10));
+    }
+
+    private static Json5Object createObject() {
+        var path = Json5Path.ROOT;
+        var array = Json5Array.of(
+            List.of(Json5Boolean.of(true, path.member("a").index(0), range(5, 9))),
+            path.member("a"),
+            range(4, 10)
+        );
+        return Json5Object.builder()
+            .addMember(Json5Member.of(
+                Json5MemberName.of("a", range(1, 2)),
+                array,
+                range(1, 10)
+            ))
+            .buildAt(path, range(0, 11));
+    }
+
+    private static Json5SourceRange range(int startIndex, int endIndex) {
+        return new Json5SourceRange(SOURCE_TEXT, startIndex, endIndex);
+    }
+}